@@ -5,15 +5,10 @@
 
 package com.microsoft.azure.maven.function;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.PrettyPrinter;
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.microsoft.azure.maven.model.DeploymentResource;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.DependencyStager;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionBuildIndex;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -43,6 +38,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.plugins.shade.DefaultShader;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.plugins.shade.ShadeRequest;
 import org.apache.maven.plugins.shade.Shader;
 import org.apache.maven.plugins.shade.filter.Filter;
@@ -67,7 +63,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -92,8 +87,10 @@ public class PackageMojo extends AbstractFunctionMojo {
     public static final String SAVING_LOCAL_SETTINGS_JSON = "Step 5 of 8: Copying/creating local.settings.json";
     public static final String SAVE_FUNCTION_JSONS = "Step 6 of 8: Saving configurations to function.json";
     public static final String SAVE_SKIP = "No configurations found. Skip save.";
-    public static final String SAVE_FUNCTION_JSON = "Starting processing function: ";
     public static final String SAVE_SUCCESS = "Successfully saved to ";
+    public static final String SAVE_UNCHANGED = "%d function.json file(s) unchanged.";
+    public static final String FUNCTIONS_UP_TO_DATE = "Class files and dependencies are not changed since last build, " +
+            "skip searching functions and generating configurations.";
     public static final String COPY_JARS = "Step 7 of 8: Copying JARs to staging directory ";
     public static final String COPY_SUCCESS = "Copied successfully.";
     public static final String INSTALL_EXTENSIONS = "Step 8 of 8: Installing function extensions if needed";
@@ -142,33 +139,42 @@ public class PackageMojo extends AbstractFunctionMojo {
         validateFunctionCompatibility();
         promptCompileInfo();
 
-        final AnnotationHandler annotationHandler = getAnnotationHandler();
-
-        final Set<Method> methods;
+        final File stagingDirectory = new File(getDeploymentStagingDirectoryPath());
+        final FunctionBuildIndex index = FunctionBuildIndex.load(stagingDirectory);
+        final String fingerprint = getFunctionBuildFingerprint();
+        final Map<String, String> classes;
+        final Map<String, FunctionBuildIndex.FunctionEntry> functions;
         try {
-            methods = findAnnotatedMethods(annotationHandler);
+            classes = FunctionBuildIndex.hashClasses(outputDirectory);
+            if (index.isUpToDate(fingerprint, classes)) {
+                log.info("");
+                log.info(FUNCTIONS_UP_TO_DATE);
+                functions = index.getFunctions();
+                trackBindingTypes(index.getBindingTypeList());
+            } else {
+                final AnnotationHandler annotationHandler = getAnnotationHandler();
+                final Set<Method> methods = findAnnotatedMethods(annotationHandler);
+                if (methods.size() == 0) {
+                    log.info(NO_FUNCTIONS);
+                    return;
+                }
+                final Map<String, FunctionConfiguration> configMap = getFunctionConfigurations(annotationHandler, methods);
+                trackFunctionProperties(configMap);
+                validateFunctionConfigurations(configMap);
+                functions = FunctionBuildIndex.toFunctions(configMap);
+            }
         } catch (MalformedURLException e) {
             throw new AzureExecutionException("Invalid URL when resolving class path:" + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new AzureExecutionException("Cannot perform IO operations due to error:" + e.getMessage(), e);
         }
 
-        if (methods.size() == 0) {
-            log.info(NO_FUNCTIONS);
-            return;
-        }
-
-        final Map<String, FunctionConfiguration> configMap = getFunctionConfigurations(annotationHandler, methods);
-
-        trackFunctionProperties(configMap);
-        validateFunctionConfigurations(configMap);
-
-        final ObjectWriter objectWriter = getObjectWriter();
-
         try {
             copyHostJson();
 
             copyLocalSettingsJson();
 
-            writeFunctionJsonFiles(objectWriter, configMap);
+            writeFunctionJsonFiles(index, fingerprint, classes, functions);
 
             copyJarsToStageDirectory();
         } catch (IOException | MojoExecutionException e) {
@@ -177,7 +183,7 @@ public class PackageMojo extends AbstractFunctionMojo {
 
         final CommandHandler commandHandler = new CommandHandlerImpl();
         final FunctionCoreToolsHandler functionCoreToolsHandler = getFunctionCoreToolsHandler(commandHandler);
-        final Set<BindingEnum> bindingClasses = this.getFunctionBindingEnums(configMap);
+        final Set<BindingEnum> bindingClasses = index.getBindingEnumSet();
 
         installExtension(functionCoreToolsHandler, bindingClasses);
 
@@ -312,26 +318,29 @@ public class PackageMojo extends AbstractFunctionMojo {
 
     //region Write configurations (host.json, function.json) to file
 
-    protected void writeFunctionJsonFiles(final ObjectWriter objectWriter,
-                                          final Map<String, FunctionConfiguration> configMap) throws IOException {
+    protected void writeFunctionJsonFiles(final FunctionBuildIndex index, final String fingerprint, final Map<String, String> classes,
+                                          final Map<String, FunctionBuildIndex.FunctionEntry> functions) throws IOException {
         log.info("");
         log.info(SAVE_FUNCTION_JSONS);
-        if (configMap.size() == 0) {
+        if (functions.size() == 0) {
             log.info(SAVE_SKIP);
-        } else {
-            for (final Map.Entry<String, FunctionConfiguration> config : configMap.entrySet()) {
-                writeFunctionJsonFile(objectWriter, config.getKey(), config.getValue());
-            }
         }
+        final File stagingDirectory = new File(getDeploymentStagingDirectoryPath());
+        final Set<String> written = index.update(stagingDirectory, fingerprint, classes, functions);
+        written.forEach(name -> log.info(SAVE_SUCCESS + Paths.get(stagingDirectory.getAbsolutePath(), name, FUNCTION_JSON)));
+        if (written.size() < functions.size()) {
+            log.info(String.format(SAVE_UNCHANGED, functions.size() - written.size()));
+        }
+        index.save(stagingDirectory);
     }
 
-    protected void writeFunctionJsonFile(final ObjectWriter objectWriter, final String functionName,
-                                         final FunctionConfiguration config) throws IOException {
-        log.info(SAVE_FUNCTION_JSON + functionName);
-        final File functionJsonFile = Paths.get(getDeploymentStagingDirectoryPath(),
-                functionName, FUNCTION_JSON).toFile();
-        writeObjectToFile(objectWriter, config, functionJsonFile);
-        log.info(SAVE_SUCCESS + functionJsonFile.getAbsolutePath());
+    /**
+     * @return fingerprint of the inputs other than class files that generated function.json depend on.
+     */
+    protected String getFunctionBuildFingerprint() {
+        final List<File> dependencies = Optional.ofNullable(project).map(MavenProject::getArtifacts).orElse(Collections.emptySet()).stream()
+                .map(Artifact::getFile).collect(Collectors.toList());
+        return FunctionBuildIndex.fingerprint(getScriptFilePath(), dependencies);
     }
 
     protected void copyHostJson() throws IOException {
@@ -361,22 +370,6 @@ public class PackageMojo extends AbstractFunctionMojo {
         }
     }
 
-    protected void writeObjectToFile(final ObjectWriter objectWriter, final Object object, final File targetFile)
-            throws IOException {
-        targetFile.getParentFile().mkdirs();
-        targetFile.createNewFile();
-        objectWriter.writeValue(targetFile, object);
-    }
-
-    protected ObjectWriter getObjectWriter() {
-        final DefaultPrettyPrinter.Indenter indenter = DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.withLinefeed(StringUtils.LF);
-        final PrettyPrinter prettyPrinter = new DefaultPrettyPrinter().withObjectIndenter(indenter);
-        return new ObjectMapper()
-                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                .writer(prettyPrinter);
-    }
-
     //endregion
 
     //region Copy Jars to stage directory
@@ -403,10 +396,13 @@ public class PackageMojo extends AbstractFunctionMojo {
             log.info("Skip copy dependencies to staging directory as `buildJarWithDependencies` is set to true, dependencies has been included in the artifact.");
         } else {
             final File libFolder = new File(stagingDirectory, "lib");
-            if (libFolder.exists()) {
-                FileUtils.cleanDirectory(libFolder);
-            }
-            Optional.ofNullable(dependencies).ifPresent(des -> des.forEach(dependency -> copyFileToDirectory(dependency, libFolder)));
+            final DependencyStager.Result result = new DependencyStager().stage(Optional.ofNullable(dependencies).orElse(Collections.emptySet()), libFolder);
+            log.info(result.toString());
+            getTelemetryProxy().addDefaultProperty("remove-stale-dependencies-cost", String.valueOf(result.getRemoveMillis()));
+            getTelemetryProxy().addDefaultProperty("stage-dependencies-cost", String.valueOf(result.getStageMillis()));
+            getTelemetryProxy().addDefaultProperty("linked-dependencies", String.valueOf(result.getLinked().get()));
+            getTelemetryProxy().addDefaultProperty("copied-dependencies", String.valueOf(result.getCopied().get()));
+            getTelemetryProxy().addDefaultProperty("up-to-date-dependencies", String.valueOf(result.getUpToDate().get()));
         }
     }
 
@@ -449,13 +445,6 @@ public class PackageMojo extends AbstractFunctionMojo {
         log.info(INSTALL_EXTENSIONS_FINISH);
     }
 
-    protected Set<BindingEnum> getFunctionBindingEnums(Map<String, FunctionConfiguration> configMap) {
-        final Set<BindingEnum> result = new HashSet<>();
-        configMap.values().forEach(configuration -> configuration.getBindings().
-                forEach(binding -> result.add(binding.getBindingEnum())));
-        return result;
-    }
-
     protected boolean isInstallingExtensionNeeded(Set<BindingEnum> bindingTypes) {
         if (BooleanUtils.isTrue(skipInstallExtensions)) {
             log.info(SKIP_INSTALL_EXTENSIONS_FLAG);
@@ -490,21 +479,14 @@ public class PackageMojo extends AbstractFunctionMojo {
     }
 
     protected void trackFunctionProperties(Map<String, FunctionConfiguration> configMap) {
-        final List<String> bindingTypeSet = configMap.values().stream().flatMap(configuration -> configuration.getBindings().stream())
+        trackBindingTypes(configMap.values().stream().flatMap(configuration -> configuration.getBindings().stream())
                 .map(Binding::getType)
                 .sorted()
                 .distinct()
-                .collect(Collectors.toList());
-        getTelemetryProxy().addDefaultProperty(TRIGGER_TYPE, StringUtils.join(bindingTypeSet, ","));
+                .collect(Collectors.toList()));
     }
 
-    private static void copyFileToDirectory(@Nonnull final File srcFile, @Nonnull final File destFile) {
-        if (!Objects.equals(srcFile.getParentFile(), destFile)) {
-            try {
-                FileUtils.copyFileToDirectory(srcFile, destFile);
-            } catch (IOException e) {
-                throw new AzureToolkitRuntimeException(e);
-            }
-        }
+    private void trackBindingTypes(List<String> bindingTypes) {
+        getTelemetryProxy().addDefaultProperty(TRIGGER_TYPE, StringUtils.join(bindingTypes, ","));
     }
 }
@@ -5,24 +5,31 @@
 
 package com.microsoft.azure.maven.function;
 
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionBuildIndex;
 import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandler;
 import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandlerImpl;
+import org.apache.commons.io.FileUtils;
 import org.codehaus.plexus.util.ReflectionUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.isNotNull;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -30,6 +37,9 @@ import static org.mockito.Mockito.spy;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PackageMojoTest extends MojoTestBase {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void doExecute() throws Exception {
         final PackageMojo mojo = getMojoFromPom();
@@ -69,13 +79,21 @@ public class PackageMojoTest extends MojoTestBase {
     }
 
     @Test
-    public void writeFunctionJsonFile() throws Exception {
+    public void writeFunctionJsonFiles() throws Exception {
         final PackageMojo mojo = getMojoFromPom();
         final PackageMojo mojoSpy = spy(mojo);
-        doReturn("target/azure-functions").when(mojoSpy).getDeploymentStagingDirectoryPath();
-        doNothing().when(mojoSpy).writeObjectToFile(isNull(), isNull(), isNotNull());
+        final File stagingDirectory = new File(folder.getRoot(), "azure-functions");
+        doReturn(stagingDirectory.getAbsolutePath()).when(mojoSpy).getDeploymentStagingDirectoryPath();
+        final FunctionBuildIndex.FunctionEntry function = new FunctionBuildIndex.FunctionEntry();
+        function.setContent("{\"scriptFile\":\"../artifact-0.1.0.jar\"}");
+        final Map<String, String> classes = Collections.singletonMap("Function.class", "hash");
+
+        mojoSpy.writeFunctionJsonFiles(FunctionBuildIndex.load(stagingDirectory), "fingerprint", classes,
+                Collections.singletonMap("httpTrigger", function));
 
-        mojoSpy.writeFunctionJsonFile(null, "httpTrigger", null);
+        final File functionJson = Paths.get(stagingDirectory.getAbsolutePath(), "httpTrigger", "function.json").toFile();
+        assertEquals(function.getContent(), FileUtils.readFileToString(functionJson, StandardCharsets.UTF_8));
+        assertTrue(FunctionBuildIndex.load(stagingDirectory).isUpToDate("fingerprint", classes));
     }
 
     private PackageMojo getMojoFromPom() throws Exception {
@@ -276,6 +276,16 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     @Parameter(property = "failsOnRuntimeValidationError", defaultValue = "true")
     protected Boolean failsOnRuntimeValidationError;
 
+    /**
+     * Boolean flag to persist subscriptions and resource snapshots under ~/.azure and reuse them in following runs, which
+     * saves ARM round-trips e.g. when redeploying the same app repeatedly in CI. resource snapshots are revalidated by
+     * conditional requests
+     */
+    @JsonProperty
+    @Getter
+    @Parameter(property = "persistentCache", defaultValue = "false")
+    protected Boolean persistentCache;
+
     @Component
     @JsonIgnore
     protected SettingsDecrypter settingsDecrypter;
@@ -310,6 +320,7 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
             Azure.az().config().setUserAgent(getUserAgent());
             Azure.az().config().setProduct(getPluginName());
             Azure.az().config().setVersion(getPluginVersion());
+            Azure.az().config().setEnablePersistentCache(BooleanUtils.isTrue(persistentCache));
             // init proxy manager
             initMavenSettingsProxy(Optional.ofNullable(this.session).map(MavenSession::getRequest).orElse(null));
             ProxyManager.getInstance().applyProxy();
@@ -12,6 +12,7 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import reactor.core.publisher.Flux;
 
 import javax.annotation.Nonnull;
 import java.util.Comparator;
@@ -36,6 +37,12 @@ public abstract class AppServiceResourceModule<T extends AppServiceAppBase<T, P,
         return result;
     }
 
+    @Nonnull
+    @Override
+    protected Flux<Map<String, R>> loadResourceStreamFromAzure() {
+        return Flux.defer(() -> Flux.just(this.throttled(this::getResourcesFromAzure)));
+    }
+
     @Override
     protected void addResources(Map<String, R> loadedResources) {
         final Set<String> added = loadedResources.keySet();
@@ -61,5 +68,13 @@ public abstract class AppServiceResourceModule<T extends AppServiceAppBase<T, P,
         return Pair.of(value, result);
     }
 
+    /**
+     * web apps, function apps and their slots are all 'Microsoft.Web/sites(/slots)', told apart by kind.
+     */
+    @Override
+    protected boolean isResourceTypeShared() {
+        return true;
+    }
+
     protected abstract List<String> loadResourceIdsFromAzure();
 }
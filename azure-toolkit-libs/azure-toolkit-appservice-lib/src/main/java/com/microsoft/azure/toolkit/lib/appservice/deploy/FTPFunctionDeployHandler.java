@@ -10,7 +10,7 @@ import com.azure.resourcemanager.appservice.models.WebAppBase;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
-import com.microsoft.azure.toolkit.lib.legacy.appservice.handlers.artifact.FTPUploader;
+import com.microsoft.azure.toolkit.lib.legacy.appservice.handlers.artifact.ParallelFTPUploader;
 
 import javax.annotation.Nonnull;
 import java.io.File;
@@ -18,16 +18,18 @@ import java.io.File;
 public class FTPFunctionDeployHandler implements IFunctionDeployHandler {
     private static final String DEFAULT_WEBAPP_ROOT = "/site/wwwroot";
     private static final int DEFAULT_MAX_RETRY_TIMES = 3;
+    private static final int DEFAULT_CONCURRENCY = 4;
 
     @Override
     public void deploy(@Nonnull final File file, @Nonnull final WebAppBase webAppBase) {
-        final FTPUploader uploader = new FTPUploader();
         final PublishingProfile profile = webAppBase.getPublishingProfile();
         final String serverUrl = profile.ftpUrl().split("/", 2)[0];
+        final ParallelFTPUploader uploader = new ParallelFTPUploader(serverUrl, profile.ftpUsername(), profile.ftpPassword())
+            .setConcurrency(DEFAULT_CONCURRENCY)
+            .setMaxRetries(DEFAULT_MAX_RETRY_TIMES);
 
         try {
-            uploader.uploadDirectoryWithRetries(serverUrl, profile.ftpUsername(), profile.ftpPassword(),
-                    file.getAbsolutePath(), DEFAULT_WEBAPP_ROOT, DEFAULT_MAX_RETRY_TIMES);
+            uploader.uploadDirectory(file, DEFAULT_WEBAPP_ROOT);
         } catch (AzureExecutionException e) {
             throw new AzureToolkitRuntimeException("Failed to upload artifact to azure", e);
         }
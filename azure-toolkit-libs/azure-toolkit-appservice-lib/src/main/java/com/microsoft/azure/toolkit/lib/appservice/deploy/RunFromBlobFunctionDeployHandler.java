@@ -37,7 +37,7 @@ public class RunFromBlobFunctionDeployHandler implements IFunctionDeployHandler
         final BlobContainerClient container = getOrCreateArtifactContainer(storageAccount);
         final String blobName = getBlobName(deployTarget, zipPackage);
         final BlobClient blob = AzureStorageHelper.uploadFileAsBlob(zipPackage, storageAccount,
-                container.getBlobContainerName(), blobName);
+                container.getBlobContainerName(), blobName, true);
         AzureMessager.getMessager().info(String.format(DEPLOY_FINISH, deployTarget.defaultHostname()));
         return blob;
     }
@@ -16,6 +16,7 @@ import com.azure.core.annotation.PathParam;
 import com.azure.core.annotation.Post;
 import com.azure.core.annotation.Put;
 import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.rest.Response;
 import com.azure.core.http.rest.RestProxy;
 import com.azure.core.http.rest.StreamResponse;
@@ -27,7 +28,9 @@ import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import com.microsoft.azure.toolkit.lib.appservice.model.CommandOutput;
 import com.microsoft.azure.toolkit.lib.appservice.model.ProcessInfo;
 import com.microsoft.azure.toolkit.lib.appservice.model.TunnelStatus;
+import com.microsoft.azure.toolkit.lib.appservice.model.UploadProgress;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
 import lombok.Data;
 import lombok.experimental.SuperBuilder;
@@ -36,6 +39,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -45,10 +49,15 @@ import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class AppServiceKuduClient implements IFileClient, IProcessClient {
     public static final String DEFAULT_TOOL_NAME = "Azure-Java-Toolkit";
+    private static final int ZIP_DEPLOY_CHUNK_SIZE = 1024 * 1024;
     private final String host;
     private final KuduService kuduService;
     private final AppServiceAppBase<?, ?, ?> app;
@@ -73,7 +82,11 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         host = parts[0] + ".scm." + parts[1];
         host = "https://" + host;
 
-        final KuduService kuduService = RestProxy.create(KuduService.class, webAppBase.manager().httpPipeline());
+        return getClient(host, webAppBase.manager().httpPipeline(), appService);
+    }
+
+    static AppServiceKuduClient getClient(@Nonnull String host, @Nonnull HttpPipeline pipeline, @Nullable AppServiceAppBase<?, ?, ?> appService) {
+        final KuduService kuduService = RestProxy.create(KuduService.class, pipeline);
         return new AppServiceKuduClient(host, kuduService, appService);
     }
 
@@ -123,12 +136,35 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
     }
 
     public void flexZipDeploy(final @Nonnull File zipFile) throws IOException {
+        flexZipDeploy(zipFile, new UploadProgressLogger());
+    }
+
+    /**
+     * deploy the zip file. a failed upload is retried from the beginning (kudu doesn't support resuming) by the
+     * retry policy of the http pipeline, which subscribes the request body again.
+     *
+     * @param progressListener notified of the upload progress of every chunk read
+     */
+    public void flexZipDeploy(final @Nonnull File zipFile, @Nullable final Consumer<UploadProgress> progressListener) throws IOException {
         try (final AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(zipFile.toPath(), StandardOpenOption.READ)) {
-            final Flux<ByteBuffer> byteBuffer = FluxUtil.readFile(fileChannel);
+            final long size = fileChannel.size();
             final String product = Azure.az().config().getProduct();
             final String version = Azure.az().config().getVersion();
             final String tool = StringUtils.isAllBlank(product, version) ? DEFAULT_TOOL_NAME : String.format("%s/%s", product, version);
-            kuduService.flexZipDeploy(host, byteBuffer, fileChannel.size(), tool).block();
+            final AtomicInteger attempts = new AtomicInteger();
+            final AtomicLong uploaded = new AtomicLong();
+            final AtomicLong start = new AtomicLong();
+            final Flux<ByteBuffer> byteBuffer = FluxUtil.readFile(fileChannel, ZIP_DEPLOY_CHUNK_SIZE, 0, size)
+                .doOnSubscribe(subscription -> { // every attempt uploads the whole file again.
+                    if (attempts.incrementAndGet() > 1) {
+                        AzureMessager.getMessager().warning(String.format("Failed to upload %s, retrying (attempt %d)...", zipFile.getName(), attempts.get()));
+                    }
+                    uploaded.set(0);
+                    start.set(System.currentTimeMillis());
+                })
+                .doOnNext(buffer -> Optional.ofNullable(progressListener).ifPresent(l -> l.accept(new UploadProgress(uploaded.addAndGet(buffer.remaining()),
+                    size, System.currentTimeMillis() - start.get(), attempts.get()))));
+            kuduService.flexZipDeploy(host, byteBuffer, size, tool).block();
         }
     }
 
@@ -197,6 +233,23 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         Mono<Response<TunnelStatus>> getAppServiceTunnelStatus(@HostParam("$host") String host);
     }
 
+    /**
+     * logs the progress to messager every {@link #INTERVAL} milliseconds and when the upload completes.
+     */
+    private static class UploadProgressLogger implements Consumer<UploadProgress> {
+        private static final long INTERVAL = 5000;
+        private long lastLogged = 0;
+
+        @Override
+        public synchronized void accept(final UploadProgress progress) {
+            final long now = System.currentTimeMillis();
+            if (progress.isCompleted() || now - this.lastLogged >= INTERVAL) {
+                this.lastLogged = now;
+                AzureMessager.getMessager().info(progress.toString());
+            }
+        }
+    }
+
     @Data
     @SuperBuilder(toBuilder = true)
     public static class CommandRequest {
@@ -4,14 +4,7 @@
  */
 package com.microsoft.azure.toolkit.lib.appservice.function.core;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.microsoft.applicationinsights.core.dependencies.apachecommons.io.input.BOMInputStream;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
@@ -34,7 +27,6 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,6 +58,9 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
     protected static final String SAVE_SKIP = "No configurations found. Skip save.";
     protected static final String SAVE_FUNCTION_JSON = "Starting processing function: ";
     protected static final String SAVE_SUCCESS = "Successfully saved to ";
+    protected static final String SAVE_UNCHANGED = "%d function.json file(s) unchanged.";
+    protected static final String FUNCTIONS_UP_TO_DATE = "Class files and dependencies are not changed since last build, " +
+        "skip searching functions and generating configurations.";
     protected static final String COPY_JARS = "Step 7 of 8: Copying JARs to staging directory";
     protected static final String COPY_SUCCESS = "Copied successfully.";
     protected static final String INSTALL_EXTENSIONS = "Step 8 of 8: Installing function extensions if needed";
@@ -94,27 +89,33 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
 
     @AzureOperation(name = "function.prepare_staging_folder")
     public void packageProject(FunctionProject project, boolean installExtension, String funcPath) {
-        final List<FunctionMethod> methods = findAnnotatedMethodsInner(project);
-
-        if (methods.isEmpty()) {
-            AzureMessager.getMessager().info(NO_FUNCTIONS);
-            return;
-        }
-
-        final Map<String, FunctionConfiguration> configMap = generateConfigurations(project, methods);
-
-        trackFunctionProperties(configMap);
-
-        validateFunctionConfigurations(configMap);
-
-        final ObjectWriter objectWriter = getObjectWriter();
-
         try {
+            final File stagingFolder = project.getStagingFolder();
+            final Map<String, String> classes = FunctionBuildIndex.hashClasses(project.getClassesOutputDirectory());
+            final String fingerprint = FunctionBuildIndex.fingerprint(project.getArtifactFile().getName(), project.getDependencies());
+            final FunctionBuildIndex index = FunctionBuildIndex.load(stagingFolder);
+            final Map<String, FunctionBuildIndex.FunctionEntry> functions;
+            if (index.isUpToDate(fingerprint, classes)) {
+                AzureMessager.getMessager().info(LINE_FEED + FUNCTIONS_UP_TO_DATE);
+                functions = index.getFunctions();
+                trackFunctionProperties(index.getBindingTypeList());
+            } else {
+                final List<FunctionMethod> methods = findAnnotatedMethodsInner(project);
+                if (methods.isEmpty()) {
+                    AzureMessager.getMessager().info(NO_FUNCTIONS);
+                    return;
+                }
+                final Map<String, FunctionConfiguration> configMap = generateConfigurations(project, methods);
+                trackFunctionProperties(getFunctionBindingList(configMap));
+                validateFunctionConfigurations(configMap);
+                functions = FunctionBuildIndex.toFunctions(configMap);
+            }
+
             copyHostJson(project);
             copyLocalSettingsJson(project);
-            writeFunctionJsonFiles(project, objectWriter, configMap);
+            writeFunctionJsonFiles(project, index, fingerprint, classes, functions);
             copyJarsToStageDirectory(project);
-            final Set<BindingEnum> bindingEnums = this.getFunctionBindingEnums(configMap);
+            final Set<BindingEnum> bindingEnums = index.getBindingEnumSet();
 
             if (isInstallingExtensionNeeded(!installExtension, project, bindingEnums)) {
                 installExtensionStep(project, funcPath);
@@ -165,25 +166,20 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
         }
     }
 
-    private void writeFunctionJsonFiles(FunctionProject project, final ObjectWriter objectWriter,
-                                        final Map<String, FunctionConfiguration> configMap) throws IOException {
+    private void writeFunctionJsonFiles(FunctionProject project, final FunctionBuildIndex index, final String fingerprint,
+                                        final Map<String, String> classes, final Map<String, FunctionBuildIndex.FunctionEntry> functions)
+        throws IOException {
         AzureMessager.getMessager().info(LINE_FEED + SAVE_FUNCTION_JSONS);
-        if (configMap.size() == 0) {
+        if (functions.isEmpty()) {
             AzureMessager.getMessager().info(SAVE_SKIP);
-        } else {
-            for (final Map.Entry<String, FunctionConfiguration> config : configMap.entrySet()) {
-                writeFunctionJsonFile(project, objectWriter, config.getKey(), config.getValue());
-            }
         }
-    }
-
-    private void writeFunctionJsonFile(FunctionProject project, final ObjectWriter objectWriter, final String functionName,
-                                       final FunctionConfiguration config) throws IOException {
-        AzureMessager.getMessager().info(SAVE_FUNCTION_JSON + functionName);
-        final File functionJsonFile = Paths.get(project.getStagingFolder().getAbsolutePath(),
-            functionName, FUNCTION_JSON).toFile();
-        writeObjectToFile(objectWriter, config, functionJsonFile);
-        AzureMessager.getMessager().info(SAVE_SUCCESS + functionJsonFile.getAbsolutePath());
+        final File stagingFolder = project.getStagingFolder();
+        final Set<String> written = index.update(stagingFolder, fingerprint, classes, functions);
+        written.forEach(name -> AzureMessager.getMessager().info(SAVE_SUCCESS + Paths.get(stagingFolder.getAbsolutePath(), name, FUNCTION_JSON)));
+        if (written.size() < functions.size()) {
+            AzureMessager.getMessager().info(String.format(SAVE_UNCHANGED, functions.size() - written.size()));
+        }
+        index.save(stagingFolder);
     }
 
     private void copyHostJson(FunctionProject project) throws IOException {
@@ -211,38 +207,29 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
         }
     }
 
-    private void writeObjectToFile(final ObjectWriter objectWriter, final Object object, final File targetFile)
-        throws IOException {
-        targetFile.getParentFile().mkdirs();
-        targetFile.createNewFile();
-        objectWriter.writeValue(targetFile, object);
-    }
-
-    private ObjectWriter getObjectWriter() {
-        final DefaultPrettyPrinter.Indenter indenter = DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.withLinefeed(StringUtils.LF);
-        final PrettyPrinter prettyPrinter = new DefaultPrettyPrinter().withObjectIndenter(indenter);
-        return new ObjectMapper()
-            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-            .writer(prettyPrinter);
-    }
-
     private void copyJarsToStageDirectory(FunctionProject project) throws IOException {
         final String stagingDirectory = project.getStagingFolder().getAbsolutePath();
         AzureMessager.getMessager().info(LINE_FEED + COPY_JARS + stagingDirectory);
         final File libFolder = Paths.get(stagingDirectory, "lib").toFile();
-        if (libFolder.exists()) {
-            FileUtils.cleanDirectory(libFolder);
-        }
-        for (final File file : project.getDependencies()) {
-            copyFileToDirectory(file, libFolder);
-        }
+        final DependencyStager.Result result = new DependencyStager().stage(project.getDependencies(), libFolder);
+        final long start = System.currentTimeMillis();
         copyFileToDirectory(project.getArtifactFile(), new File(stagingDirectory));
-        AzureMessager.getMessager().info(COPY_SUCCESS);
+        trackStagingCost(result, System.currentTimeMillis() - start);
+        AzureMessager.getMessager().info(COPY_SUCCESS + " " + result);
+    }
+
+    private static void trackStagingCost(final DependencyStager.Result result, final long copyArtifactCost) {
+        final OperationContext context = OperationContext.action();
+        context.setTelemetryProperty("remove-stale-dependencies-cost", String.valueOf(result.getRemoveMillis()));
+        context.setTelemetryProperty("stage-dependencies-cost", String.valueOf(result.getStageMillis()));
+        context.setTelemetryProperty("copy-artifact-cost", String.valueOf(copyArtifactCost));
+        context.setTelemetryProperty("linked-dependencies", String.valueOf(result.getLinked().get()));
+        context.setTelemetryProperty("copied-dependencies", String.valueOf(result.getCopied().get()));
+        context.setTelemetryProperty("up-to-date-dependencies", String.valueOf(result.getUpToDate().get()));
     }
 
-    private void trackFunctionProperties(Map<String, FunctionConfiguration> configMap) {
-        OperationContext.action().setTelemetryProperty(TRIGGER_TYPE, StringUtils.join(getFunctionBindingList(configMap), ","));
+    private void trackFunctionProperties(List<String> bindingTypes) {
+        OperationContext.action().setTelemetryProperty(TRIGGER_TYPE, StringUtils.join(bindingTypes, ","));
     }
 
     private List<String> getFunctionBindingList(Map<String, FunctionConfiguration> configMap) {
@@ -253,13 +240,6 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
             .collect(Collectors.toList());
     }
 
-    private Set<BindingEnum> getFunctionBindingEnums(Map<String, FunctionConfiguration> configMap) {
-        final Set<BindingEnum> result = new HashSet<>();
-        configMap.values().forEach(configuration -> configuration.getBindings().
-            forEach(binding -> result.add(binding.getBindingEnum())));
-        return result;
-    }
-
     private boolean isInstallingExtensionNeeded(boolean skipInstallExtensions, FunctionProject project, Set<BindingEnum> bindingTypes) {
         if (skipInstallExtensions) {
             AzureMessager.getMessager().info(SKIP_INSTALL_EXTENSIONS_FLAG);
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * stages dependency jars into a directory incrementally: files that are already up-to-date (same size and last
+ * modified time) are kept, stale files are removed, and missing/changed files are hard-linked to the source when the
+ * file system allows it, or copied in parallel otherwise.
+ * <p>
+ * hard-linked files share content with the source (e.g. the local maven repository), so files in the target directory
+ * must be replaced rather than modified in place.
+ */
+@Slf4j
+@Getter
+@Setter
+@Accessors(chain = true)
+public class DependencyStager {
+    private int concurrency = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private boolean hardLinkEnabled = true;
+
+    @Nonnull
+    public Result stage(@Nonnull final Collection<File> sources, @Nonnull final File targetDirectory) throws IOException {
+        final Result result = new Result();
+        final Map<String, File> files = new LinkedHashMap<>();
+        sources.stream().filter(Objects::nonNull).forEach(file -> files.put(file.getName(), file)); // latest wins as before
+        Files.createDirectories(targetDirectory.toPath());
+
+        long start = System.nanoTime();
+        final File[] existing = Objects.requireNonNull(targetDirectory.listFiles());
+        for (final File file : existing) {
+            if (!files.containsKey(file.getName())) {
+                FileUtils.forceDelete(file);
+                result.removed.incrementAndGet();
+            }
+        }
+        result.removeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        final AtomicBoolean linkable = new AtomicBoolean(this.hardLinkEnabled);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.concurrency, files.size())));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            files.values().forEach(source -> futures.add(executor.submit(() -> {
+                stageFile(source.toPath(), new File(targetDirectory, source.getName()).toPath(), linkable, result);
+                return null;
+            })));
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while staging dependencies", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        result.stageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.debug("staged dependencies into {}: {}", targetDirectory, result);
+        return result;
+    }
+
+    private static void stageFile(@Nonnull final Path source, @Nonnull final Path target, @Nonnull final AtomicBoolean linkable,
+                                  @Nonnull final Result result) throws IOException {
+        if (isUpToDate(source, target)) {
+            result.upToDate.incrementAndGet();
+            return;
+        }
+        Files.deleteIfExists(target);
+        if (linkable.get()) {
+            try {
+                Files.createLink(target, source);
+                result.linked.incrementAndGet();
+                return;
+            } catch (final IOException | UnsupportedOperationException | SecurityException e) {
+                // e.g. source and target are on different file systems, copy for the rest.
+                log.debug("failed to create hard link to {}, fall back to copy", source, e);
+                linkable.set(false);
+                Files.deleteIfExists(target);
+            }
+        }
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        result.copied.incrementAndGet();
+    }
+
+    private static boolean isUpToDate(@Nonnull final Path source, @Nonnull final Path target) throws IOException {
+        return Files.isRegularFile(target) && Files.size(source) == Files.size(target) &&
+            Files.getLastModifiedTime(source).equals(Files.getLastModifiedTime(target));
+    }
+
+    @Getter
+    public static class Result {
+        private final AtomicInteger linked = new AtomicInteger();
+        private final AtomicInteger copied = new AtomicInteger();
+        private final AtomicInteger upToDate = new AtomicInteger();
+        private final AtomicInteger removed = new AtomicInteger();
+        private long removeMillis;
+        private long stageMillis;
+
+        @Override
+        public String toString() {
+            return String.format("%d linked, %d copied, %d up-to-date, %d stale removed (removing stale files took %dms, staging took %dms)",
+                linked.get(), copied.get(), upToDate.get(), removed.get(), removeMillis, stageMillis);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import com.microsoft.azure.toolkit.lib.legacy.function.bindings.Binding;
+import com.microsoft.azure.toolkit.lib.legacy.function.bindings.BindingEnum;
+import com.microsoft.azure.toolkit.lib.legacy.function.configurations.FunctionConfiguration;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * build index of a function staging folder, it records the hashes of the class files and the function.json generated
+ * from them, so that an unchanged project can skip scanning/generating configurations, and only changed or removed
+ * functions touch the disk. the index is saved next to (not in) the staging folder so that it's never deployed.
+ */
+@Slf4j
+@Getter
+@Setter
+public class FunctionBuildIndex {
+    private static final String VERSION = "1";
+    private static final String INDEX_FILE_SUFFIX = ".functions-index.json";
+    private static final String FUNCTION_JSON = "function.json";
+    /**
+     * shared writer of function.json, {@link ObjectWriter} is immutable and thread safe.
+     */
+    public static final ObjectWriter FUNCTION_JSON_WRITER;
+
+    static {
+        final DefaultPrettyPrinter.Indenter indenter = DefaultIndenter.SYSTEM_LINEFEED_INSTANCE.withLinefeed(StringUtils.LF);
+        final PrettyPrinter prettyPrinter = new DefaultPrettyPrinter().withObjectIndenter(indenter);
+        FUNCTION_JSON_WRITER = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .writer(prettyPrinter);
+    }
+
+    private String version = VERSION;
+    private String fingerprint;
+    /**
+     * class file path relative to the classes output directory -> md5 of the class file
+     */
+    private Map<String, String> classes = new TreeMap<>();
+    /**
+     * function name -> generated function
+     */
+    private Map<String, FunctionEntry> functions = new TreeMap<>();
+
+    @Nonnull
+    public static File getIndexFile(@Nonnull final File stagingFolder) {
+        return new File(stagingFolder.getAbsoluteFile().getParentFile(), stagingFolder.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * @return index of the staging folder, or an empty index if there is none or it can't be read.
+     */
+    @Nonnull
+    public static FunctionBuildIndex load(@Nonnull final File stagingFolder) {
+        final File file = getIndexFile(stagingFolder);
+        if (file.isFile()) {
+            try {
+                final FunctionBuildIndex index = JsonUtils.fromJson(FileUtils.readFileToString(file, StandardCharsets.UTF_8), FunctionBuildIndex.class);
+                if (index != null && VERSION.equals(index.getVersion())) {
+                    return index;
+                }
+            } catch (final IOException | RuntimeException e) {
+                log.debug("failed to read function build index {}", file, e);
+            }
+        }
+        return new FunctionBuildIndex();
+    }
+
+    /**
+     * @return fingerprint of everything besides the class files that the generated function.json depend on.
+     */
+    @Nonnull
+    public static String fingerprint(@Nullable final String scriptFile, @Nullable final Collection<File> dependencies, @Nonnull final String... others) {
+        final StringBuilder builder = new StringBuilder(StringUtils.defaultString(scriptFile));
+        Stream.of(others).forEach(o -> builder.append('\n').append(o));
+        Optional.ofNullable(dependencies).orElse(Collections.emptyList()).stream().filter(Objects::nonNull).map(File::getAbsoluteFile).sorted()
+            .forEach(d -> builder.append('\n').append(d).append('\t').append(d.length()).append('\t').append(d.lastModified()));
+        return DigestUtils.md5Hex(builder.toString());
+    }
+
+    /**
+     * @return relative path -> md5 of all class files in the directory, empty if the directory doesn't exist.
+     */
+    @Nonnull
+    public static Map<String, String> hashClasses(@Nullable final File classesDirectory) throws IOException {
+        if (classesDirectory == null || !classesDirectory.isDirectory()) {
+            return Collections.emptyMap();
+        }
+        final Path root = classesDirectory.toPath();
+        final List<Path> files;
+        try (final Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(p -> p.toString().endsWith(".class") && Files.isRegularFile(p)).collect(Collectors.toList());
+        }
+        try {
+            return files.parallelStream().collect(Collectors.toMap(p -> root.relativize(p).toString().replace(File.separatorChar, '/'), p -> {
+                try {
+                    return DigestUtils.md5Hex(Files.readAllBytes(p));
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, (a, b) -> a, TreeMap::new));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Nonnull
+    public static Map<String, FunctionEntry> toFunctions(@Nonnull final Map<String, FunctionConfiguration> configs) throws JsonProcessingException {
+        final Map<String, FunctionEntry> result = new TreeMap<>();
+        for (final Map.Entry<String, FunctionConfiguration> entry : configs.entrySet()) {
+            final FunctionEntry function = new FunctionEntry();
+            function.setContent(FUNCTION_JSON_WRITER.writeValueAsString(entry.getValue()));
+            function.setBindingTypes(entry.getValue().getBindings().stream().map(Binding::getType).filter(Objects::nonNull).collect(Collectors.toList()));
+            function.setBindingEnums(entry.getValue().getBindings().stream().map(Binding::getBindingEnum).filter(Objects::nonNull).map(Enum::name)
+                .collect(Collectors.toList()));
+            result.put(entry.getKey(), function);
+        }
+        return result;
+    }
+
+    public boolean isUpToDate(@Nonnull final String fingerprint, @Nonnull final Map<String, String> classes) {
+        return !this.functions.isEmpty() && !classes.isEmpty() && Objects.equals(this.fingerprint, fingerprint) && Objects.equals(this.classes, classes);
+    }
+
+    /**
+     * write function.json of changed functions and remove those of functions not existing anymore, then update the
+     * index with the given state. the index is not saved.
+     *
+     * @return names of the functions whose function.json is (re)written
+     */
+    @Nonnull
+    public Set<String> update(@Nonnull final File stagingFolder, @Nonnull final String fingerprint, @Nonnull final Map<String, String> classes,
+                              @Nonnull final Map<String, FunctionEntry> functions) throws IOException {
+        for (final String removed : this.functions.keySet()) {
+            if (!functions.containsKey(removed)) {
+                final File functionJson = new File(new File(stagingFolder, removed), FUNCTION_JSON);
+                Files.deleteIfExists(functionJson.toPath());
+                final String[] remaining = functionJson.getParentFile().list();
+                if (remaining != null && remaining.length == 0) {
+                    Files.deleteIfExists(functionJson.getParentFile().toPath());
+                }
+            }
+        }
+        final Set<String> written = new TreeSet<>();
+        for (final Map.Entry<String, FunctionEntry> entry : functions.entrySet()) {
+            final File functionJson = new File(new File(stagingFolder, entry.getKey()), FUNCTION_JSON);
+            final String content = entry.getValue().getContent();
+            if (functionJson.isFile() && content.equals(FileUtils.readFileToString(functionJson, StandardCharsets.UTF_8))) {
+                continue;
+            }
+            FileUtils.writeStringToFile(functionJson, content, StandardCharsets.UTF_8);
+            written.add(entry.getKey());
+        }
+        this.fingerprint = fingerprint;
+        this.classes = new TreeMap<>(classes);
+        this.functions = new TreeMap<>(functions);
+        return written;
+    }
+
+    public void save(@Nonnull final File stagingFolder) {
+        final File file = getIndexFile(stagingFolder);
+        try {
+            FileUtils.writeStringToFile(file, JsonUtils.toJson(this), StandardCharsets.UTF_8);
+        } catch (final IOException | RuntimeException e) {
+            log.debug("failed to save function build index {}", file, e);
+        }
+    }
+
+    @Nonnull
+    @JsonIgnore
+    public Set<BindingEnum> getBindingEnumSet() {
+        return this.functions.values().stream().flatMap(f -> f.getBindingEnums().stream()).map(BindingEnum::valueOf).collect(Collectors.toSet());
+    }
+
+    @Nonnull
+    @JsonIgnore
+    public List<String> getBindingTypeList() {
+        return this.functions.values().stream().flatMap(f -> f.getBindingTypes().stream()).sorted().distinct().collect(Collectors.toList());
+    }
+
+    @Getter
+    @Setter
+    public static class FunctionEntry {
+        /**
+         * content of function.json
+         */
+        private String content;
+        private List<String> bindingTypes = Collections.emptyList();
+        private List<String> bindingEnums = Collections.emptyList();
+    }
+}
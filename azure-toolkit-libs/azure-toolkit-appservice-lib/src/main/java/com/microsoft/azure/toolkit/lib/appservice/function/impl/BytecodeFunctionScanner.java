@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.impl;
+
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotation;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotationClass;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.microsoft.azure.toolkit.lib.appservice.function.core.AzureFunctionsAnnotationConstants.FUNCTION_NAME;
+
+/**
+ * finds methods annotated with {@code @FunctionName} by reading class files, classes are never loaded. class files are
+ * read in parallel and those not referencing {@code @FunctionName} are skipped right after their constant pool.
+ * annotation types are read (for default values and meta annotations) from the given classpath.
+ */
+@Slf4j
+public class BytecodeFunctionScanner {
+    private static final String FUNCTION_NAME_DESCRIPTOR = "L" + FUNCTION_NAME.replace('.', '/') + ";";
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final List<File> classpath;
+
+    /**
+     * @param classpath directories and jars to resolve annotation types from.
+     */
+    public BytecodeFunctionScanner(@Nonnull final List<File> classpath) {
+        this.classpath = classpath;
+    }
+
+    /**
+     * @param location class output directory or jar to find functions in.
+     */
+    @Nonnull
+    public List<FunctionMethod> scan(@Nonnull final File location) throws IOException {
+        final long start = System.nanoTime();
+        final List<ClassFile> classes = location.isDirectory() ? scanDirectory(location) : scanJar(location);
+        try (final AnnotationTypeResolver resolver = new AnnotationTypeResolver(this.classpath)) {
+            final List<FunctionMethod> result = new ArrayList<>();
+            for (final ClassFile clazz : classes) {
+                clazz.getMethods().stream()
+                    .filter(m -> m.getAnnotations().stream().anyMatch(a -> FUNCTION_NAME.equals(a.getType())))
+                    .forEach(m -> result.add(toFunctionMethod(clazz, m, resolver)));
+            }
+            result.sort(Comparator.comparing(FunctionMethod::toString));
+            log.debug("found {} function(s) in {} in {}ms", result.size(), location, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        }
+    }
+
+    @Nonnull
+    private static List<ClassFile> scanDirectory(@Nonnull final File directory) throws IOException {
+        final List<Path> files;
+        try (final Stream<Path> paths = Files.walk(directory.toPath())) {
+            files = paths.filter(p -> p.toString().endsWith(CLASS_FILE_SUFFIX) && Files.isRegularFile(p)).collect(Collectors.toList());
+        }
+        return read(files, path -> Files.newInputStream(path));
+    }
+
+    @Nonnull
+    private static List<ClassFile> scanJar(@Nonnull final File jar) throws IOException {
+        try (final ZipFile zip = new ZipFile(jar)) {
+            final List<ZipEntry> entries = zip.stream().filter(e -> !e.isDirectory() && e.getName().endsWith(CLASS_FILE_SUFFIX)
+                && !e.getName().startsWith("META-INF/")).collect(Collectors.toList());
+            return read(entries, zip::getInputStream);
+        }
+    }
+
+    @Nonnull
+    private static <T> List<ClassFile> read(@Nonnull final List<T> sources, @Nonnull final InputStreamProvider<T> provider) throws IOException {
+        try {
+            return sources.parallelStream().map(source -> {
+                try (final InputStream in = provider.open(source)) {
+                    return ClassFile.read(in, FUNCTION_NAME_DESCRIPTOR);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(String.format("Failed to read class file '%s'", source), e);
+                }
+            }).filter(Objects::nonNull).collect(Collectors.toList());
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Nonnull
+    private static FunctionMethod toFunctionMethod(@Nonnull final ClassFile clazz, @Nonnull final ClassFile.MethodInfo method,
+                                                   @Nonnull final AnnotationTypeResolver resolver) {
+        final FunctionMethod functionMethod = new FunctionMethod();
+        functionMethod.setName(method.getName());
+        functionMethod.setReturnTypeName(method.getReturnTypeName());
+        functionMethod.setDeclaringTypeName(clazz.getName().replace('$', '.'));
+        functionMethod.setAnnotations(method.getAnnotations().stream()
+            .map(a -> toFunctionAnnotation(a, resolver, true)).collect(Collectors.toList()));
+        final List<FunctionAnnotation[]> parameterAnnotations = new ArrayList<>();
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            final List<ClassFile.AnnotationInfo> annotations = i < method.getParameterAnnotations().size() ?
+                method.getParameterAnnotations().get(i) : Collections.emptyList();
+            parameterAnnotations.add(annotations.stream().map(a -> toFunctionAnnotation(a, resolver, true)).toArray(FunctionAnnotation[]::new));
+        }
+        functionMethod.setParameterAnnotations(parameterAnnotations);
+        return functionMethod;
+    }
+
+    /**
+     * properties are split the same way as {@link DefaultFunctionProject#create(java.lang.annotation.Annotation)}: values
+     * equal to the default value go to default properties, array values always go to properties.
+     */
+    @Nonnull
+    private static FunctionAnnotation toFunctionAnnotation(@Nonnull final ClassFile.AnnotationInfo annotation,
+                                                           @Nonnull final AnnotationTypeResolver resolver, boolean resolveMetaAnnotations) {
+        final Map<String, Object> properties = new HashMap<>();
+        final Map<String, Object> defaultProperties = new HashMap<>();
+        final ClassFile type = resolver.resolve(annotation.getType());
+        if (type == null) {
+            annotation.getValues().forEach((name, value) -> properties.put(name, toValue(value)));
+        } else {
+            for (final ClassFile.MethodInfo member : type.getMethods()) {
+                final Object defaultValue = Optional.ofNullable(member.getDefaultValue()).map(BytecodeFunctionScanner::toValue).orElse(null);
+                final Object value = annotation.getValues().containsKey(member.getName()) ?
+                    toValue(annotation.getValues().get(member.getName())) : defaultValue;
+                if (value == null) {
+                    continue;
+                }
+                if (!(value instanceof Object[]) && Objects.equals(value, defaultValue)) {
+                    defaultProperties.put(member.getName(), value);
+                } else {
+                    properties.put(member.getName(), value);
+                }
+            }
+        }
+        final FunctionAnnotationClass annotationClass = new FunctionAnnotationClass();
+        annotationClass.setFullName(annotation.getType().replace('$', '.'));
+        annotationClass.setName(StringUtils.substringAfterLast("." + annotationClass.getFullName(), "."));
+        annotationClass.setAnnotations(type == null || !resolveMetaAnnotations ? Collections.emptyList() :
+            type.getAnnotations().stream().map(a -> toFunctionAnnotation(a, resolver, false)).collect(Collectors.toList()));
+
+        final FunctionAnnotation functionAnnotation = new FunctionAnnotation();
+        functionAnnotation.setAnnotationClass(annotationClass);
+        functionAnnotation.setProperties(properties);
+        functionAnnotation.setDefaultProperties(defaultProperties);
+        return functionAnnotation;
+    }
+
+    @Nonnull
+    private static Object toValue(@Nonnull final Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).map(BytecodeFunctionScanner::toValue).toArray();
+        } else if (value instanceof ClassFile.AnnotationInfo) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            ((ClassFile.AnnotationInfo) value).getValues().forEach((k, v) -> values.put(k, toValue(v)));
+            return values;
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface InputStreamProvider<T> {
+        InputStream open(T source) throws IOException;
+    }
+
+    /**
+     * reads annotation types from classpath, jars are opened lazily and only once.
+     */
+    private static class AnnotationTypeResolver implements Closeable {
+        private final List<File> classpath;
+        private final Map<String, Optional<ClassFile>> types = new HashMap<>();
+        private final Map<File, ZipFile> jars = new HashMap<>();
+
+        AnnotationTypeResolver(@Nonnull final List<File> classpath) {
+            this.classpath = classpath;
+        }
+
+        @Nullable
+        ClassFile resolve(@Nonnull final String type) {
+            return this.types.computeIfAbsent(type, t -> Optional.ofNullable(this.load(t))).orElse(null);
+        }
+
+        @Nullable
+        private ClassFile load(@Nonnull final String type) {
+            final String path = type.replace('.', '/') + CLASS_FILE_SUFFIX;
+            for (final File entry : this.classpath) {
+                try {
+                    if (entry.isDirectory()) {
+                        final File file = new File(entry, path);
+                        if (file.isFile()) {
+                            try (final InputStream in = Files.newInputStream(file.toPath())) {
+                                return ClassFile.read(in, null);
+                            }
+                        }
+                    } else if (entry.isFile()) {
+                        final ZipFile jar = this.getJar(entry);
+                        final ZipEntry zipEntry = jar.getEntry(path);
+                        if (zipEntry != null) {
+                            try (final InputStream in = jar.getInputStream(zipEntry)) {
+                                return ClassFile.read(in, null);
+                            }
+                        }
+                    }
+                } catch (final IOException e) {
+                    log.debug("failed to read annotation type {} from {}", type, entry, e);
+                }
+            }
+            log.debug("annotation type {} is not found in classpath", type);
+            return null;
+        }
+
+        @Nonnull
+        private ZipFile getJar(@Nonnull final File file) throws IOException {
+            ZipFile jar = this.jars.get(file);
+            if (jar == null) {
+                jar = new ZipFile(file);
+                this.jars.put(file, jar);
+            }
+            return jar;
+        }
+
+        @Override
+        public void close() {
+            this.jars.values().forEach(jar -> {
+                try {
+                    jar.close();
+                } catch (final IOException e) {
+                    log.debug("failed to close {}", jar.getName(), e);
+                }
+            });
+        }
+    }
+}
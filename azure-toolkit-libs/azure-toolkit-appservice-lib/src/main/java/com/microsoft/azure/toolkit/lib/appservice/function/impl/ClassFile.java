@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.impl;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * minimal class file reader, it only reads the runtime visible annotations of a class and its methods and the default
+ * values of annotation members, which is all needed to discover azure functions without loading classes.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class ClassFile {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+    private static final String ANNOTATION_DEFAULT = "AnnotationDefault";
+
+    /**
+     * binary name, e.g. {@code com.example.Outer$Inner}
+     */
+    private final String name;
+    private final List<AnnotationInfo> annotations;
+    private final List<MethodInfo> methods;
+
+    /**
+     * @param requiredDescriptor if not null, skip the class (return null) when its constant pool doesn't contain the
+     *                           descriptor, e.g. {@code Lcom/microsoft/azure/functions/annotation/FunctionName;}, so
+     *                           that classes without any function are not parsed beyond the constant pool.
+     */
+    @Nullable
+    static ClassFile read(@Nonnull final InputStream input, @Nullable final String requiredDescriptor) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid class file");
+        }
+        skip(in, 4); // minor and major version
+        final int count = in.readUnsignedShort();
+        final Object[] pool = new Object[count];
+        final int[] classes = new int[count];
+        boolean referenced = requiredDescriptor == null;
+        for (int i = 1; i < count; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    pool[i] = in.readUTF();
+                    referenced = referenced || requiredDescriptor.equals(pool[i]);
+                    break;
+                case 3: // Integer
+                    pool[i] = in.readInt();
+                    break;
+                case 4: // Float
+                    pool[i] = in.readFloat();
+                    break;
+                case 5: // Long, takes two entries
+                    pool[i++] = in.readLong();
+                    break;
+                case 6: // Double, takes two entries
+                    pool[i++] = in.readDouble();
+                    break;
+                case 7: // Class
+                    classes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skip(in, 3);
+                    break;
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(in, 4);
+                    break;
+                default:
+                    throw new IOException(String.format("Invalid constant pool tag %d at %d", tag, i));
+            }
+        }
+        if (!referenced) {
+            return null;
+        }
+        skip(in, 2); // access flags
+        final String name = ((String) pool[classes[in.readUnsignedShort()]]).replace('/', '.');
+        skip(in, 2); // super class
+        skip(in, 2 * in.readUnsignedShort()); // interfaces
+        for (int i = in.readUnsignedShort(); i > 0; i--) { // fields
+            skip(in, 6);
+            skipAttributes(in);
+        }
+        final List<MethodInfo> methods = new ArrayList<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            skip(in, 2);
+            final MethodInfo method = new MethodInfo((String) pool[in.readUnsignedShort()], (String) pool[in.readUnsignedShort()]);
+            for (int j = in.readUnsignedShort(); j > 0; j--) {
+                final String attribute = (String) pool[in.readUnsignedShort()];
+                final int length = in.readInt();
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attribute)) {
+                    method.annotations = readAnnotations(in, pool);
+                } else if (RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS.equals(attribute)) {
+                    final List<List<AnnotationInfo>> parameters = new ArrayList<>();
+                    for (int k = in.readUnsignedByte(); k > 0; k--) {
+                        parameters.add(readAnnotations(in, pool));
+                    }
+                    method.parameterAnnotations = parameters;
+                } else if (ANNOTATION_DEFAULT.equals(attribute)) {
+                    method.defaultValue = readElementValue(in, pool);
+                } else {
+                    skip(in, length);
+                }
+            }
+            methods.add(method);
+        }
+        List<AnnotationInfo> annotations = Collections.emptyList();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            final String attribute = (String) pool[in.readUnsignedShort()];
+            final int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attribute)) {
+                annotations = readAnnotations(in, pool);
+            } else {
+                skip(in, length);
+            }
+        }
+        return new ClassFile(name, annotations, methods);
+    }
+
+    @Nonnull
+    private static List<AnnotationInfo> readAnnotations(@Nonnull final DataInputStream in, @Nonnull final Object[] pool) throws IOException {
+        final int count = in.readUnsignedShort();
+        final List<AnnotationInfo> annotations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            annotations.add(readAnnotation(in, pool));
+        }
+        return annotations;
+    }
+
+    @Nonnull
+    private static AnnotationInfo readAnnotation(@Nonnull final DataInputStream in, @Nonnull final Object[] pool) throws IOException {
+        final String type = getBinaryName((String) pool[in.readUnsignedShort()]);
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            final String name = (String) pool[in.readUnsignedShort()];
+            values.put(name, readElementValue(in, pool));
+        }
+        return new AnnotationInfo(type, values);
+    }
+
+    /**
+     * @return boxed primitive or {@link String} for constants, name for enum constants, class name (as
+     * {@link Class#getName()}) for classes, {@link AnnotationInfo} for nested annotations and {@code Object[]} for arrays.
+     */
+    @Nonnull
+    private static Object readElementValue(@Nonnull final DataInputStream in, @Nonnull final Object[] pool) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'B':
+                return ((Integer) pool[in.readUnsignedShort()]).byteValue();
+            case 'C':
+                return (char) ((Integer) pool[in.readUnsignedShort()]).intValue();
+            case 'S':
+                return ((Integer) pool[in.readUnsignedShort()]).shortValue();
+            case 'Z':
+                return ((Integer) pool[in.readUnsignedShort()]) != 0;
+            case 'I':
+            case 'J':
+            case 'F':
+            case 'D':
+            case 's':
+                return pool[in.readUnsignedShort()];
+            case 'e':
+                skip(in, 2); // enum type
+                return pool[in.readUnsignedShort()];
+            case 'c':
+                return getBinaryName((String) pool[in.readUnsignedShort()]);
+            case '@':
+                return readAnnotation(in, pool);
+            case '[':
+                final Object[] values = new Object[in.readUnsignedShort()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = readElementValue(in, pool);
+                }
+                return values;
+            default:
+                throw new IOException(String.format("Invalid element value tag '%c'", (char) tag));
+        }
+    }
+
+    private static void skipAttributes(@Nonnull final DataInputStream in) throws IOException {
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            skip(in, 2);
+            skip(in, in.readInt());
+        }
+    }
+
+    private static void skip(@Nonnull final DataInputStream in, int length) throws IOException {
+        while (length > 0) {
+            final int skipped = in.skipBytes(length);
+            if (skipped > 0) {
+                length -= skipped;
+            } else {
+                in.readByte(); // throws EOFException at the end of stream
+                length--;
+            }
+        }
+    }
+
+    /**
+     * @return name of the type as {@link Class#getName()}, e.g. {@code int}, {@code java.lang.String},
+     * {@code [Ljava.lang.String;}
+     */
+    @Nonnull
+    static String getBinaryName(@Nonnull final String descriptor) {
+        if (descriptor.startsWith("[")) {
+            return descriptor.replace('/', '.');
+        } else if (descriptor.startsWith("L")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return getPrimitiveName(descriptor.charAt(0));
+    }
+
+    /**
+     * @return name of the type as {@link Class#getCanonicalName()}, e.g. {@code int}, {@code java.lang.String[]}
+     */
+    @Nonnull
+    static String getCanonicalName(@Nonnull final String descriptor) {
+        if (descriptor.startsWith("[")) {
+            return getCanonicalName(descriptor.substring(1)) + "[]";
+        } else if (descriptor.startsWith("L")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.').replace('$', '.');
+        }
+        return getPrimitiveName(descriptor.charAt(0));
+    }
+
+    @Nonnull
+    private static String getPrimitiveName(final char descriptor) {
+        switch (descriptor) {
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'D':
+                return "double";
+            case 'F':
+                return "float";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'S':
+                return "short";
+            case 'Z':
+                return "boolean";
+            case 'V':
+                return "void";
+            default:
+                throw new IllegalArgumentException(String.format("Invalid type descriptor '%c'", descriptor));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class AnnotationInfo {
+        /**
+         * binary name of the annotation type
+         */
+        private final String type;
+        /**
+         * values of the members explicitly specified
+         */
+        private final Map<String, Object> values;
+    }
+
+    @Getter
+    static class MethodInfo {
+        private final String name;
+        private final String descriptor;
+        private List<AnnotationInfo> annotations = Collections.emptyList();
+        private List<List<AnnotationInfo>> parameterAnnotations = Collections.emptyList();
+        /**
+         * default value if this is a member of an annotation type
+         */
+        @Nullable
+        private Object defaultValue;
+
+        private MethodInfo(@Nonnull final String name, @Nonnull final String descriptor) {
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        @Nonnull
+        String getReturnTypeName() {
+            return getCanonicalName(this.descriptor.substring(this.descriptor.indexOf(')') + 1));
+        }
+
+        int getParameterCount() {
+            int count = 0;
+            for (int i = 1; this.descriptor.charAt(i) != ')'; i++, count++) {
+                while (this.descriptor.charAt(i) == '[') {
+                    i++;
+                }
+                if (this.descriptor.charAt(i) == 'L') {
+                    i = this.descriptor.indexOf(';', i);
+                }
+            }
+            return count;
+        }
+    }
+}
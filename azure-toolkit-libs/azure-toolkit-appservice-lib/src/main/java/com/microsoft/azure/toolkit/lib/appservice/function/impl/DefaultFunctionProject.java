@@ -21,6 +21,8 @@ import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
 
 import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -35,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -45,6 +48,26 @@ public class DefaultFunctionProject extends FunctionProject {
 
     @Override
     public List<FunctionMethod> findAnnotatedMethods() {
+        final File classes = getClassesOutputDirectory();
+        final File location = classes != null && classes.isDirectory() ? classes : getArtifactFile();
+        try {
+            final List<File> classpath = new ArrayList<>();
+            classpath.add(location);
+            Optional.ofNullable(getArtifactFile()).ifPresent(classpath::add);
+            Optional.ofNullable(getDependencies()).ifPresent(classpath::addAll);
+            final List<FunctionMethod> methods = new BytecodeFunctionScanner(classpath).scan(location);
+            if (!methods.isEmpty()) {
+                return methods;
+            }
+            // functions may be defined in dependencies
+            log.debug("No function is found in " + location + ", fall back to reflection.");
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to find functions from class files in " + location + ", fall back to reflection.", e);
+        }
+        return findAnnotatedMethodsByReflection();
+    }
+
+    private List<FunctionMethod> findAnnotatedMethodsByReflection() {
         Set<Method> methods;
         try {
             try {
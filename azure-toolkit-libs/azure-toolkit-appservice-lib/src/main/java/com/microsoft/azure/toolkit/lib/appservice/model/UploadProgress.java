@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+@Getter
+@RequiredArgsConstructor
+public class UploadProgress {
+    private final long uploadedBytes;
+    private final long totalBytes;
+    private final long elapsedMillis;
+    /**
+     * 1 for the first attempt, increased on every retry
+     */
+    private final int attempt;
+
+    public boolean isCompleted() {
+        return this.uploadedBytes >= this.totalBytes;
+    }
+
+    public long getBytesPerSecond() {
+        return this.elapsedMillis <= 0 ? 0 : this.uploadedBytes * 1000 / this.elapsedMillis;
+    }
+
+    /**
+     * @return estimated time to finish, null if unknown yet.
+     */
+    @Nullable
+    public Duration getEta() {
+        final long speed = this.getBytesPerSecond();
+        return speed <= 0 ? null : Duration.ofSeconds((this.totalBytes - this.uploadedBytes) / speed);
+    }
+
+    @Override
+    public String toString() {
+        final Duration eta = this.getEta();
+        return String.format("Uploaded %.1f MB of %.1f MB (%d%%), %.1f MB/s%s", toMB(this.uploadedBytes), toMB(this.totalBytes),
+            this.totalBytes <= 0 ? 100 : this.uploadedBytes * 100 / this.totalBytes, toMB(this.getBytesPerSecond()),
+            eta == null || this.isCompleted() ? "" : String.format(", about %ds left", eta.getSeconds()));
+    }
+
+    private static double toMB(long bytes) {
+        return bytes / 1024.0 / 1024.0;
+    }
+}
@@ -7,6 +7,7 @@ package com.microsoft.azure.toolkit.lib.appservice.task;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionApp;
 import com.microsoft.azure.toolkit.lib.appservice.function.FunctionAppBase;
 import com.microsoft.azure.toolkit.lib.appservice.model.FunctionDeployType;
+import com.microsoft.azure.toolkit.lib.appservice.utils.DeterministicZipBuilder;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
@@ -14,14 +15,13 @@ import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import org.apache.commons.lang3.StringUtils;
-import org.zeroturnaround.zip.ZipUtil;
 import reactor.core.Disposable;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.Collections;
 import java.util.Objects;
 
 
@@ -97,10 +97,9 @@ public class DeployFunctionAppTask extends AzureTask<FunctionAppBase<?, ?, ?>> {
 
     private File packageStagingDirectory() {
         try {
-            final File zipFile = Files.createTempFile("azure-functions", ".zip").toFile();
-            ZipUtil.pack(stagingDirectory, zipFile);
-            ZipUtil.removeEntry(zipFile, LOCAL_SETTINGS_FILE);
-            return zipFile;
+            return new DeterministicZipBuilder(stagingDirectory)
+                .setExcludes(Collections.singleton(LOCAL_SETTINGS_FILE))
+                .buildCached();
         } catch (IOException e) {
             throw new AzureToolkitRuntimeException("Failed to package function to deploy", e);
         }
@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.task;
 
+import com.azure.core.exception.HttpResponseException;
 import com.microsoft.azure.toolkit.lib.appservice.model.*;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.WebAppBase;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
@@ -13,24 +14,34 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.utils.StatusWatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.io.PrintStream;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -44,6 +55,10 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     private static final int DEFAULT_DEPLOYMENT_STATUS_REFRESH_INTERVAL = 5;
     private static final int DEFAULT_DEPLOYMENT_STATUS_MAX_REFRESH_TIMES = 30;
     private static final int DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL = 500;
+    private static final int DEFAULT_DEPLOYMENT_CONCURRENCY = 1;
+    private static final int DEFAULT_DEPLOYMENT_CONFLICT_RETRY_INTERVAL = 10;
+    private static final int DEPLOYMENT_CONFLICT_MAX_ATTEMPTS = 6;
+    private static final List<DeployType> INDEPENDENT_DEPLOY_TYPES = Arrays.asList(DeployType.JAR_LIB, DeployType.STATIC, DeployType.SCRIPT);
     private static final String CLEAR_MESSAGE_STRING = StringUtils.repeat(StringUtils.SPACE, 100) + "\r";
 
     private final WebAppBase<?, ?, ?> webApp;
@@ -52,13 +67,25 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     private final boolean openStreamingLogOnFailure;
     private final Boolean waitDeploymentComplete;
     private final IAzureMessager messager;
-    private final AtomicReference<KuduDeploymentResult> deploymentResultAtomicReference = new AtomicReference<>();
+    private final List<KuduDeploymentResult> deploymentResults = new CopyOnWriteArrayList<>();
     @Setter
     private long deploymentStatusRefreshInterval = DEFAULT_DEPLOYMENT_STATUS_REFRESH_INTERVAL;
     @Setter
     private long deploymentStatusMaxRefreshTimes = DEFAULT_DEPLOYMENT_STATUS_MAX_REFRESH_TIMES;
     @Setter
     private PrintStream deploymentStatusStream;
+    /**
+     * max number of artifacts deployed at the same time, artifacts are deployed one by one if it's not greater than 1.
+     * when pipelined, independent artifacts (lib, static and script) are deployed concurrently without restarting the
+     * site, and then the others (which restart the site) one by one.
+     */
+    @Setter
+    private int deploymentConcurrency = DEFAULT_DEPLOYMENT_CONCURRENCY;
+    /**
+     * seconds to wait before retrying a deployment rejected by Kudu (409) because another deployment is in progress.
+     */
+    @Setter
+    private long deploymentConflictRetryInterval = DEFAULT_DEPLOYMENT_CONFLICT_RETRY_INTERVAL;
 
 
     public DeployWebAppTask(WebAppBase<?, ?, ?> webApp, List<WebAppArtifact> artifacts) {
@@ -100,11 +127,10 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
                 .filter(artifact -> artifact.getDeployType() != null)
                 .collect(Collectors.toList());
         final boolean trackDeploymentStatus = isTrackDeploymentStatus();
-        if (trackDeploymentStatus) {
-            artifactsOneDeploy.forEach(resource -> deploymentResultAtomicReference.set(webApp.pushDeploy(resource.getDeployType(), resource.getFile(),
-                DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).trackDeployment(true).build())));
+        if (this.deploymentConcurrency > 1 && artifactsOneDeploy.size() > 1) {
+            deployPipelined(artifactsOneDeploy, trackDeploymentStatus);
         } else {
-            artifactsOneDeploy.forEach(resource -> webApp.deploy(resource.getDeployType(), resource.getFile(), DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).build()));
+            artifactsOneDeploy.forEach(resource -> deploy(resource, restartSite, trackDeploymentStatus).ifPresent(deploymentResults::add));
         }
         if (!waitUntilDeploymentReady(trackDeploymentStatus, this.deploymentStatusRefreshInterval, this.deploymentStatusMaxRefreshTimes) && openStreamingLogOnFailure) {
             new StreamingLogTask(webApp).doExecute();
@@ -112,41 +138,131 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         OperationContext.action().setTelemetryProperty("deploy-cost", String.valueOf(System.currentTimeMillis() - startTime));
     }
 
+    private void deployPipelined(final List<WebAppArtifact> artifacts, final boolean trackDeploymentStatus) {
+        final List<WebAppArtifact> independents = artifacts.stream()
+            .filter(artifact -> INDEPENDENT_DEPLOY_TYPES.contains(artifact.getDeployType())).collect(Collectors.toList());
+        final List<WebAppArtifact> finals = artifacts.stream()
+            .filter(artifact -> !INDEPENDENT_DEPLOY_TYPES.contains(artifact.getDeployType())).collect(Collectors.toList());
+        if (finals.isEmpty()) { // let the last one restart the site
+            finals.add(independents.remove(independents.size() - 1));
+        }
+        final List<String> failed = new CopyOnWriteArrayList<>();
+        final List<RuntimeException> errors = new CopyOnWriteArrayList<>();
+        final List<Mono<KuduDeploymentResult>> deployments = independents.stream().map(artifact -> {
+            final OperationThreadContext context = OperationThreadContext.current().derive();
+            return Mono.fromCallable(() -> {
+                final AtomicReference<KuduDeploymentResult> result = new AtomicReference<>();
+                final AtomicReference<RuntimeException> error = new AtomicReference<>();
+                context.run(() -> {
+                    try {
+                        deploy(artifact, false, trackDeploymentStatus).ifPresent(result::set);
+                    } catch (final RuntimeException e) {
+                        error.set(e);
+                    }
+                });
+                if (error.get() != null) { // keep deploying the others, failures are reported together
+                    failed.add(artifact.getFile().getName());
+                    errors.add(error.get());
+                }
+                return result.get();
+            }).subscribeOn(Schedulers.boundedElastic());
+        }).collect(Collectors.toList());
+        Optional.ofNullable(Flux.mergeSequential(Flux.fromIterable(deployments), this.deploymentConcurrency, 1).collectList().block())
+            .ifPresent(deploymentResults::addAll);
+        if (!errors.isEmpty()) {
+            final AzureToolkitRuntimeException exception = new AzureToolkitRuntimeException(String.format("Failed to deploy %d artifacts (%s) to %s: %s",
+                errors.size(), String.join(", ", failed), webApp.getName(), errors.get(0).getMessage()), errors.get(0));
+            errors.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+        finals.forEach(resource -> deploy(resource, restartSite, trackDeploymentStatus).ifPresent(deploymentResults::add));
+    }
+
+    /**
+     * Kudu rejects a deployment with 409 if another deployment to the site is in progress, e.g. one started by others or
+     * not completed yet, it's retried up to {@link #DEPLOYMENT_CONFLICT_MAX_ATTEMPTS} times.
+     */
+    private Optional<KuduDeploymentResult> deploy(final WebAppArtifact resource, final boolean restartSite, final boolean trackDeploymentStatus) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return doDeploy(resource, restartSite, trackDeploymentStatus);
+            } catch (final RuntimeException e) {
+                if (attempt >= DEPLOYMENT_CONFLICT_MAX_ATTEMPTS || !isDeploymentInProgress(e)) {
+                    throw e;
+                }
+                messager.info(String.format("Another deployment is in progress on %s, retry deploying %s in %d seconds (%d/%d)...",
+                    webApp.getName(), resource.getFile().getName(), this.deploymentConflictRetryInterval, attempt, DEPLOYMENT_CONFLICT_MAX_ATTEMPTS - 1));
+                try {
+                    Thread.sleep(Duration.ofSeconds(this.deploymentConflictRetryInterval).toMillis());
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean isDeploymentInProgress(final Throwable t) {
+        return ExceptionUtils.getThrowableList(t).stream()
+            .anyMatch(e -> e instanceof HttpResponseException && Objects.nonNull(((HttpResponseException) e).getResponse()) &&
+                ((HttpResponseException) e).getResponse().getStatusCode() == HttpStatus.SC_CONFLICT);
+    }
+
+    private Optional<KuduDeploymentResult> doDeploy(final WebAppArtifact resource, final boolean restartSite, final boolean trackDeploymentStatus) {
+        if (trackDeploymentStatus) {
+            return Optional.ofNullable(webApp.pushDeploy(resource.getDeployType(), resource.getFile(),
+                DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).trackDeployment(true).build()));
+        }
+        webApp.deploy(resource.getDeployType(), resource.getFile(), DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).build());
+        return Optional.empty();
+    }
+
     public boolean waitUntilDeploymentReady(boolean trackDeploymentStatus, long deploymentStatusRefreshInterval, long deploymentStatusMaxRefreshTimes) {
-        final String trackId = Optional.ofNullable(deploymentResultAtomicReference.get())
-            .map(KuduDeploymentResult::getDeploymentId).orElse(null);
-        if (!trackDeploymentStatus || StringUtils.isBlank(trackId)) {
+        final List<String> trackIds = deploymentResults.stream().map(KuduDeploymentResult::getDeploymentId)
+            .filter(StringUtils::isNotBlank).collect(Collectors.toList());
+        if (!trackDeploymentStatus || trackIds.isEmpty()) {
             return false;
         }
-        final AtomicReference<CsmDeploymentStatus> status = new AtomicReference<>(null);
-        final Timer timer = new Timer();
-        timer.schedule(new TrackDeploymentStatusTask(status), 0, DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL);
-        final CsmDeploymentStatus result = Mono.fromCallable(() -> {
-                final CsmDeploymentStatus deploymentStatus = webApp.getDeploymentStatus(trackId);
-                status.set(deploymentStatus);
-                return deploymentStatus;
-            })
-            .delayElement(Duration.ofSeconds(deploymentStatusRefreshInterval))
-            .subscribeOn(Schedulers.boundedElastic())
-            .repeat(deploymentStatusMaxRefreshTimes)
-            .takeUntil(csmDeploymentStatus -> !csmDeploymentStatus.getStatus().isRunning())
-            .blockLast();
-        timer.cancel();
-        final DeploymentBuildStatus buildStatus = Optional.ofNullable(result).map(CsmDeploymentStatus::getStatus).orElse(null);
-        if (buildStatus == null || buildStatus.isSucceed()) {
-            return true;
-        } else if (buildStatus.isTimeout()) {
+        final Map<String, CsmDeploymentStatus> statuses = new ConcurrentHashMap<>();
+        final TrackDeploymentStatusTask displayTask = new TrackDeploymentStatusTask(trackIds, statuses);
+        final Disposable display = Flux.interval(Duration.ZERO, Duration.ofMillis(DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL))
+            .subscribe(ignore -> displayTask.run());
+        try {
+            Flux.merge(trackIds.stream().map(trackId -> new StatusWatcher<>(() -> webApp.getDeploymentStatus(trackId))
+                    .setMaxInterval(Duration.ofSeconds(deploymentStatusRefreshInterval))
+                    .setTimeout(Duration.ofSeconds(deploymentStatusRefreshInterval * deploymentStatusMaxRefreshTimes))
+                    .watch(deploymentStatus -> !deploymentStatus.getStatus().isRunning())
+                    .doOnNext(deploymentStatus -> statuses.put(trackId, deploymentStatus)))
+                .collect(Collectors.toList()))
+                .blockLast();
+        } finally {
+            display.dispose();
+        }
+        final List<CsmDeploymentStatus> results = trackIds.stream().map(statuses::get).collect(Collectors.toList());
+        final Map<String, Long> summary = results.stream().map(result -> Optional.ofNullable(result).map(CsmDeploymentStatus::getStatus)
+                .map(DeploymentBuildStatus::getValue).orElse("Unknown"))
+            .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+        if (trackIds.size() > 1) {
+            messager.info(String.format("Status of %d deployments: %s", trackIds.size(), summary));
+        }
+        final List<CsmDeploymentStatus> failed = results.stream().filter(result -> result != null && result.getStatus().isFailed()).collect(Collectors.toList());
+        if (!failed.isEmpty()) {
+            final String errorMessages = failed.stream().filter(result -> CollectionUtils.isNotEmpty(result.getErrors()))
+                .flatMap(result -> result.getErrors().stream()).map(ErrorEntity::getMessage).collect(Collectors.joining(StringUtils.LF));
+            final String failedInstancesLogs = failed.stream().filter(result -> CollectionUtils.isNotEmpty(result.getFailedInstancesLogs()))
+                .flatMap(result -> result.getFailedInstancesLogs().stream()).collect(Collectors.joining(StringUtils.LF));
+            throw new AzureToolkitRuntimeException(String.format("Failed to start app %s. %s %s", webApp.getName(), errorMessages, failedInstancesLogs));
+        }
+        final List<DeploymentBuildStatus> buildStatuses = results.stream().filter(Objects::nonNull).map(CsmDeploymentStatus::getStatus)
+            .collect(Collectors.toList());
+        if (buildStatuses.stream().anyMatch(DeploymentBuildStatus::isTimeout)) {
             AzureMessager.getMessager().warning("Resource deployed, but failed to get the deployment status as timeout");
-        } else if (buildStatus.isRunning()) {
+            return false;
+        } else if (buildStatuses.stream().anyMatch(DeploymentBuildStatus::isRunning)) {
             AzureMessager.getMessager().warning("Resource deployed, but the deployment is still in process in Azure");
-        } else if (buildStatus.isFailed()) {
-            final String errorMessages = CollectionUtils.isNotEmpty(result.getErrors()) ?
-                    result.getErrors().stream().map(ErrorEntity::getMessage).collect(Collectors.joining(StringUtils.LF)) : StringUtils.EMPTY;
-            final String failedInstancesLogs = CollectionUtils.isEmpty(result.getFailedInstancesLogs()) ?
-                    StringUtils.join(result.getFailedInstancesLogs(), StringUtils.LF) : StringUtils.EMPTY;
-            throw new AzureToolkitRuntimeException(String.format("Failed to start app %s. %s %s", webApp.getName(), errorMessages, failedInstancesLogs));
+            return false;
         }
-        return false;
+        return buildStatuses.stream().allMatch(DeploymentBuildStatus::isSucceed);
     }
 
     private boolean isTrackDeploymentStatus() {
@@ -170,13 +286,21 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     }
 
     @RequiredArgsConstructor
-    private class TrackDeploymentStatusTask extends TimerTask{
-        private final AtomicReference<CsmDeploymentStatus> status;
+    private class TrackDeploymentStatusTask implements Runnable {
+        private final List<String> trackIds;
+        private final Map<String, CsmDeploymentStatus> statuses;
         private final AtomicInteger times = new AtomicInteger(0);
 
         @Override
         public void run() {
-            final StringBuilder message = new StringBuilder(getDeploymentStatus(status.get()));
+            // show the status of the last deployment, which restarts the site, and how many deployments are completed
+            final StringBuilder message = new StringBuilder();
+            if (trackIds.size() > 1) {
+                final long completed = trackIds.stream().map(statuses::get)
+                    .filter(status -> status != null && !status.getStatus().isRunning()).count();
+                message.append(String.format("[%d/%d] ", completed, trackIds.size()));
+            }
+            message.append(getDeploymentStatus(statuses.get(trackIds.get(trackIds.size() - 1))));
             // add dot to indicate process is still running
             final int dotTimes = times.addAndGet(1) % 4;
             IntStream.range(0, dotTimes).forEach(i -> message.append("."));
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * packs a directory into a zip in one pass. entries are written in a stable order with fixed timestamps, so the same
+ * content always produces the same archive, and already compressed files (e.g. jars) are stored rather than deflated.
+ */
+@Slf4j
+@Getter
+@Setter
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class DeterministicZipBuilder {
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<>(Arrays.asList(
+        "jar", "war", "ear", "zip", "gz", "tgz", "bz2", "xz", "7z", "png", "jpg", "jpeg", "gif", "woff", "woff2"));
+    private static final long ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final String MANIFEST_VERSION = "v1";
+    private static final File CACHE_DIR = new File(FileUtils.getTempDirectory(), "azure-toolkit-zip-cache");
+
+    @Nonnull
+    private final File sourceDirectory;
+    /**
+     * paths relative to {@link #sourceDirectory} to exclude, separated by '/'.
+     */
+    @Nonnull
+    private Set<String> excludes = Collections.emptySet();
+
+    /**
+     * build the archive into the cache directory, or reuse the previously built one if the source directory has not
+     * changed since, which is decided by comparing the manifest (path, size and last modified time of all files).
+     */
+    @Nonnull
+    public File buildCached() throws IOException {
+        final String manifest = this.manifest();
+        final String key = DigestUtils.sha256Hex(this.sourceDirectory.getAbsolutePath());
+        final File zip = new File(CACHE_DIR, key + ".zip");
+        final File manifestFile = new File(CACHE_DIR, key + ".manifest");
+        if (zip.isFile() && manifestFile.isFile() && manifest.equals(FileUtils.readFileToString(manifestFile, StandardCharsets.UTF_8))) {
+            log.debug("reuse archive {} of unchanged directory {}", zip, this.sourceDirectory);
+            return zip;
+        }
+        Files.createDirectories(CACHE_DIR.toPath());
+        Files.deleteIfExists(manifestFile.toPath());
+        final File temp = File.createTempFile(key, ".zip", CACHE_DIR);
+        try {
+            this.build(temp);
+            Files.move(temp.toPath(), zip.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+        FileUtils.writeStringToFile(manifestFile, manifest, StandardCharsets.UTF_8);
+        return zip;
+    }
+
+    public void build(@Nonnull final File zip) throws IOException {
+        try (final ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zip.toPath())))) {
+            this.write(this.sourceDirectory, "", out);
+        }
+    }
+
+    @Nonnull
+    public String manifest() {
+        final StringBuilder manifest = new StringBuilder(MANIFEST_VERSION).append('\n');
+        this.manifest(this.sourceDirectory, "", manifest);
+        return manifest.toString();
+    }
+
+    private void manifest(@Nonnull final File dir, @Nonnull final String prefix, @Nonnull final StringBuilder manifest) {
+        for (final File file : listSorted(dir)) {
+            final String path = prefix + file.getName();
+            if (this.excludes.contains(path)) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                manifest.append(path).append("/\n");
+                this.manifest(file, path + "/", manifest);
+            } else {
+                manifest.append(path).append('\t').append(file.length()).append('\t').append(file.lastModified()).append('\n');
+            }
+        }
+    }
+
+    private void write(@Nonnull final File dir, @Nonnull final String prefix, @Nonnull final ZipOutputStream out) throws IOException {
+        for (final File file : listSorted(dir)) {
+            final String path = prefix + file.getName();
+            if (this.excludes.contains(path)) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                final ZipEntry entry = new ZipEntry(path + "/");
+                entry.setTime(ENTRY_TIME);
+                out.putNextEntry(entry);
+                out.closeEntry();
+                this.write(file, path + "/", out);
+            } else {
+                writeFile(file, path, out);
+            }
+        }
+    }
+
+    private static void writeFile(@Nonnull final File file, @Nonnull final String path, @Nonnull final ZipOutputStream out) throws IOException {
+        final ZipEntry entry = new ZipEntry(path);
+        entry.setTime(ENTRY_TIME);
+        if (COMPRESSED_EXTENSIONS.contains(FilenameUtils.getExtension(file.getName()).toLowerCase())) {
+            // stored entries require size and crc before the data is written.
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(file.length());
+            entry.setCompressedSize(file.length());
+            entry.setCrc(crc(file));
+        }
+        out.putNextEntry(entry);
+        try (final InputStream in = Files.newInputStream(file.toPath())) {
+            IOUtils.copy(in, out);
+        }
+        out.closeEntry();
+    }
+
+    private static long crc(@Nonnull final File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[IOUtils.DEFAULT_BUFFER_SIZE * 8];
+        try (final InputStream in = Files.newInputStream(file.toPath())) {
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    @Nonnull
+    private static File[] listSorted(@Nonnull final File dir) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+        return files;
+    }
+}
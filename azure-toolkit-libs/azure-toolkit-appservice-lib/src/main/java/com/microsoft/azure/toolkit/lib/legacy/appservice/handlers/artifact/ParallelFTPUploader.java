@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.legacy.appservice.handlers.artifact;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
+import org.apache.commons.net.ftp.FTPReply;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Upload files to FTP server concurrently through a bounded pool of logged-in connections. remote directories are
+ * created in one pass before uploading, and every file is retried on its own.
+ */
+@Slf4j
+@Getter
+@Setter
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class ParallelFTPUploader {
+    public static final String UPLOAD_START = "Uploading %d files to FTP server %s with %d connections";
+    public static final String UPLOAD_SUCCESS = "Successfully uploaded %d files (%d unchanged skipped) to FTP server: %s";
+    public static final String UPLOAD_FILE = "[FILE] %s --> %s";
+    public static final String UPLOAD_FILE_SKIPPED = "[FILE] %s is not changed, skipped";
+    public static final String UPLOAD_FILE_RETRY = "Failed to upload %s (%d/%d), retrying: %s";
+    public static final String UPLOAD_FILE_FAILURE = "Failed to upload file %s to FTP server after %d retries";
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+
+    @Nonnull
+    private final String ftpServer;
+    @Nonnull
+    private final String username;
+    @Nonnull
+    private final String password;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    /**
+     * skip files whose size equals to the remote one and which are not modified after the remote one is uploaded.
+     * remote files are listed with MLSD, all files are uploaded if the server doesn't support it.
+     */
+    private boolean deltaSync = false;
+
+    /**
+     * Upload all files in {@code sourceDirectory} recursively into {@code targetDirectory}.
+     */
+    public void uploadDirectory(@Nonnull final File sourceDirectory, @Nonnull final String targetDirectory) throws AzureExecutionException {
+        final Path root = sourceDirectory.toPath();
+        final Map<File, String> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toMap(Path::toFile, p -> {
+                final String relative = FilenameUtils.separatorsToUnix(root.relativize(p.getParent()).toString());
+                return StringUtils.isEmpty(relative) ? targetDirectory : StringUtils.removeEnd(targetDirectory, "/") + "/" + relative;
+            }, (a, b) -> a, LinkedHashMap::new));
+        } catch (final IOException e) {
+            throw new AzureExecutionException(String.format("Failed to list files in %s", sourceDirectory), e);
+        }
+        this.uploadFiles(files);
+    }
+
+    /**
+     * Upload files into remote directories.
+     *
+     * @param files map from local file to the remote directory it's uploaded into.
+     */
+    public void uploadFiles(@Nonnull final Map<File, String> files) throws AzureExecutionException {
+        final IAzureMessager messager = AzureMessager.getMessager();
+        final int concurrency = Math.max(1, Math.min(this.concurrency, files.size()));
+        messager.info(String.format(UPLOAD_START, files.size(), this.ftpServer, concurrency));
+        final AtomicInteger skipped = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try (final ClientPool pool = new ClientPool(concurrency)) {
+            final Set<String> directories = files.values().stream().map(ParallelFTPUploader::normalize).collect(Collectors.toCollection(LinkedHashSet::new));
+            final Map<String, Map<String, FTPFile>> remoteFiles = this.prepareDirectories(pool, directories);
+            final List<Future<?>> futures = new ArrayList<>();
+            files.forEach((file, dir) -> futures.add(executor.submit(() -> {
+                final FTPFile remote = remoteFiles.getOrDefault(normalize(dir), Collections.emptyMap()).get(file.getName());
+                if (isUnchanged(file, remote)) {
+                    messager.info(String.format(UPLOAD_FILE_SKIPPED, file.getPath()));
+                    skipped.incrementAndGet();
+                    return null;
+                }
+                this.uploadFileWithRetries(pool, file, normalize(dir));
+                return null;
+            })));
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof AzureExecutionException ? (AzureExecutionException) cause : new AzureExecutionException(cause.getMessage(), cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AzureExecutionException("Interrupted while uploading files to FTP server", e);
+        } catch (final IOException e) {
+            throw new AzureExecutionException(String.format("Failed to prepare directories on FTP server %s", this.ftpServer), e);
+        } finally {
+            executor.shutdownNow();
+        }
+        messager.success(String.format(UPLOAD_SUCCESS, files.size() - skipped.get(), skipped.get(), this.ftpServer));
+    }
+
+    /**
+     * create missing {@code directories} (parents first) with one connection, and list existing files in them
+     * if {@link #deltaSync} is enabled.
+     */
+    @Nonnull
+    private Map<String, Map<String, FTPFile>> prepareDirectories(@Nonnull ClientPool pool, @Nonnull Collection<String> directories) throws IOException, InterruptedException {
+        final Set<String> all = new LinkedHashSet<>();
+        directories.forEach(dir -> {
+            for (String d = dir; StringUtils.isNotEmpty(d) && !"/".equals(d); d = StringUtils.substringBeforeLast(d, "/")) {
+                all.add(d);
+            }
+        });
+        final List<String> sorted = all.stream().sorted(Comparator.comparingInt((String d) -> StringUtils.countMatches(d, '/')).thenComparing(d -> d))
+            .collect(Collectors.toList());
+        final Map<String, Map<String, FTPFile>> result = new HashMap<>();
+        final FTPClient client = pool.borrow();
+        boolean healthy = false;
+        try {
+            boolean mlsdSupported = this.deltaSync;
+            for (final String dir : sorted) {
+                final boolean created = client.makeDirectory(dir); // fails if it exists already, which is fine.
+                if (mlsdSupported && !created && directories.contains(dir)) {
+                    try {
+                        final FTPFile[] listed = client.mlistDir(dir);
+                        result.put(dir, Stream.of(Objects.requireNonNull(listed)).filter(Objects::nonNull).filter(FTPFile::isFile)
+                            .collect(Collectors.toMap(FTPFile::getName, f -> f, (a, b) -> a)));
+                    } catch (final IOException | RuntimeException e) {
+                        log.debug("failed to list {} with MLSD, uploading all files", dir, e);
+                        mlsdSupported = false;
+                    }
+                }
+            }
+            healthy = true;
+        } finally {
+            pool.release(client, healthy);
+        }
+        return result;
+    }
+
+    private void uploadFileWithRetries(@Nonnull ClientPool pool, @Nonnull File file, @Nonnull String dir) throws AzureExecutionException, InterruptedException {
+        final IAzureMessager messager = AzureMessager.getMessager();
+        final String target = dir + "/" + file.getName();
+        for (int attempt = 1; ; attempt++) {
+            FTPClient client = null;
+            boolean healthy = false;
+            try {
+                client = pool.borrow(); // failing to connect or log in takes an attempt too.
+                messager.info(String.format(UPLOAD_FILE, file.getPath(), target));
+                this.storeFile(client, file, target);
+                healthy = true;
+                return;
+            } catch (final IOException e) {
+                if (attempt >= this.maxRetries) {
+                    throw new AzureExecutionException(String.format(UPLOAD_FILE_FAILURE, file.getPath(), this.maxRetries), e);
+                }
+                messager.warning(String.format(UPLOAD_FILE_RETRY, file.getPath(), attempt, this.maxRetries, e.getMessage()));
+            } finally {
+                if (Objects.nonNull(client)) {
+                    pool.release(client, healthy);
+                }
+            }
+            TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS * attempt);
+        }
+    }
+
+    private void storeFile(@Nonnull FTPClient client, @Nonnull File file, @Nonnull String target) throws IOException {
+        try (final InputStream is = Files.newInputStream(file.toPath())) {
+            if (!client.storeFile(target, is) || !FTPReply.isPositiveCompletion(client.getReplyCode())) {
+                throw new IOException(String.format("Failed to upload file %s: %s", file.getPath(), StringUtils.trim(client.getReplyString())));
+            }
+        }
+    }
+
+    private static boolean isUnchanged(@Nonnull File file, @Nullable FTPFile remote) {
+        return Objects.nonNull(remote) && Objects.nonNull(remote.getTimestamp()) && remote.getSize() == file.length() &&
+            remote.getTimestamp().getTimeInMillis() >= file.lastModified();
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull String dir) {
+        final String unix = FilenameUtils.separatorsToUnix(dir);
+        return unix.length() > 1 ? StringUtils.removeEnd(unix, "/") : unix;
+    }
+
+    @Nonnull
+    protected FTPClient createClient() throws IOException {
+        final FTPClient ftpClient = new FTPClient();
+        ftpClient.connect(this.ftpServer);
+        if (!ftpClient.login(this.username, this.password)) {
+            ftpClient.disconnect();
+            throw new IOException(String.format("Failed to log in FTP server %s: %s", this.ftpServer, StringUtils.trim(ftpClient.getReplyString())));
+        }
+        ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
+        ftpClient.enterLocalPassiveMode();
+        return ftpClient;
+    }
+
+    /**
+     * logged-in connections, at most {@code size} of which are created lazily.
+     */
+    private class ClientPool implements AutoCloseable {
+        private final BlockingQueue<FTPClient> idle = new LinkedBlockingQueue<>();
+        private final List<FTPClient> all = Collections.synchronizedList(new ArrayList<>());
+        private final int size;
+        private int created;
+
+        ClientPool(int size) {
+            this.size = size;
+        }
+
+        @Nonnull
+        FTPClient borrow() throws IOException, InterruptedException {
+            final FTPClient client = this.idle.poll();
+            if (Objects.nonNull(client)) {
+                return client;
+            }
+            synchronized (this) {
+                if (this.created < this.size) {
+                    this.created++;
+                    try {
+                        final FTPClient newClient = createClient();
+                        this.all.add(newClient);
+                        return newClient;
+                    } catch (final IOException | RuntimeException e) {
+                        this.created--;
+                        throw e;
+                    }
+                }
+            }
+            return this.idle.take();
+        }
+
+        /**
+         * @param healthy false to drop the connection, e.g. after a failed transfer, so that a new one is created.
+         */
+        void release(@Nonnull FTPClient client, boolean healthy) {
+            if (healthy) {
+                this.idle.add(client);
+                return;
+            }
+            disconnect(client);
+            this.all.remove(client);
+            synchronized (this) {
+                this.created--;
+            }
+        }
+
+        @Override
+        public void close() {
+            new ArrayList<>(this.all).forEach(ParallelFTPUploader::disconnect);
+        }
+    }
+
+    private static void disconnect(@Nonnull FTPClient client) {
+        try {
+            if (client.isConnected()) {
+                client.logout();
+                client.disconnect();
+            }
+        } catch (final IOException e) {
+            log.debug("failed to disconnect from FTP server", e);
+        }
+    }
+}
@@ -8,37 +8,108 @@ package com.microsoft.azure.toolkit.lib.legacy.function;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import org.apache.commons.lang3.ArrayUtils;
 
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
 import java.time.Period;
+import java.util.Arrays;
 
 public class AzureStorageHelper {
     private static final int SAS_START_RESERVE_MINUTE = 5;
     private static final String FAIL_TO_DELETE_BLOB = "Fail to delete blob";
     private static final String FAIL_TO_UPLOAD_BLOB = "Fail to upload file as blob";
     private static final String FAIL_TO_GENERATE_BLOB_SAS_TOKEN = "Fail to generate blob sas token";
+    private static final String BLOB_NOT_CHANGED = "Skip uploading as blob '%s' is not changed";
+    private static final long BLOCK_SIZE = 8L * 1024 * 1024;
+    private static final int MAX_CONCURRENCY = 8;
+    private static final long MD5_MAPPING_SIZE = 64L * 1024 * 1024;
 
     public static BlobClient uploadFileAsBlob(final File fileToUpload, final BlobServiceClient blobServiceClient,
             final String containerName, final String blobName) {
+        return uploadFileAsBlob(fileToUpload, blobServiceClient, containerName, blobName, false);
+    }
+
+    /**
+     * upload file as block blob in parallel, the Content-MD5 of the blob is set to the md5 of the file.
+     *
+     * @param skipIfUnchanged skip uploading if the existing blob has the same Content-MD5 as the file.
+     */
+    public static BlobClient uploadFileAsBlob(final File fileToUpload, final BlobServiceClient blobServiceClient,
+            final String containerName, final String blobName, boolean skipIfUnchanged) {
         try {
             final BlobContainerClient blobContainer = blobServiceClient.getBlobContainerClient(containerName);
             blobContainer.createIfNotExists();
 
             final BlobClient blob = blobContainer.getBlobClient(blobName);
-            blob.upload(new FileInputStream(fileToUpload), fileToUpload.length());
+            final byte[] md5 = md5(fileToUpload);
+            if (skipIfUnchanged) {
+                final BlobProperties properties = getPropertiesIfExists(blob);
+                if (properties != null && ArrayUtils.isNotEmpty(properties.getContentMd5()) && Arrays.equals(md5, properties.getContentMd5())) {
+                    AzureMessager.getMessager().info(String.format(BLOB_NOT_CHANGED, blobName));
+                    return blob;
+                }
+            }
+            final ParallelTransferOptions options = new ParallelTransferOptions()
+                .setBlockSizeLong(BLOCK_SIZE)
+                .setMaxSingleUploadSizeLong(BLOCK_SIZE)
+                .setMaxConcurrency(MAX_CONCURRENCY);
+            final BlobHttpHeaders headers = new BlobHttpHeaders().setContentMd5(md5);
+            blob.uploadFromFile(fileToUpload.getAbsolutePath(), options, headers, null, null, null, null);
             return blob;
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new AzureToolkitRuntimeException(FAIL_TO_UPLOAD_BLOB, e);
         }
     }
 
+    @Nullable
+    private static BlobProperties getPropertiesIfExists(final BlobClient blob) {
+        try {
+            return blob.getProperties();
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * compute md5 of file by reading it through memory mapped regions.
+     */
+    static byte[] md5(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += MD5_MAPPING_SIZE) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MD5_MAPPING_SIZE, size - position));
+                digest.update(buffer);
+            }
+        }
+        return digest.digest();
+    }
+
     public static void deleteBlob(final BlobServiceClient blobServiceClient, final String containerName, final String blobName) {
         final BlobContainerClient blobContainer = blobServiceClient.getBlobContainerClient(containerName);
         if (blobContainer.exists()) {
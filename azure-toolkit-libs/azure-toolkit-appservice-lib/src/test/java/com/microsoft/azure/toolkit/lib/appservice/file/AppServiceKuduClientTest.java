@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.policy.FixedDelay;
+import com.azure.core.http.policy.RetryPolicy;
+import com.microsoft.azure.toolkit.lib.appservice.model.UploadProgress;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AppServiceKuduClientTest {
+    private static final int SIZE = 3 * 1024 * 1024 + 17;
+    private static final int MAX_RETRIES = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private HttpServer server;
+    private File zip;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<String> received = new AtomicReference<>();
+    /**
+     * number of requests to fail in the middle of the upload
+     */
+    private int failures;
+
+    @Before
+    public void setUp() throws Exception {
+        final byte[] content = new byte[SIZE];
+        new Random(0).nextBytes(content);
+        this.zip = folder.newFile("app.zip");
+        Files.write(zip.toPath(), content);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/api/deploy/zip", this::handleZipDeploy);
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    private void handleZipDeploy(HttpExchange exchange) throws IOException {
+        try (final InputStream body = exchange.getRequestBody()) {
+            if (requests.incrementAndGet() <= failures) {
+                IOUtils.skipFully(body, 1024 * 1024);
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                received.set(DigestUtils.md5Hex(body));
+                exchange.sendResponseHeaders(200, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * pipeline retrying failed requests like the one of resource managers does.
+     */
+    private AppServiceKuduClient client() {
+        final String host = String.format("http://localhost:%d", server.getAddress().getPort());
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .policies(new RetryPolicy(new FixedDelay(MAX_RETRIES, Duration.ofMillis(10))))
+            .build();
+        return AppServiceKuduClient.getClient(host, pipeline, null);
+    }
+
+    @Test
+    public void testFlexZipDeployRetryAfterMidStreamFailure() throws Exception {
+        this.failures = 1;
+        final List<UploadProgress> progresses = new CopyOnWriteArrayList<>();
+        client().flexZipDeploy(zip, progresses::add);
+
+        Assert.assertEquals(2, requests.get());
+        Assert.assertEquals(DigestUtils.md5Hex(Files.readAllBytes(zip.toPath())), received.get());
+        final UploadProgress last = progresses.get(progresses.size() - 1);
+        Assert.assertEquals(2, last.getAttempt());
+        Assert.assertTrue(last.isCompleted());
+        Assert.assertEquals(SIZE, last.getUploadedBytes());
+        Assert.assertTrue(progresses.stream().anyMatch(p -> p.getAttempt() == 1));
+        Assert.assertTrue("progress is reset on retry", progresses.stream().allMatch(p -> p.getUploadedBytes() <= SIZE));
+    }
+
+    @Test
+    public void testFlexZipDeployRetriedOnlyByPipeline() {
+        this.failures = Integer.MAX_VALUE;
+        final List<UploadProgress> progresses = new CopyOnWriteArrayList<>();
+        Assert.assertThrows(RuntimeException.class, () -> client().flexZipDeploy(zip, progresses::add));
+
+        Assert.assertEquals(MAX_RETRIES + 1, requests.get());
+        Assert.assertEquals(MAX_RETRIES + 1, progresses.get(progresses.size() - 1).getAttempt());
+        Assert.assertTrue(progresses.stream().allMatch(p -> p.getUploadedBytes() <= SIZE));
+    }
+
+    @Test
+    public void testUploadProgress() {
+        final UploadProgress progress = new UploadProgress(2 * 1024 * 1024, 10 * 1024 * 1024, 1000, 1);
+        Assert.assertEquals(2 * 1024 * 1024, progress.getBytesPerSecond());
+        Assert.assertEquals(4, progress.getEta().getSeconds());
+        Assert.assertTrue(progress.toString().contains("(20%)"));
+        Assert.assertTrue(progress.toString().endsWith("about 4s left"));
+    }
+}
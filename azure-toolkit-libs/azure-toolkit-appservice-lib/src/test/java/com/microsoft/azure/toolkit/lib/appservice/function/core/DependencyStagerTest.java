@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class DependencyStagerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private File repository;
+    private File lib;
+    private List<File> dependencies;
+
+    @Before
+    public void setUp() throws Exception {
+        this.repository = folder.newFolder("repository");
+        this.lib = new File(folder.getRoot(), "staging/lib");
+        this.dependencies = Arrays.asList(jar("a.jar", "aaaa"), jar("b.jar", "bbbb"));
+    }
+
+    private File jar(String name, String content) throws IOException {
+        final File file = new File(repository, name);
+        Files.deleteIfExists(file.toPath()); // replace rather than modify, as the staged file may be a hard link to it.
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testStageIncrementally() throws Exception {
+        final DependencyStager.Result first = new DependencyStager().stage(dependencies, lib);
+        Assert.assertEquals(2, first.getLinked().get() + first.getCopied().get());
+        Assert.assertEquals("aaaa", new String(Files.readAllBytes(new File(lib, "a.jar").toPath()), StandardCharsets.UTF_8));
+
+        Files.write(new File(lib, "stale.jar").toPath(), new byte[]{1});
+        final DependencyStager.Result second = new DependencyStager().stage(dependencies, lib);
+        Assert.assertEquals(2, second.getUpToDate().get());
+        Assert.assertEquals(1, second.getRemoved().get());
+        Assert.assertFalse(new File(lib, "stale.jar").exists());
+
+        jar("b.jar", "bbbbbb");
+        final DependencyStager.Result third = new DependencyStager().stage(dependencies, lib);
+        Assert.assertEquals(1, third.getUpToDate().get());
+        Assert.assertEquals("bbbbbb", new String(Files.readAllBytes(new File(lib, "b.jar").toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCopyWithoutHardLink() throws Exception {
+        final DependencyStager.Result result = new DependencyStager().setHardLinkEnabled(false).setConcurrency(1).stage(dependencies, lib);
+        Assert.assertEquals(2, result.getCopied().get());
+        Assert.assertEquals(0, result.getLinked().get());
+        final File a = new File(lib, "a.jar");
+        Assert.assertEquals(dependencies.get(0).lastModified(), a.lastModified());
+
+        Files.write(a.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("aaaa", new String(Files.readAllBytes(dependencies.get(0).toPath()), StandardCharsets.UTF_8));
+        Assert.assertEquals(1, new DependencyStager().setHardLinkEnabled(false).stage(dependencies, lib).getCopied().get());
+    }
+
+    @Test
+    public void testStageNothing() throws Exception {
+        new DependencyStager().stage(dependencies, lib);
+        final DependencyStager.Result result = new DependencyStager().stage(Collections.emptyList(), lib);
+        Assert.assertEquals(2, result.getRemoved().get());
+        Assert.assertEquals(0, Objects.requireNonNull(lib.listFiles()).length);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class FunctionBuildIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private File classesDirectory;
+    private File stagingFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        this.classesDirectory = folder.newFolder("classes");
+        this.stagingFolder = folder.newFolder("staging");
+        write(new File(classesDirectory, "com/example/Function.class"), "function");
+        write(new File(classesDirectory, "com/example/Other.class"), "other");
+    }
+
+    private static void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, FunctionBuildIndex.FunctionEntry> functions(String... nameAndContents) {
+        final Map<String, FunctionBuildIndex.FunctionEntry> result = new TreeMap<>();
+        for (int i = 0; i < nameAndContents.length; i += 2) {
+            final FunctionBuildIndex.FunctionEntry function = new FunctionBuildIndex.FunctionEntry();
+            function.setContent(nameAndContents[i + 1]);
+            function.setBindingTypes(Collections.singletonList("httpTrigger"));
+            function.setBindingEnums(Collections.singletonList("HttpTrigger"));
+            result.put(nameAndContents[i], function);
+        }
+        return result;
+    }
+
+    @Test
+    public void testHashClasses() throws Exception {
+        final Map<String, String> classes = FunctionBuildIndex.hashClasses(classesDirectory);
+        Assert.assertEquals(Arrays.asList("com/example/Function.class", "com/example/Other.class"), Arrays.asList(classes.keySet().toArray()));
+        Assert.assertTrue(FunctionBuildIndex.hashClasses(new File(folder.getRoot(), "missing")).isEmpty());
+        Assert.assertTrue(FunctionBuildIndex.hashClasses(null).isEmpty());
+
+        write(new File(classesDirectory, "com/example/Other.class"), "changed");
+        Assert.assertNotEquals(classes, FunctionBuildIndex.hashClasses(classesDirectory));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        final FunctionBuildIndex index = FunctionBuildIndex.load(stagingFolder);
+        final Map<String, String> classes = FunctionBuildIndex.hashClasses(classesDirectory);
+        Assert.assertFalse(index.isUpToDate("fingerprint", classes));
+
+        Set<String> written = index.update(stagingFolder, "fingerprint", classes, functions("a", "{a}", "b", "{b}"));
+        Assert.assertEquals(2, written.size());
+        Assert.assertEquals("{a}", new String(Files.readAllBytes(new File(stagingFolder, "a/function.json").toPath()), StandardCharsets.UTF_8));
+        Assert.assertTrue(index.isUpToDate("fingerprint", classes));
+        Assert.assertFalse(index.isUpToDate("changed", classes));
+
+        written = index.update(stagingFolder, "fingerprint", classes, functions("a", "{a}", "c", "{c}"));
+        Assert.assertEquals(Collections.singleton("c"), written);
+        Assert.assertFalse(new File(stagingFolder, "b").exists());
+        Assert.assertTrue(new File(stagingFolder, "c/function.json").isFile());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final Map<String, String> classes = FunctionBuildIndex.hashClasses(classesDirectory);
+        final FunctionBuildIndex index = new FunctionBuildIndex();
+        index.update(stagingFolder, "fingerprint", classes, functions("a", "{a}"));
+        index.save(stagingFolder);
+        Assert.assertTrue(FunctionBuildIndex.getIndexFile(stagingFolder).isFile());
+        Assert.assertFalse(new File(stagingFolder, FunctionBuildIndex.getIndexFile(stagingFolder).getName()).exists());
+
+        final FunctionBuildIndex loaded = FunctionBuildIndex.load(stagingFolder);
+        Assert.assertTrue(loaded.isUpToDate("fingerprint", classes));
+        Assert.assertEquals(Collections.singletonList("httpTrigger"), loaded.getBindingTypeList());
+        Assert.assertEquals("HttpTrigger", loaded.getBindingEnumSet().iterator().next().name());
+
+        write(FunctionBuildIndex.getIndexFile(stagingFolder), "invalid");
+        Assert.assertFalse(FunctionBuildIndex.load(stagingFolder).isUpToDate("fingerprint", classes));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function.impl;
+
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotation;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionMethod;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandlerImplTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class BytecodeFunctionScannerTest {
+    private static final String ENTRY_POINTS = AnnotationHandlerImplTest.FunctionEntryPoints.class.getCanonicalName();
+
+    private static File locationOf(Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    /**
+     * functions found from class files should be the same as those found by reflection.
+     */
+    @Test
+    public void testSameAsReflection() throws Exception {
+        final File classes = locationOf(BytecodeFunctionScannerTest.class);
+        final List<FunctionMethod> scanned = new BytecodeFunctionScanner(Arrays.asList(classes, locationOf(FunctionName.class))).scan(classes);
+        final Map<String, FunctionMethod> actual = scanned.stream()
+            .filter(m -> m.getDeclaringTypeName().equals(ENTRY_POINTS))
+            .collect(Collectors.toMap(FunctionMethod::toString, Function.identity()));
+        final Map<String, FunctionMethod> expected = Arrays.stream(AnnotationHandlerImplTest.FunctionEntryPoints.class.getMethods())
+            .filter(m -> m.isAnnotationPresent(FunctionName.class))
+            .map(DefaultFunctionProject::create)
+            .collect(Collectors.toMap(FunctionMethod::toString, Function.identity()));
+
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((name, e) -> {
+            final FunctionMethod a = actual.get(name);
+            Assert.assertEquals(e.getReturnTypeName(), a.getReturnTypeName());
+            assertSameAnnotations(e.getAnnotations(), a.getAnnotations());
+            Assert.assertEquals(e.getParameterAnnotations().size(), a.getParameterAnnotations().size());
+            for (int i = 0; i < e.getParameterAnnotations().size(); i++) {
+                assertSameAnnotations(Arrays.asList(e.getParameterAnnotations().get(i)), Arrays.asList(a.getParameterAnnotations().get(i)));
+            }
+        });
+    }
+
+    @Test
+    public void testCustomBindingMetaAnnotation() throws Exception {
+        final File classes = locationOf(BytecodeFunctionScannerTest.class);
+        final FunctionMethod method = new BytecodeFunctionScanner(Arrays.asList(classes, locationOf(FunctionName.class))).scan(classes).stream()
+            .filter(m -> m.getName().equals(AnnotationHandlerImplTest.EXTENDING_CUSTOM_BINDING_METHOD)).findFirst().orElseThrow(AssertionError::new);
+        final FunctionAnnotation binding = method.getParameterAnnotations().get(0)[0];
+        Assert.assertEquals("TestCustomBinding", binding.getAnnotationClass().getName());
+        final FunctionAnnotation customBinding = binding.getAnnotationClass().getAnnotation("com.microsoft.azure.functions.annotation.CustomBinding");
+        Assert.assertNotNull(customBinding);
+        Assert.assertEquals("customBinding", customBinding.getStringValue("type", true));
+    }
+
+    private static void assertSameAnnotations(List<FunctionAnnotation> expected, List<FunctionAnnotation> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final FunctionAnnotation e = expected.get(i);
+            final FunctionAnnotation a = actual.get(i);
+            Assert.assertEquals(e.getAnnotationClassName(), a.getAnnotationClassName());
+            Assert.assertEquals(e.getAnnotationClass().getName(), a.getAnnotationClass().getName());
+            Assert.assertEquals(toJson(e.getDeclaredAnnotationProperties()), toJson(a.getDeclaredAnnotationProperties()));
+            Assert.assertEquals(toJson(e.getAllAnnotationProperties()), toJson(a.getAllAnnotationProperties()));
+        }
+    }
+
+    private static String toJson(Map<String, Object> properties) {
+        return JsonUtils.toJson(new TreeMap<>(properties));
+    }
+}
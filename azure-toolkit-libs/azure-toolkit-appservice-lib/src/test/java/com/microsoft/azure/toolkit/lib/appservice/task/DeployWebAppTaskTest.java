@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.task;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpResponse;
+import com.microsoft.azure.toolkit.lib.appservice.model.CsmDeploymentStatus;
+import com.microsoft.azure.toolkit.lib.appservice.model.DeployOptions;
+import com.microsoft.azure.toolkit.lib.appservice.model.DeployType;
+import com.microsoft.azure.toolkit.lib.appservice.model.DeploymentBuildStatus;
+import com.microsoft.azure.toolkit.lib.appservice.model.KuduDeploymentResult;
+import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
+import com.microsoft.azure.toolkit.lib.appservice.model.WebAppArtifact;
+import com.microsoft.azure.toolkit.lib.appservice.webapp.WebAppBase;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DeployWebAppTaskTest {
+    /**
+     * "start <file>" and "end <file>" of every deployment in order
+     */
+    private List<String> events;
+    /**
+     * files deployed with restarting the site
+     */
+    private Set<String> restarted;
+    /**
+     * ids of the deployments whose status is tracked
+     */
+    private Set<String> tracked;
+    private Map<String, RuntimeException> failures;
+    /**
+     * number of times to reject the deployment of a file with 409, keyed by file name
+     */
+    private Map<String, AtomicInteger> conflicts;
+    private WebAppBase<?, ?, ?> webApp;
+
+    @Before
+    public void setUp() {
+        this.events = Collections.synchronizedList(new ArrayList<>());
+        this.restarted = ConcurrentHashMap.newKeySet();
+        this.tracked = ConcurrentHashMap.newKeySet();
+        this.failures = new ConcurrentHashMap<>();
+        this.conflicts = new ConcurrentHashMap<>();
+        final Runtime runtime = Mockito.mock(Runtime.class);
+        Mockito.when(runtime.isLinux()).thenReturn(true);
+        this.webApp = Mockito.mock(WebAppBase.class);
+        Mockito.when(this.webApp.getName()).thenReturn("app");
+        Mockito.when(this.webApp.getRuntime()).thenReturn(runtime);
+        Mockito.when(this.webApp.getFormalStatus()).thenReturn(AzResource.FormalStatus.RUNNING);
+        Mockito.when(this.webApp.pushDeploy(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenAnswer(i -> this.pushDeploy(i.getArgument(1), i.getArgument(2)));
+        Mockito.when(this.webApp.getDeploymentStatus(ArgumentMatchers.anyString())).thenAnswer(i -> {
+            final String id = i.getArgument(0);
+            this.tracked.add(id);
+            return CsmDeploymentStatus.builder().deploymentId(id).status(DeploymentBuildStatus.RUNTIME_SUCCESSFUL).build();
+        });
+    }
+
+    @Test
+    public void testIndependentArtifactsDeployedBeforeRestarting() {
+        this.newTask(artifact("app.war", DeployType.WAR), artifact("a.jar", DeployType.JAR_LIB),
+            artifact("b.jar", DeployType.JAR_LIB), artifact("static.zip", DeployType.STATIC)).doExecute();
+
+        final int restarting = this.events.indexOf("start app.war");
+        Assert.assertEquals("the restarting artifact is deployed last", this.events.size() - 2, restarting);
+        Assert.assertEquals(Collections.singleton("app.war"), this.restarted);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("id-app.war", "id-a.jar", "id-b.jar", "id-static.zip")), this.tracked);
+    }
+
+    @Test
+    public void testLastIndependentArtifactRestartsSiteIfNoOthers() {
+        this.newTask(artifact("a.jar", DeployType.JAR_LIB), artifact("static.zip", DeployType.STATIC)).doExecute();
+
+        Assert.assertEquals(Arrays.asList("start a.jar", "end a.jar", "start static.zip", "end static.zip"), this.events);
+        Assert.assertEquals(Collections.singleton("static.zip"), this.restarted);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("id-a.jar", "id-static.zip")), this.tracked);
+    }
+
+    @Test
+    public void testFailuresAggregated() {
+        this.failures.put("a.jar", new IllegalStateException("disk full"));
+        this.failures.put("static.zip", new IllegalStateException("timed out"));
+        final DeployWebAppTask task = this.newTask(artifact("app.war", DeployType.WAR), artifact("a.jar", DeployType.JAR_LIB),
+            artifact("b.jar", DeployType.JAR_LIB), artifact("static.zip", DeployType.STATIC));
+        try {
+            task.doExecute();
+            Assert.fail("failed deployments fail the task");
+        } catch (final RuntimeException e) {
+            // it's wrapped by the exception of operation
+            final Throwable failure = ExceptionUtils.getThrowableList(e).stream()
+                .filter(t -> t.getClass() == AzureToolkitRuntimeException.class).findFirst().orElse(null);
+            Assert.assertNotNull(failure);
+            Assert.assertTrue(failure.getMessage(), failure.getMessage().startsWith("Failed to deploy 2 artifacts"));
+            Assert.assertEquals(1, failure.getSuppressed().length);
+        }
+        Assert.assertTrue("the other artifacts are still deployed", this.events.contains("end b.jar"));
+        Assert.assertFalse("the site is not restarted after failures", this.events.contains("start app.war"));
+        Assert.assertTrue(this.tracked.isEmpty());
+    }
+
+    @Test
+    public void testRetryIfDeploymentInProgress() {
+        this.conflicts.put("a.jar", new AtomicInteger(2));
+        this.conflicts.put("app.war", new AtomicInteger(1));
+        this.newTask(artifact("app.war", DeployType.WAR), artifact("a.jar", DeployType.JAR_LIB), artifact("b.jar", DeployType.JAR_LIB)).doExecute();
+
+        Mockito.verify(this.webApp, Mockito.times(3 + 2 + 1))
+            .pushDeploy(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("id-app.war", "id-a.jar", "id-b.jar")), this.tracked);
+    }
+
+    @Test
+    public void testConflictsRetriedOnlyLimitedTimes() {
+        this.conflicts.put("app.war", new AtomicInteger(Integer.MAX_VALUE));
+        try {
+            this.newTask(artifact("app.war", DeployType.WAR), artifact("a.jar", DeployType.JAR_LIB)).doExecute();
+            Assert.fail("deployment keeps being rejected");
+        } catch (final RuntimeException e) {
+            final HttpResponseException conflict = ExceptionUtils.throwableOfType(e, HttpResponseException.class);
+            Assert.assertNotNull(conflict);
+            Assert.assertEquals(409, conflict.getResponse().getStatusCode());
+        }
+        Mockito.verify(this.webApp, Mockito.times(1 + 6))
+            .pushDeploy(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    private DeployWebAppTask newTask(WebAppArtifact... artifacts) {
+        final DeployWebAppTask task = new DeployWebAppTask(this.webApp, Arrays.asList(artifacts), true, true, false);
+        task.setDeploymentConcurrency(2);
+        task.setDeploymentConflictRetryInterval(0);
+        task.setDeploymentStatusRefreshInterval(1);
+        task.setDeploymentStatusStream(new PrintStream(NullOutputStream.NULL_OUTPUT_STREAM));
+        return task;
+    }
+
+    private KuduDeploymentResult pushDeploy(File file, DeployOptions options) throws InterruptedException {
+        final String name = file.getName();
+        final AtomicInteger conflicts = this.conflicts.get(name);
+        if (conflicts != null && conflicts.getAndDecrement() > 0) {
+            final HttpResponse response = Mockito.mock(HttpResponse.class);
+            Mockito.when(response.getStatusCode()).thenReturn(409);
+            throw new HttpResponseException("There is a deployment currently in progress.", response, null);
+        }
+        this.events.add("start " + name);
+        Thread.sleep(50);
+        this.events.add("end " + name);
+        if (this.failures.containsKey(name)) {
+            throw this.failures.get(name);
+        }
+        if (Boolean.TRUE.equals(options.getRestartSite())) {
+            this.restarted.add(name);
+        }
+        return KuduDeploymentResult.builder().deploymentId("id-" + name).build();
+    }
+
+    private static WebAppArtifact artifact(String file, DeployType type) {
+        return WebAppArtifact.builder().file(new File(file)).deployType(type).build();
+    }
+}
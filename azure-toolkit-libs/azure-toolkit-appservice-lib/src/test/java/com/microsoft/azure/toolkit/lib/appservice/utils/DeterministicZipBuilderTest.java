@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.utils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class DeterministicZipBuilderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private File staging;
+
+    @Before
+    public void setUp() throws Exception {
+        this.staging = folder.newFolder("staging");
+        write("local.settings.json", "{}");
+        write("host.json", "{}");
+        write("lib/b.jar", "bbbb");
+        write("lib/a.jar", "aaaa");
+        write("HttpTrigger/function.json", "{\"bindings\":[]}");
+    }
+
+    private void write(String path, String content) throws IOException {
+        final File file = new File(staging, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DeterministicZipBuilder builder() {
+        return new DeterministicZipBuilder(staging).setExcludes(Collections.singleton("local.settings.json"));
+    }
+
+    @Test
+    public void testBuild() throws Exception {
+        final File zip = folder.newFile("package.zip");
+        builder().build(zip);
+        final List<String> names = new ArrayList<>();
+        try (final ZipFile file = new ZipFile(zip)) {
+            for (final Enumeration<? extends ZipEntry> entries = file.entries(); entries.hasMoreElements(); ) {
+                final ZipEntry entry = entries.nextElement();
+                names.add(entry.getName());
+                if (entry.getName().endsWith(".jar")) {
+                    Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+                } else if (!entry.isDirectory()) {
+                    Assert.assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+                }
+            }
+        }
+        Assert.assertEquals(Arrays.asList("HttpTrigger/", "HttpTrigger/function.json", "host.json", "lib/", "lib/a.jar", "lib/b.jar"), names);
+    }
+
+    @Test
+    public void testDeterministic() throws Exception {
+        final File first = folder.newFile("first.zip");
+        builder().build(first);
+        Assert.assertTrue(new File(staging, "host.json").setLastModified(System.currentTimeMillis() - 60_000));
+        final File second = folder.newFile("second.zip");
+        builder().build(second);
+        Assert.assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+    }
+
+    @Test
+    public void testBuildCached() throws Exception {
+        final File zip = builder().buildCached();
+        final long modified = zip.lastModified();
+        Assert.assertEquals(zip, builder().buildCached());
+        Assert.assertEquals(modified, zip.lastModified());
+
+        write("local.settings.json", "{\"IsEncrypted\":false}"); // excluded
+        Assert.assertEquals(builder().manifest(), builder().manifest());
+        final String manifest = builder().manifest();
+        write("lib/c.jar", "cccc");
+        Assert.assertNotEquals(manifest, builder().manifest());
+        try (final ZipFile file = new ZipFile(builder().buildCached())) {
+            Assert.assertNotNull(file.getEntry("lib/c.jar"));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.legacy.appservice.handlers.artifact;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelFTPUploaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private FTPClient client;
+    private final AtomicInteger created = new AtomicInteger();
+    private ParallelFTPUploader uploader;
+    private File source;
+
+    @Before
+    public void setUp() throws Exception {
+        this.client = Mockito.mock(FTPClient.class);
+        Mockito.when(client.storeFile(ArgumentMatchers.anyString(), ArgumentMatchers.any(InputStream.class))).thenReturn(true);
+        Mockito.when(client.getReplyCode()).thenReturn(226);
+        this.uploader = new ParallelFTPUploader("ftpServer", "username", "password") {
+            @Nonnull
+            @Override
+            protected FTPClient createClient() {
+                created.incrementAndGet();
+                return client;
+            }
+        };
+        this.source = folder.newFolder("staging");
+        write("host.json", "{}");
+        write("lib/a.jar", "aaaa");
+        write("lib/b.jar", "bbbb");
+        write("HttpTrigger/function.json", "{}");
+    }
+
+    private void write(String path, String content) throws IOException {
+        final File file = new File(source, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUploadDirectory() throws Exception {
+        uploader.setConcurrency(2).uploadDirectory(source, "/site/wwwroot");
+        Mockito.verify(client).makeDirectory("/site/wwwroot/lib");
+        Mockito.verify(client).makeDirectory("/site/wwwroot/HttpTrigger");
+        Mockito.verify(client).storeFile(ArgumentMatchers.eq("/site/wwwroot/host.json"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/a.jar"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/b.jar"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client).storeFile(ArgumentMatchers.eq("/site/wwwroot/HttpTrigger/function.json"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client, Mockito.never()).changeWorkingDirectory(ArgumentMatchers.anyString());
+        Assert.assertTrue(created.get() <= 2);
+    }
+
+    @Test
+    public void testRetryFailedFileOnly() throws Exception {
+        Mockito.when(client.storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/a.jar"), ArgumentMatchers.any(InputStream.class)))
+            .thenThrow(new IOException("connection reset")).thenReturn(true);
+        uploader.setConcurrency(1).uploadDirectory(source, "/site/wwwroot");
+        Mockito.verify(client, Mockito.times(2)).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/a.jar"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client, Mockito.times(1)).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/b.jar"), ArgumentMatchers.any(InputStream.class));
+        Assert.assertEquals(2, created.get()); // broken connection is dropped and a new one is created.
+    }
+
+    @Test(expected = AzureExecutionException.class)
+    public void testFailAfterRetries() throws Exception {
+        Mockito.when(client.storeFile(ArgumentMatchers.eq("/site/wwwroot/host.json"), ArgumentMatchers.any(InputStream.class))).thenReturn(false);
+        uploader.setMaxRetries(2).uploadDirectory(source, "/site/wwwroot");
+    }
+
+    @Test
+    public void testDeltaSync() throws Exception {
+        final File a = new File(source, "lib/a.jar");
+        final FTPFile remote = new FTPFile();
+        remote.setName("a.jar");
+        remote.setType(FTPFile.FILE_TYPE);
+        remote.setSize(a.length());
+        final Calendar uploaded = Calendar.getInstance();
+        uploaded.setTimeInMillis(a.lastModified() + 1000);
+        remote.setTimestamp(uploaded);
+        final FTPFile changed = new FTPFile();
+        changed.setName("b.jar");
+        changed.setType(FTPFile.FILE_TYPE);
+        changed.setSize(1);
+        changed.setTimestamp(uploaded);
+        Mockito.when(client.makeDirectory(ArgumentMatchers.anyString())).thenReturn(false);
+        Mockito.when(client.mlistDir(ArgumentMatchers.anyString())).thenReturn(new FTPFile[0]);
+        Mockito.when(client.mlistDir("/site/wwwroot/lib")).thenReturn(new FTPFile[]{remote, changed});
+
+        uploader.setDeltaSync(true).uploadDirectory(source, "/site/wwwroot");
+        Mockito.verify(client, Mockito.never()).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/a.jar"), ArgumentMatchers.any(InputStream.class));
+        Mockito.verify(client).storeFile(ArgumentMatchers.eq("/site/wwwroot/lib/b.jar"), ArgumentMatchers.any(InputStream.class));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.legacy.function;
+
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+
+public class AzureStorageHelperTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private BlobServiceClient service;
+    private BlobClient blob;
+    private File zip;
+
+    @Before
+    public void setUp() throws Exception {
+        this.service = Mockito.mock(BlobServiceClient.class);
+        this.blob = Mockito.mock(BlobClient.class);
+        final BlobContainerClient container = Mockito.mock(BlobContainerClient.class);
+        Mockito.when(service.getBlobContainerClient("container")).thenReturn(container);
+        Mockito.when(container.getBlobClient("blob")).thenReturn(blob);
+        this.zip = folder.newFile("package.zip");
+        Files.write(zip.toPath(), "package".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMd5() throws Exception {
+        final byte[] expected = MessageDigest.getInstance("MD5").digest(Files.readAllBytes(zip.toPath()));
+        Assert.assertArrayEquals(expected, AzureStorageHelper.md5(zip));
+        Assert.assertArrayEquals(MessageDigest.getInstance("MD5").digest(), AzureStorageHelper.md5(folder.newFile("empty.zip")));
+    }
+
+    @Test
+    public void testUploadInParallelWithMd5() throws Exception {
+        AzureStorageHelper.uploadFileAsBlob(zip, service, "container", "blob");
+        final ArgumentCaptor<BlobHttpHeaders> headers = ArgumentCaptor.forClass(BlobHttpHeaders.class);
+        Mockito.verify(blob).uploadFromFile(ArgumentMatchers.eq(zip.getAbsolutePath()), ArgumentMatchers.any(ParallelTransferOptions.class),
+            headers.capture(), ArgumentMatchers.isNull(), ArgumentMatchers.isNull(), ArgumentMatchers.isNull(), ArgumentMatchers.isNull());
+        Assert.assertArrayEquals(AzureStorageHelper.md5(zip), headers.getValue().getContentMd5());
+        Mockito.verify(blob, Mockito.never()).getProperties();
+    }
+
+    @Test
+    public void testSkipUnchangedBlob() throws Exception {
+        final BlobProperties properties = Mockito.mock(BlobProperties.class);
+        Mockito.when(properties.getContentMd5()).thenReturn(AzureStorageHelper.md5(zip));
+        Mockito.when(blob.getProperties()).thenReturn(properties);
+        Assert.assertSame(blob, AzureStorageHelper.uploadFileAsBlob(zip, service, "container", "blob", true));
+        Mockito.verify(blob, Mockito.never()).uploadFromFile(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testUploadChangedOrMissingBlob() throws Exception {
+        final BlobProperties properties = Mockito.mock(BlobProperties.class);
+        Mockito.when(properties.getContentMd5()).thenReturn(new byte[16]);
+        Mockito.when(blob.getProperties()).thenReturn(properties);
+        AzureStorageHelper.uploadFileAsBlob(zip, service, "container", "blob", true);
+
+        final BlobStorageException notFound = Mockito.mock(BlobStorageException.class);
+        Mockito.when(notFound.getStatusCode()).thenReturn(404);
+        Mockito.when(blob.getProperties()).thenThrow(notFound);
+        AzureStorageHelper.uploadFileAsBlob(zip, service, "container", "blob", true);
+        Mockito.verify(blob, Mockito.times(2)).uploadFromFile(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+            ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+}
@@ -20,10 +20,13 @@ import com.azure.identity.implementation.MsalToken;
 import com.azure.identity.implementation.util.ScopeUtil;
 import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.models.Tenant;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.base.Suppliers;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAccount;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.cache.CacheEvict;
+import com.microsoft.azure.toolkit.lib.common.cache.PersistentCache;
 import com.microsoft.azure.toolkit.lib.common.cache.Preloader;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -31,6 +34,7 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
 import com.microsoft.azure.toolkit.lib.common.utils.TextUtils;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import lombok.AccessLevel;
@@ -48,8 +52,10 @@ import reactor.core.publisher.Mono;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -58,6 +64,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Getter
@@ -75,6 +82,10 @@ public abstract class Account implements IAccount {
     private TokenCredential defaultTokenCredential;
     @Getter(AccessLevel.NONE)
     private List<Subscription> subscriptions;
+    @Getter(AccessLevel.NONE)
+    private boolean subscriptionsFromCache;
+    @Getter(AccessLevel.NONE)
+    private Supplier<String> subscriptionsCacheKey;
 
     @Nonnull
     protected abstract TokenCredential buildDefaultTokenCredential();
@@ -95,7 +106,8 @@ public abstract class Account implements IAccount {
 
     void login() {
         this.defaultTokenCredential = this.buildDefaultTokenCredential();
-        this.reloadSubscriptions();
+        this.subscriptionsCacheKey = Suppliers.memoize(this::getSubscriptionsCacheKey); // identity is resolved once per login
+        this.reloadSubscriptions(true);
         this.setupAfterLogin(this.defaultTokenCredential);
         this.config.setType(this.getType());
         this.config.setClient(this.getClientId());
@@ -138,16 +150,36 @@ public abstract class Account implements IAccount {
     @CacheEvict(CacheEvict.ALL)
         // evict all caches on signing out
     void logout() {
+        Optional.ofNullable(this.subscriptionsCacheKey).map(Supplier::get).ifPresent(k -> PersistentCache.getInstance().invalidate(k));
+        this.subscriptionsCacheKey = null;
         this.subscriptions = null;
         this.defaultTokenCredential = null;
     }
 
     public List<Subscription> reloadSubscriptions() {
+        return this.reloadSubscriptions(false);
+    }
+
+    /**
+     * @param cacheFirst use subscriptions persisted by previous processes if
+     *                   {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getEnablePersistentCache() persistent cache} is enabled.
+     */
+    private List<Subscription> reloadSubscriptions(boolean cacheFirst) {
         final List<String> selected = Optional.ofNullable(this.subscriptions).orElse(Collections.emptyList())
             .stream().filter(Subscription::isSelected)
             .map(Subscription::getId)
             .collect(Collectors.toList());
-        this.subscriptions = Optional.ofNullable(this.loadSubscriptions()).orElse(Collections.emptyList()).stream()
+        final String cacheKey = Optional.ofNullable(this.subscriptionsCacheKey).map(Supplier::get).orElse(null);
+        final Duration ttl = Duration.ofSeconds(Azure.az().config().getPersistentCacheTtlInSeconds());
+        final List<Subscription> cached = cacheFirst && Objects.nonNull(cacheKey) ?
+            PersistentCache.getInstance().get(cacheKey, new TypeReference<List<Subscription>>() {
+            }, ttl) : null;
+        this.subscriptionsFromCache = CollectionUtils.isNotEmpty(cached);
+        final List<Subscription> loaded = this.subscriptionsFromCache ? cached : this.loadSubscriptions();
+        if (!this.subscriptionsFromCache && Objects.nonNull(cacheKey) && CollectionUtils.isNotEmpty(loaded)) {
+            PersistentCache.getInstance().put(cacheKey, loaded);
+        }
+        this.subscriptions = Optional.ofNullable(loaded).orElse(Collections.emptyList()).stream()
             .sorted(Comparator.comparing(s -> s.getName().toLowerCase()))
             .collect(Collectors.toList());
         this.subscriptions.stream()
@@ -211,6 +243,9 @@ public abstract class Account implements IAccount {
 
     @Override
     public Subscription getSubscription(String subscriptionId) {
+        if (this.subscriptionsFromCache && this.getSubscriptions().stream().noneMatch(s -> StringUtils.equalsIgnoreCase(subscriptionId, s.getId()))) {
+            this.reloadSubscriptions(false); // cached subscriptions may be outdated.
+        }
         return this.getSubscriptions().stream()
             .filter(s -> StringUtils.equalsIgnoreCase(subscriptionId, s.getId()))
             .findFirst()
@@ -254,6 +289,47 @@ public abstract class Account implements IAccount {
         return isLoggedInCompletely();
     }
 
+    /**
+     * whether subscriptions loaded by {@link #loadSubscriptions()} can be persisted by {@link PersistentCache} and
+     * reused across processes.
+     */
+    protected boolean isSubscriptionsCacheable() {
+        return true;
+    }
+
+    /**
+     * @return key of the persisted subscriptions of the signed-in identity, which is identified by the tenant and
+     * object id claims of its management token, or null if persistent cache is disabled or the identity is unknown.
+     */
+    @Nullable
+    private String getSubscriptionsCacheKey() {
+        if (!BooleanUtils.isTrue(Azure.az().config().getEnablePersistentCache()) || !this.isSubscriptionsCacheable()
+            || Objects.isNull(this.defaultTokenCredential)) {
+            return null;
+        }
+        final String[] scopes = ScopeUtil.resourceToScopes(this.getEnvironment().getManagementEndpoint());
+        final TokenRequestContext request = new TokenRequestContext().addScopes(scopes);
+        try {
+            final String[] parts = Optional.ofNullable(this.defaultTokenCredential.getToken(request).block())
+                .map(AccessToken::getToken).map(t -> t.split("\\.")).orElse(new String[0]);
+            if (parts.length < 2) {
+                return null;
+            }
+            final String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            final Map<String, Object> claims = JsonUtils.fromJson(payload, new TypeReference<Map<String, Object>>() {
+            });
+            final Object tid = claims.get("tid");
+            final Object oid = claims.get("oid");
+            if (Objects.isNull(tid) || Objects.isNull(oid)) {
+                return null;
+            }
+            return String.format("subscriptions/%s/%s/%s", AzureEnvironmentUtils.azureEnvironmentToString(this.getEnvironment()), tid, oid);
+        } catch (final Exception e) {
+            LOGGER.verbose("failed to identify the signed-in account for persistent cache.", e);
+            return null;
+        }
+    }
+
     @Nullable
     protected TokenCachePersistenceOptions getPersistenceOptions() {
         return isPersistenceEnabled() ? PERSISTENCE_OPTIONS : null;
@@ -59,6 +59,11 @@ public class AzureCliAccount extends Account {
         return new ArrayList<>(cliSubs);
     }
 
+    @Override
+    protected boolean isSubscriptionsCacheable() { // subscriptions are listed from local azure cli profile.
+        return false;
+    }
+
     @Override
     protected void setupAfterLogin(TokenCredential defaultTokenCredential) {
         List<Subscription> subscriptions = this.getSubscriptions();
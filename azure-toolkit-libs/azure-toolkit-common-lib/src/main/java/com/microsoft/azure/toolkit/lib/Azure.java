@@ -13,16 +13,24 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.ClassUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,7 +42,7 @@ public class Azure {
         this.configuration = new AzureConfiguration();
     }
 
-    public static synchronized <T extends AzService> T az(final Class<T> clazz) {
+    public static <T extends AzService> T az(final Class<T> clazz) {
         final T service = Optional.ofNullable(getService(clazz)).orElseGet(() -> {
             ServiceManager.reload();
             return getService(clazz);
@@ -45,22 +53,19 @@ public class Azure {
 
     @Nullable
     private static <T extends AzService> T getService(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).findAny().orElse(null);
-    }
-
-    @Nullable
-    private static AzService getService(String provider) {
-        return ServiceManager.getServices().stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).findAny().orElse(null);
+        final List<AzService> services = ServiceManager.getRegistry().getServices(clazz);
+        return services.isEmpty() ? null : clazz.cast(services.get(0));
     }
 
     @Nonnull
     public static List<AzService> getServices(String provider) {
-        return ServiceManager.getServices().stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).collect(Collectors.toList());
+        return ServiceManager.getRegistry().getServices(provider);
     }
 
     @Nonnull
+    @SuppressWarnings("unchecked")
     public static <T extends AzService> List<T> getServices(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+        return (List<T>) ServiceManager.getRegistry().getServices(clazz);
     }
 
     @Nullable
@@ -85,6 +90,35 @@ public class Azure {
         return result;
     }
 
+    /**
+     * get resources by ids in bulk, ids are grouped by provider and resolved by
+     * {@link AbstractAzService#getAllById(Collection)} of the provider's services in turn, e.g. ids of
+     * 'Microsoft.Web/sites' not resolved as web apps are then resolved as function apps.
+     *
+     * @return resources keyed by the given ids, nonexistent resources are excluded.
+     */
+    @Nonnull
+    public Map<String, AbstractAzResource<?, ?, ?>> getAllById(@Nonnull Collection<String> ids) {
+        final Map<String, List<String>> byProvider = ids.stream().distinct().collect(Collectors.groupingBy(id ->
+            Optional.ofNullable(ResourceId.fromString(id).providerNamespace()).orElse("Microsoft.Resources").toLowerCase()));
+        final Map<String, AbstractAzResource<?, ?, ?>> result = new HashMap<>();
+        byProvider.forEach((provider, providerIds) -> {
+            for (final AzService service : getServices(provider)) {
+                final List<String> unresolved = providerIds.stream().filter(id -> !result.containsKey(id)).collect(Collectors.toList());
+                if (unresolved.isEmpty()) {
+                    break;
+                }
+                if (service instanceof AbstractAzService) {
+                    result.putAll(((AbstractAzService<?, ?>) service).getAllById(unresolved));
+                }
+            }
+            providerIds.stream().filter(id -> !result.containsKey(id)) // fallback to AzureResources
+                .forEach(id -> Optional.ofNullable(this.getById(id)).ifPresent(r -> result.put(id, r)));
+        });
+        return ids.stream().distinct().filter(result::containsKey)
+            .collect(Collectors.toMap(id -> id, result::get, (a, b) -> a, LinkedHashMap::new));
+    }
+
     @Nullable
     @AzureOperation(name = "internal/resource.get.id", params = {"id"})
     public AbstractAzResource<?, ?, ?> getOrInitById(String id) {
@@ -115,22 +149,74 @@ public class Azure {
         return this.configuration;
     }
 
+    /**
+     * services are looked up on every resource model operation, so they are kept in an immutable {@link Registry}
+     * indexed by class hierarchy and provider: a lookup is a plain map read of the current registry without locking,
+     * reloading builds a new registry and replaces the current one.
+     */
     private static class ServiceManager {
         private static final ServiceLoader<AzService> loader = ServiceLoader.load(AzService.class, Azure.class.getClassLoader());
-        private static final List<AzService> services = new ArrayList<>();
+        private static volatile Registry registry;
 
-        public static synchronized List<AzService> getServices() {
-            if (services.isEmpty()) {
-                ResourceManagerUtils.InternalRuntimeContext.setDelayProvider(duration -> Duration.ofSeconds(5));
-                reload();
+        @Nonnull
+        public static Registry getRegistry() {
+            final Registry current = registry;
+            if (current != null) {
+                return current;
+            }
+            synchronized (ServiceManager.class) {
+                if (registry == null) {
+                    ResourceManagerUtils.InternalRuntimeContext.setDelayProvider(duration -> Duration.ofSeconds(5));
+                    reload();
+                }
+                return registry;
             }
-            return services;
         }
 
-        public static synchronized void reload() {
-            ServiceManager.loader.reload();
-            services.clear();
-            ServiceManager.loader.forEach(services::add);
+        public static void reload() {
+            final Registry stale = registry;
+            synchronized (ServiceManager.class) {
+                if (stale != registry) { // reloaded by another thread meanwhile
+                    return;
+                }
+                ServiceManager.loader.reload();
+                final List<AzService> services = new ArrayList<>();
+                ServiceManager.loader.forEach(services::add);
+                registry = new Registry(services);
+            }
+        }
+    }
+
+    private static class Registry {
+        private final Map<Class<?>, List<AzService>> byClass = new HashMap<>();
+        private final Map<String, List<AzService>> byProvider = new HashMap<>();
+
+        Registry(@Nonnull List<AzService> services) {
+            for (final AzService service : services) {
+                final Set<Class<?>> types = new LinkedHashSet<>();
+                types.add(service.getClass());
+                types.addAll(ClassUtils.getAllSuperclasses(service.getClass()));
+                types.addAll(ClassUtils.getAllInterfaces(service.getClass()));
+                types.forEach(type -> this.byClass.computeIfAbsent(type, t -> new ArrayList<>()).add(service));
+                Optional.ofNullable(service.getName()).map(Registry::toKey)
+                    .ifPresent(key -> this.byProvider.computeIfAbsent(key, k -> new ArrayList<>()).add(service));
+            }
+            this.byClass.replaceAll((type, list) -> Collections.unmodifiableList(list));
+            this.byProvider.replaceAll((provider, list) -> Collections.unmodifiableList(list));
+        }
+
+        @Nonnull
+        List<AzService> getServices(@Nonnull Class<?> clazz) {
+            return this.byClass.getOrDefault(clazz, Collections.emptyList());
+        }
+
+        @Nonnull
+        List<AzService> getServices(@Nullable String provider) {
+            return provider == null ? Collections.emptyList() : this.byProvider.getOrDefault(toKey(provider), Collections.emptyList());
+        }
+
+        private static String toKey(@Nonnull String provider) {
+            return provider.toLowerCase(Locale.ENGLISH);
         }
     }
 }
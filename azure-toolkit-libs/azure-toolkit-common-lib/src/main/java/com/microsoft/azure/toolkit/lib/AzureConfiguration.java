@@ -41,6 +41,8 @@ public class AzureConfiguration {
     @Nullable
     private SSLContext sslContext;
     private int pageSize = 99;
+    private int subscriptionListingConcurrency = 8;
+    private int subscriptionListingTimeoutInSeconds = 120;
     private List<String> documentsLabelFields = new ArrayList<>(DEFAULT_DOCUMENT_LABEL_FIELDS);
     private int monitorQueryRowNumber = 200;
     private boolean authPersistenceEnabled = true;
@@ -52,6 +54,9 @@ public class AzureConfiguration {
 
     private Boolean enablePreloading = false;
 
+    private Boolean enablePersistentCache = false;
+    private int persistentCacheTtlInSeconds = 3600;
+
     public void setProxyInfo(ProxyInfo proxy) {
         this.setProxySource(proxy.getSource());
         this.setHttpProxyHost(proxy.getHost());
@@ -5,8 +5,6 @@
 
 package com.microsoft.azure.toolkit.lib.common.cache;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import lombok.SneakyThrows;
@@ -19,8 +17,8 @@ import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -28,13 +26,25 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * single value cache. the value is kept in an atomic slot ({@code null} means absent) and concurrent loads/updates are
+ * deduplicated by an in-flight future: only one thread computes, others wait for its result.
+ */
 @Slf4j
 @SuppressWarnings("UnusedReturnValue")
 public class Cache1<T> {
-    private static final ThreadLocal<Stack<Cache1<?>>> caching = ThreadLocal.withInitial(Stack::new);
-    private static final String KEY = "CACHE1_KEY";
+    /**
+     * value slot, {@code null} means no value is cached, {@code Optional.empty()} means {@code null} is cached.
+     */
+    @Nonnull
+    private final AtomicReference<Optional<T>> value = new AtomicReference<>();
     @Nonnull
-    private final LoadingCache<String, Optional<T>> cache;
+    private final AtomicReference<CompletableFuture<Optional<T>>> computing = new AtomicReference<>();
+    /**
+     * thread computing the value currently, used to detect re-entrant calls from {@link #supplier}/update body.
+     */
+    @Nullable
+    private volatile Thread owner;
     @Nonnull
     private final Supplier<T> supplier;
     @Nonnull
@@ -47,7 +57,6 @@ public class Cache1<T> {
 
     public Cache1(@Nonnull Supplier<T> supplier) {
         this.supplier = supplier;
-        this.cache = Caffeine.newBuilder().build(key -> Cache1.this.load());
     }
 
     public Cache1<T> onValueChanged(BiConsumer<T, T> onNewValue) {
@@ -67,7 +76,6 @@ public class Cache1<T> {
         }
         final String originalStatus = Status.LOADING;
         try {
-            caching.get().push(this);
             this.setStatus(originalStatus);
             final T oldValue = this.latest;
             final T newValue = this.latest = supplier.get();
@@ -81,8 +89,6 @@ public class Cache1<T> {
             if (!(root instanceof InterruptedException) && this.compareAndSetStatus(originalStatus, Status.UNKNOWN)) {
                 throw e;
             }
-        } finally {
-            caching.get().pop();
         }
         this.compareAndSetStatus(originalStatus, null);
         // noinspection OptionalAssignedToNull,ReturnOfNull
@@ -93,7 +99,6 @@ public class Cache1<T> {
     private Optional<T> update(@Nonnull Callable<T> body, String status, T oldValue) {
         final String originalStatus = Optional.ofNullable(status).orElse(Status.UPDATING);
         try {
-            caching.get().push(this);
             this.setStatus(originalStatus);
             final T value = this.latest = body.call();
             final Optional<T> result = Optional.ofNullable(value);
@@ -108,14 +113,68 @@ public class Cache1<T> {
             if (this.compareAndSetStatus(originalStatus, Status.UNKNOWN)) {
                 throw (e instanceof AzureToolkitRuntimeException) ? (AzureToolkitRuntimeException) e : new AzureToolkitRuntimeException(e);
             }
-        } finally {
-            caching.get().pop();
         }
         this.compareAndSetStatus(originalStatus, null);
         // noinspection OptionalAssignedToNull,ReturnOfNull
         return null;
     }
 
+    /**
+     * run {@code computation} exclusively and store its result into the value slot.
+     * if {@code replace} is false and another computation is in flight, just wait for its result instead.
+     *
+     * @return result of the computation, {@code null} if the computed value is dropped.
+     */
+    @Nullable
+    @SuppressWarnings("OptionalAssignedToNull")
+    private Optional<T> compute(@Nonnull Supplier<Optional<T>> computation, boolean replace) {
+        final CompletableFuture<Optional<T>> future = new CompletableFuture<>();
+        while (!this.computing.compareAndSet(null, future)) {
+            final CompletableFuture<Optional<T>> inflight = this.computing.get();
+            if (Objects.isNull(inflight)) {
+                continue;
+            }
+            try {
+                final Optional<T> result = inflight.join();
+                if (!replace) {
+                    return result;
+                }
+            } catch (final Throwable ignored) {
+                // failure is reported to the caller of the in-flight computation, compute by self.
+            }
+        }
+        try {
+            final Optional<T> current = this.value.get();
+            if (!replace && current != null) { // loaded by others right before this computation started.
+                future.complete(current);
+                return current;
+            }
+            this.owner = Thread.currentThread();
+            if (replace) {
+                this.value.set(null);
+            }
+            final Optional<T> result = computation.get();
+            if (result != null) {
+                this.value.set(result);
+                if (Objects.isNull(this.status.get())) { // invalidated right after computation finished.
+                    this.value.compareAndSet(result, null);
+                }
+            }
+            future.complete(result);
+            return result;
+        } catch (final Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.owner = null;
+            this.computing.compareAndSet(future, null);
+        }
+    }
+
+    private boolean isComputingByCurrentThread() {
+        return this.owner == Thread.currentThread();
+    }
+
     @Nullable
     @SneakyThrows
     public T update(@Nonnull Callable<T> body, String status) {
@@ -124,15 +183,14 @@ public class Cache1<T> {
             log.debug(Arrays.stream(Thread.currentThread().getStackTrace()).map(t -> "\tat " + t).collect(Collectors.joining("\n")));
             return this.latest;
         }
-        if (caching.get().contains(this)) {
+        if (this.isComputingByCurrentThread()) {
             return body.call();
         }
         final T oldValue = this.getIfPresent();
-        this.cache.invalidate(KEY);
         try {
-            return Optional.ofNullable(this.cache.get(KEY, (key) -> update(body, status, oldValue))).flatMap(o -> o).orElse(null);
+            return Optional.ofNullable(this.compute(() -> update(body, status, oldValue), true)).flatMap(o -> o).orElse(null);
         } catch (final Throwable e) {
-            throw e.getCause();
+            throw Optional.ofNullable(e.getCause()).orElse(e);
         }
     }
 
@@ -152,10 +210,10 @@ public class Cache1<T> {
     @Nullable
     @SuppressWarnings("OptionalAssignedToNull")
     public T getIfPresent(boolean loadIfAbsent) {
-        if (caching.get().contains(this)) {
+        if (this.isComputingByCurrentThread()) {
             return this.latest;
         }
-        final Optional<T> opt = this.cache.getIfPresent(KEY);
+        final Optional<T> opt = this.value.get();
         if (opt == null) {
             if (loadIfAbsent && (StringUtils.equalsAnyIgnoreCase(this.getStatus(), Status.OK, Status.UNKNOWN, null))) {
                 AzureTaskManager.getInstance().runOnPooledThread(this::get);
@@ -166,6 +224,7 @@ public class Cache1<T> {
     }
 
     @Nullable
+    @SuppressWarnings("OptionalAssignedToNull")
     public T get() {
         if (AzureTaskManager.getInstance().isUIThread()) {
             //todo: show error message in debug/test mode
@@ -173,12 +232,15 @@ public class Cache1<T> {
             log.debug(Arrays.stream(Thread.currentThread().getStackTrace()).map(t -> "\tat " + t).collect(Collectors.joining("\n")));
             return this.latest;
         }
-        if (caching.get().contains(this)) {
+        if (this.isComputingByCurrentThread()) {
             return this.latest;
         }
+        final Optional<T> cached = this.value.get();
+        if (cached != null) {
+            return cached.orElse(null);
+        }
         try {
-            final Optional<T> value = this.cache.get(KEY);
-            // noinspection OptionalAssignedToNull
+            final Optional<T> value = this.compute(this::load, false);
             if (value == null) {// value is dropped.
                 return this.latest;
             }
@@ -196,12 +258,12 @@ public class Cache1<T> {
     }
 
     public void invalidate() {
-        if (caching.get().contains(this) || this.isProcessing()) {
+        if (this.isComputingByCurrentThread() || this.isProcessing()) {
             this.status.set(null); // drop loading value.
             return;
         }
         if (this.status.compareAndSet(Status.OK, null) || this.status.compareAndSet(Status.UNKNOWN, null)) {
-            this.cache.invalidateAll();
+            this.value.set(null);
         }
     }
 
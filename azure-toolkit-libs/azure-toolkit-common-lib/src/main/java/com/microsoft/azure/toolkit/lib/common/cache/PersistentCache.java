@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * opt-in file based cache of resource snapshots across processes, e.g. consecutive maven goals. every entry is
+ * stored as a json file named by the sha-256 of its key, along with the time it's written.
+ * entries are written atomically, unreadable entries are treated as missing.
+ */
+@Slf4j
+public class PersistentCache {
+    public static final Path DEFAULT_LOCATION = Paths.get(System.getProperty("user.home"), ".azure", "azure-toolkit-cache");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static PersistentCache instance;
+
+    @Getter
+    @Nonnull
+    private final Path location;
+
+    public PersistentCache(@Nonnull Path location) {
+        this.location = location;
+    }
+
+    @Nonnull
+    public static synchronized PersistentCache getInstance() {
+        if (Objects.isNull(instance)) {
+            instance = new PersistentCache(DEFAULT_LOCATION);
+        }
+        return instance;
+    }
+
+    /**
+     * @return cached value of {@code key} if it's written within {@code ttl}, otherwise null.
+     */
+    @Nullable
+    public <T> T get(@Nonnull String key, @Nonnull TypeReference<T> type, @Nonnull Duration ttl) {
+        final Entry entry = this.read(key);
+        if (Objects.isNull(entry) || System.currentTimeMillis() - entry.getTime() > ttl.toMillis()) {
+            return null;
+        }
+        try {
+            return MAPPER.convertValue(entry.getValue(), type);
+        } catch (final IllegalArgumentException e) {
+            log.debug("failed to convert cached value of {}", key, e);
+            return null;
+        }
+    }
+
+    public void put(@Nonnull String key, @Nonnull Object value) {
+        final Path file = this.getFile(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(this.location);
+            temp = Files.createTempFile(this.location, file.getFileName().toString(), ".tmp");
+            MAPPER.writeValue(temp.toFile(), new Entry(key, System.currentTimeMillis(), MAPPER.valueToTree(value)));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | IllegalArgumentException e) {
+            log.debug("failed to write cache of {}", key, e);
+            this.delete(temp);
+        }
+    }
+
+    public void invalidate(@Nonnull String key) {
+        this.delete(this.getFile(key));
+    }
+
+    public void clear() {
+        if (!Files.isDirectory(this.location)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(this.location)) {
+            files.forEach(this::delete);
+        } catch (final IOException e) {
+            log.debug("failed to clear cache at {}", this.location, e);
+        }
+    }
+
+    @Nullable
+    private Entry read(@Nonnull String key) {
+        final Path file = this.getFile(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final Entry entry = MAPPER.readValue(file.toFile(), Entry.class);
+            return key.equals(entry.getKey()) ? entry : null;
+        } catch (final IOException e) {
+            log.debug("failed to read cache of {}", key, e);
+            return null;
+        }
+    }
+
+    private void delete(@Nullable Path file) {
+        try {
+            if (Objects.nonNull(file)) {
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException e) {
+            log.debug("failed to delete cache file {}", file, e);
+        }
+    }
+
+    @Nonnull
+    private Path getFile(@Nonnull String key) {
+        return this.location.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + ".json");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class Entry {
+        private String key;
+        private long time;
+        private JsonNode value;
+    }
+}
@@ -7,6 +7,7 @@ package com.microsoft.azure.toolkit.lib.common.cache;
 
 import com.microsoft.azure.toolkit.lib.AzService;
 import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.utils.Indexes;
 import lombok.extern.slf4j.Slf4j;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
@@ -17,9 +18,12 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class Preloader {
@@ -28,10 +32,11 @@ public class Preloader {
             "and must be (static or in a singleton class)";
 
     public static Collection<Method> load() {
-        log.debug("Start Scanning for @Preload");
+        log.debug("Start Loading @Preload methods");
+        final long start = System.nanoTime();
         final Set<Method> methods = getPreloadingMethods();
-        log.debug(String.format("Found %d @Preload annotated methods.", methods.size()));
-        log.debug("End Scanning for @Preload");
+        log.debug(String.format("Found %d @Preload annotated methods in %dms.", methods.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        log.debug("End Loading @Preload methods");
         log.debug("Start Preloading");
         methods.forEach((m) -> {
             Object instance = null;
@@ -88,7 +93,34 @@ public class Preloader {
         return null;
     }
 
-    private static Set<Method> getPreloadingMethods() {
+    /**
+     * @return methods listed in {@link Indexes#PRELOAD}, which is generated at compile time for every module, so no
+     * classpath scanning is needed, unless the index is missing, e.g. if the modules are built without annotation processing.
+     */
+    static Set<Method> getPreloadingMethods() {
+        final ClassLoader loader = Preloader.class.getClassLoader();
+        final Set<String> entries = Indexes.read(loader, Indexes.PRELOAD);
+        if (entries.isEmpty()) {
+            log.debug("index of @Preload is not found, fallback to scanning classpath");
+            return scanPreloadingMethods();
+        }
+        final Set<Method> methods = new LinkedHashSet<>();
+        for (final String entry : entries) {
+            final int separator = entry.lastIndexOf('#');
+            try {
+                final Class<?> clazz = Class.forName(entry.substring(0, separator), false, loader);
+                final String name = entry.substring(separator + 1);
+                Arrays.stream(clazz.getDeclaredMethods())
+                    .filter(m -> m.getName().equals(name) && m.isAnnotationPresent(Preload.class))
+                    .forEach(methods::add);
+            } catch (final ClassNotFoundException | LinkageError | StringIndexOutOfBoundsException e) {
+                log.debug(String.format("skip invalid @Preload index entry [%s]", entry), e);
+            }
+        }
+        return methods;
+    }
+
+    static Set<Method> scanPreloadingMethods() {
         final ConfigurationBuilder configuration = new ConfigurationBuilder()
                 .forPackages("com.microsoft.azure.toolkit", "com.microsoft.azuretools")
                 .setScanners(Scanners.MethodsAnnotated);
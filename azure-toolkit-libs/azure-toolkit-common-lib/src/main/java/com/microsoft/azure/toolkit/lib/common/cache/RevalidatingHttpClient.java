@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.Context;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.microsoft.azure.toolkit.lib.Azure;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * decorates http client to persist snapshots of ARM resources by {@link PersistentCache}, keyed by request url, and
+ * revalidate them with conditional GETs ({@code If-None-Match}) in following processes. a {@code 304} response is
+ * replaced with the persisted snapshot, so that the remote objects are built as usual. only responses with an
+ * {@code ETag} are persisted, snapshots are revalidated on every request, so they are never served stale.
+ */
+@Slf4j
+public class RevalidatingHttpClient implements HttpClient {
+    private static final Pattern RESOURCE_PATH = Pattern.compile("^/subscriptions/[^/]+/(resourceGroups|providers)/.+", Pattern.CASE_INSENSITIVE);
+    private static final TypeReference<Snapshot> SNAPSHOT = new TypeReference<Snapshot>() {
+    };
+    private static final int MAX_SNAPSHOT_SIZE = 1024 * 1024;
+
+    private final HttpClient client;
+    private final Supplier<PersistentCache> cache;
+    private final BooleanSupplier enabled;
+
+    /**
+     * snapshots are persisted only if {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getEnablePersistentCache() persistent cache} is enabled.
+     */
+    public RevalidatingHttpClient(@Nonnull HttpClient client) {
+        this(client, PersistentCache::getInstance, () -> BooleanUtils.isTrue(Azure.az().config().getEnablePersistentCache()));
+    }
+
+    RevalidatingHttpClient(@Nonnull HttpClient client, @Nonnull Supplier<PersistentCache> cache, @Nonnull BooleanSupplier enabled) {
+        this.client = client;
+        this.cache = cache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        return this.send(request, Context.NONE);
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request, Context context) {
+        if (!isRevalidatable(request) || !this.enabled.getAsBoolean()) {
+            return this.client.send(request, context);
+        }
+        return Mono.defer(() -> {
+            final String key = "snapshots/" + request.getUrl();
+            final Duration ttl = Duration.ofSeconds(Azure.az().config().getPersistentCacheTtlInSeconds());
+            final Snapshot snapshot = this.cache.get().get(key, SNAPSHOT, ttl);
+            if (Objects.isNull(snapshot)) {
+                return this.client.send(request, context).flatMap(response -> this.onResponse(key, null, response));
+            }
+            // copy, so that the request is still revalidatable if it's retried by the pipeline
+            final HttpRequest conditional = request.copy().setHeader("If-None-Match", snapshot.getEtag());
+            return this.client.send(conditional, context).flatMap(response -> this.onResponse(key, snapshot, response));
+        });
+    }
+
+    @Nonnull
+    private Mono<HttpResponse> onResponse(@Nonnull String key, @Nullable Snapshot snapshot, @Nonnull HttpResponse response) {
+        final int status = response.getStatusCode();
+        if (status == 304 && Objects.nonNull(snapshot)) {
+            log.debug("snapshot of {} is still valid", response.getRequest().getUrl());
+            response.close();
+            return Mono.just(new SnapshotResponse(response, snapshot));
+        }
+        final String etag = response.getHeaderValue("ETag");
+        if (status == 200 && StringUtils.isNotBlank(etag)) {
+            final HttpResponse buffered = response.buffer();
+            return buffered.getBodyAsByteArray().defaultIfEmpty(new byte[0]).map(body -> {
+                if (body.length <= MAX_SNAPSHOT_SIZE) {
+                    this.cache.get().put(key, new Snapshot(etag, response.getHeaderValue("Content-Type"), new String(body, StandardCharsets.UTF_8)));
+                }
+                return buffered;
+            });
+        }
+        if (Objects.nonNull(snapshot)) {
+            this.cache.get().invalidate(key);
+        }
+        return Mono.just(response);
+    }
+
+    private static boolean isRevalidatable(@Nonnull HttpRequest request) {
+        final HttpHeaders headers = request.getHeaders();
+        return request.getHttpMethod() == HttpMethod.GET && RESOURCE_PATH.matcher(request.getUrl().getPath()).matches()
+            && Objects.isNull(headers.getValue("If-None-Match")) && Objects.isNull(headers.getValue("If-Match"));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+        private String etag;
+        private String contentType;
+        private String body;
+    }
+
+    /**
+     * {@code 200} response built from a persisted snapshot and headers of the {@code 304} response.
+     */
+    static class SnapshotResponse extends HttpResponse {
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        SnapshotResponse(@Nonnull HttpResponse notModified, @Nonnull Snapshot snapshot) {
+            this(notModified.getRequest(), 200, new HttpHeaders(notModified.getHeaders()), snapshot.getBody());
+            this.headers.set("ETag", snapshot.getEtag());
+            if (StringUtils.isNotBlank(snapshot.getContentType())) {
+                this.headers.set("Content-Type", snapshot.getContentType());
+            }
+        }
+
+        SnapshotResponse(@Nonnull HttpRequest request, int status, @Nonnull HttpHeaders headers, @Nonnull String body) {
+            super(request);
+            this.status = status;
+            this.headers = headers;
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int getStatusCode() {
+            return this.status;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return this.headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(ByteBuffer.wrap(this.body)));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(this.body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return this.getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just(new String(this.body, charset));
+        }
+    }
+}
@@ -11,20 +11,39 @@ import com.google.common.eventbus.Subscribe;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NonNls;
 import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+@Slf4j
 @SuppressWarnings("UnstableApiUsage")
 public class AzureEventBus {
     @NonNls
-    private static final Map<String, EventBus> buses = new ConcurrentHashMap<>();
+    private static final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private static final Duration DEFAULT_COALESCING_WINDOW = Duration.ofMillis(100);
+
+    static {
+        // emitted for every resource/module after listing, refreshing or bulk operations
+        coalesce("resource.status_changed.resource", DEFAULT_COALESCING_WINDOW);
+        coalesce("module.children_changed.module", DEFAULT_COALESCING_WINDOW);
+    }
 
     public static void on(@Nonnull final String type, @Nonnull EventListener listener) {
         getBus(type).register(listener);
@@ -38,12 +57,49 @@ public class AzureEventBus {
         }
     }
 
+    /**
+     * listen to events of {@code type} in batches, events are delivered one batch per coalescing window if
+     * events of {@code type} are {@link #coalesce(String, Duration) coalesced}, otherwise one by one.
+     */
+    public static void onBatch(@Nonnull final String type, @Nonnull Consumer<List<AzureEvent>> listener) {
+        getChannel(type).batchListeners.add(listener);
+    }
+
+    public static void offBatch(@Nonnull final String type, @Nonnull Consumer<List<AzureEvent>> listener) {
+        getChannel(type).batchListeners.remove(listener);
+    }
+
+    /**
+     * merge events of {@code type} emitted by the same source within {@code window} into the first one, and deliver
+     * them in a batch when the window closes. events of the same source carry the payload of the last one.
+     * events are not coalesced unless enabled by this for their type, except status changes of resources and children
+     * changes of modules, which are coalesced within {@link #DEFAULT_COALESCING_WINDOW} by default.
+     *
+     * @param window null or zero to disable coalescing.
+     */
+    public static void coalesce(@Nonnull final String type, @Nullable Duration window) {
+        getChannel(type).window = Objects.isNull(window) || window.isZero() || window.isNegative() ? null : window;
+    }
+
+    @Nonnull
+    public static EventMetrics getMetrics(@Nonnull final String type) {
+        return getChannel(type).metrics;
+    }
+
+    @Nonnull
+    public static List<EventMetrics> getMetrics() {
+        return channels.values().stream().map(c -> c.metrics).collect(Collectors.toList());
+    }
+
     public static void once(@Nonnull final String type, @Nonnull BiConsumer<Object, Object> listener) {
         final EventBus bus = getBus(type);
         final EventListener[] listeners = new EventListener[1];
+        final AtomicBoolean fired = new AtomicBoolean();
         listeners[0] = new EventListener((e) -> {
-            listener.accept(e.getSource(), e.getPayload());
-            bus.unregister(listeners[0]);
+            if (fired.compareAndSet(false, true)) { // a batch may carry more than one event
+                listener.accept(e.getSource(), e.getPayload());
+                bus.unregister(listeners[0]);
+            }
         });
         bus.register(listeners[0]);
     }
@@ -61,11 +117,136 @@ public class AzureEventBus {
     }
 
     public static <T> void emit(@Nonnull final String type, @Nonnull AzureEvent event) {
-        getBus(type).post(event);
+        getChannel(type).post(event);
     }
 
     private static EventBus getBus(String eventType) {
-        return buses.computeIfAbsent(eventType, (e) -> new AsyncEventBus(command -> Schedulers.boundedElastic().schedule(command)));
+        return getChannel(eventType).bus;
+    }
+
+    private static Channel getChannel(String eventType) {
+        return channels.computeIfAbsent(eventType, Channel::new);
+    }
+
+    /**
+     * events of a type. every listener is called in a pooled thread of its own by {@link #bus}, events are posted to
+     * {@link #bus} one by one, or as an {@link EventBatch} once per window if events of the type are coalesced, so that
+     * a listener is called once per batch instead of once per event.
+     */
+    private static class Channel {
+        private final EventBus bus;
+        private final EventMetrics metrics;
+        private final List<Consumer<List<AzureEvent>>> batchListeners = new CopyOnWriteArrayList<>();
+        private final Map<SourceKey, PendingEvent> pending = new LinkedHashMap<>();
+        @Nullable
+        private volatile Duration window;
+        private boolean flushScheduled;
+
+        Channel(@Nonnull String type) {
+            this.metrics = new EventMetrics(type);
+            this.bus = new AsyncEventBus(type, this::deliver);
+        }
+
+        /**
+         * runs a delivery to a listener in a pooled thread, tracked by {@link EventMetrics#getQueueDepth()} till it's finished.
+         */
+        private void deliver(@Nonnull Runnable delivery) {
+            this.metrics.onQueued();
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    delivery.run();
+                } finally {
+                    this.metrics.onDequeued();
+                }
+            });
+        }
+
+        void post(@Nonnull AzureEvent event) {
+            final Duration window = this.window;
+            if (Objects.isNull(window)) {
+                this.metrics.onEmitted(false);
+                this.dispatch(Collections.singletonList(new PendingEvent(event, System.nanoTime())));
+                return;
+            }
+            synchronized (this) {
+                final SourceKey key = new SourceKey(event.getSource());
+                final PendingEvent existing = this.pending.get(key);
+                this.metrics.onEmitted(Objects.nonNull(existing));
+                if (Objects.isNull(existing)) {
+                    this.metrics.onQueued();
+                }
+                this.pending.put(key, Objects.isNull(existing) ? new PendingEvent(event, System.nanoTime()) : new PendingEvent(event, existing.emittedAt));
+                if (!this.flushScheduled) {
+                    this.flushScheduled = true;
+                    Schedulers.boundedElastic().schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        private void flush() {
+            final List<PendingEvent> batch;
+            synchronized (this) {
+                batch = new ArrayList<>(this.pending.values());
+                this.pending.clear();
+                this.flushScheduled = false;
+            }
+            if (!batch.isEmpty()) {
+                this.dispatch(batch);
+                batch.forEach(e -> this.metrics.onDequeued());
+            }
+        }
+
+        private void dispatch(@Nonnull List<PendingEvent> batch) {
+            final List<AzureEvent> events = batch.stream().map(e -> e.event).collect(Collectors.toList());
+            this.bus.post(events.size() == 1 ? events.get(0) : new EventBatch(events));
+            batch.forEach(e -> this.metrics.onDispatched(e.emittedAt));
+            if (!this.batchListeners.isEmpty()) {
+                for (final Consumer<List<AzureEvent>> listener : this.batchListeners) {
+                    this.deliver(() -> {
+                        try {
+                            listener.accept(events);
+                        } catch (final Throwable t) {
+                            log.warn("failed to deliver events of {} to batch listener", this.metrics.getType(), t);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * events coalesced in a window, posted to {@link Channel#bus} at once.
+     */
+    @RequiredArgsConstructor
+    private static class EventBatch {
+        @Nonnull
+        private final List<AzureEvent> events;
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingEvent {
+        @Nonnull
+        private final AzureEvent event;
+        private final long emittedAt;
+    }
+
+    /**
+     * identity of an event source, sources are compared by reference.
+     */
+    @RequiredArgsConstructor
+    private static class SourceKey {
+        @Nullable
+        private final Object source;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SourceKey && ((SourceKey) o).source == this.source;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.source);
+        }
     }
 
     @RequiredArgsConstructor
@@ -78,6 +259,11 @@ public class AzureEventBus {
         public void onEvent(@Nonnull AzureEvent event) {
             this.listener.accept(event);
         }
+
+        @Subscribe
+        public void onEvents(@Nonnull EventBatch batch) {
+            batch.events.forEach(this.listener);
+        }
     }
 
     @Getter
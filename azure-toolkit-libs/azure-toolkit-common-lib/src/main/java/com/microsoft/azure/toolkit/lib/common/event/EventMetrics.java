@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * delivery metrics of events of a type in {@link AzureEventBus}. latency is measured from when an event is emitted
+ * (the first emission if it's coalesced) till it's dispatched to listeners, each of which is called asynchronously.
+ */
+@RequiredArgsConstructor
+public class EventMetrics {
+    @Getter
+    @Nonnull
+    private final String type;
+    private final AtomicLong emitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    void onEmitted(boolean merged) {
+        this.emitted.incrementAndGet();
+        if (merged) {
+            this.coalesced.incrementAndGet();
+        }
+    }
+
+    void onQueued() {
+        this.queueDepth.incrementAndGet();
+    }
+
+    void onDequeued() {
+        this.queueDepth.decrementAndGet();
+    }
+
+    void onDispatched(long emittedAt) {
+        final long latency = System.nanoTime() - emittedAt;
+        this.dispatched.incrementAndGet();
+        this.totalLatency.addAndGet(latency);
+        this.maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    public long getEmitted() {
+        return this.emitted.get();
+    }
+
+    /**
+     * @return number of emitted events merged into pending events of the same source.
+     */
+    public long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    public long getDispatched() {
+        return this.dispatched.get();
+    }
+
+    /**
+     * @return number of events waiting for their coalescing window to close, plus number of deliveries to listeners
+     * scheduled but not finished yet, a delivery carries one event, or a batch of events if they are coalesced.
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    @Nonnull
+    public Duration getAverageLatency() {
+        final long dispatched = this.dispatched.get();
+        return Duration.ofNanos(dispatched == 0 ? 0 : this.totalLatency.get() / dispatched);
+    }
+
+    @Nonnull
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(this.maxLatency.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: emitted=%d, coalesced=%d, dispatched=%d, queued=%d, avgLatency=%dms, maxLatency=%dms",
+            this.type, this.getEmitted(), this.getCoalesced(), this.getDispatched(), this.getQueueDepth(),
+            this.getAverageLatency().toMillis(), this.getMaxLatency().toMillis());
+    }
+}
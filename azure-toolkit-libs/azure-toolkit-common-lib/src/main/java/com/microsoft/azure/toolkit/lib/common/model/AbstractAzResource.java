@@ -14,7 +14,7 @@ import com.microsoft.azure.toolkit.lib.common.cache.Cache1;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
-import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
+import com.microsoft.azure.toolkit.lib.common.utils.TimerWheelDebouncer;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import com.microsoft.azure.toolkit.lib.resource.GenericResourceModule;
 import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
@@ -58,7 +58,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     @ToString.Include
     private final AtomicReference<String> status;
     @Nonnull
-    private final Debouncer fireEvents = new TailingDebouncer(this::fireStatusChangedEvent, 300);
+    private final Debouncer fireEvents = new TimerWheelDebouncer(this::fireStatusChangedEvent, 300);
 
     protected AbstractAzResource(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull AbstractAzResourceModule<T, P, R> module) {
         this.name = name;
@@ -120,7 +120,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     protected final R loadRemoteFromAzure() {
         log.debug("[{}:{}]:loadRemote()", this.module.getName(), this.getName());
         try {
-            return this.getModule().loadResourceFromAzure(this.getName(), this.getResourceGroupName());
+            return this.getModule().throttled(() -> this.getModule().loadResourceFromAzure(this.getName(), this.getResourceGroupName()));
         } catch (final Exception e) {
             log.debug("[{}:{}]:loadRemote()=EXCEPTION", this.module.getName(), this.getName(), e);
             if (isNotFoundException(e)) {
@@ -22,8 +22,9 @@ import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeExcep
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.common.throttling.RequestGovernor;
 import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
-import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
+import com.microsoft.azure.toolkit.lib.common.utils.TimerWheelDebouncer;
 import com.microsoft.azure.toolkit.lib.resource.GenericResource;
 import com.microsoft.azure.toolkit.lib.resource.GenericResourceModule;
 import com.microsoft.azure.toolkit.lib.resource.ResourceDeployment;
@@ -38,26 +39,31 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource.isNotFoundException;
@@ -69,6 +75,19 @@ import static com.microsoft.azure.toolkit.lib.common.model.AzResource.RESOURCE_G
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P, R>, P extends AzResource, R>
     implements AzResourceModule<T> {
+    /**
+     * max number of continuation pages prefetched ahead of consumers in {@link #listStream()}
+     */
+    private static final int PREFETCH_PAGES = 2;
+    /**
+     * min number of uncached resources to resolve by listing the whole module in {@link #getAll(Collection)}
+     */
+    private static final int BULK_LISTING_THRESHOLD = 5;
+    /**
+     * max number of pages listed by {@link #getAll(Collection)}, the uncached that are not listed are loaded one by one.
+     */
+    private static final int BULK_LISTING_MAX_PAGES = 5;
+    private static final int BULK_LOADING_CONCURRENCY = 8;
     @Getter
     @Nonnull
     @ToString.Include
@@ -82,11 +101,11 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     @ToString.Include
     protected final AtomicLong syncTimeRef = new AtomicLong(-1);
     @Nonnull
-    protected final Map<String, Optional<T>> resources = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final Map<String, T> tempResources = Collections.synchronizedMap(new LinkedHashMap<>());
+    protected final ResourceStore<T> resources = new ResourceStore<>();
+    private final Map<String, T> tempResources = new ConcurrentHashMap<>();
 
     @Nonnull
-    private final Debouncer fireEvents = new TailingDebouncer(this::fireChildrenChangedEvent, 300);
+    private final Debouncer fireEvents = new TimerWheelDebouncer(this::fireChildrenChangedEvent, 300);
     private final Lock lock = new ReentrantLock();
     private Iterator<? extends ContinuablePage<String, R>> pages;
 
@@ -102,15 +121,14 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:invalidateCache()", this.name);
         if (this.lock.tryLock()) {
             try {
-                this.resources.entrySet().removeIf(e -> !e.getValue().isPresent());
+                this.resources.removeAbsent();
                 this.syncTimeRef.set(-1);
             } finally {
                 this.lock.unlock();
             }
         }
         log.debug("[{}]:invalidateCache->resources.invalidateCache()", this.name);
-        final Collection<Optional<T>> values = new ArrayList<>(this.resources.values());
-        values.forEach(v -> v.ifPresent(AbstractAzResource::invalidateCache));
+        this.resources.values().forEach(AbstractAzResource::invalidateCache);
     }
 
     @Nonnull
@@ -136,7 +154,63 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             }
         }
         log.debug("[{}]:list->this.resources.values()", this.name);
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+        return this.resources.values();
+    }
+
+    /**
+     * list resources as a stream. continuation pages are prefetched in background and every loaded page is published
+     * into local cache right away, so {@link #listCachedResources()} sees partial results while listing is in progress.
+     * resources are emitted from local cache if they are already loaded or being loaded by others. listing is restarted
+     * by next {@link #list()} if the stream is cancelled or failed.
+     */
+    @Nonnull
+    public Flux<T> listStream() {
+        log.debug("[{}]:listStream()", this.name);
+        return Flux.defer(() -> {
+            if (isAuthRequiredForListing()) {
+                Azure.az(IAzureAccount.class).account();
+            }
+            if (this.parent instanceof AbstractAzResource && ((AbstractAzResource<?, ?, ?>) this.parent).isDraftForCreating()) {
+                log.debug("[{}]:listStream->parent.isDraftForCreating()=true", this.name);
+                return Flux.empty();
+            }
+            if (!this.syncTimeRef.compareAndSet(-1, 0)) { // loaded or being loaded.
+                log.debug("[{}]:listStream->this.list()", this.name);
+                return Flux.defer(() -> Flux.fromIterable(this.list())).subscribeOn(Schedulers.boundedElastic());
+            }
+            log.debug("[{}]:listStream->loadResourceStreamFromAzure()", this.name);
+            final Set<String> loaded = ConcurrentHashMap.newKeySet();
+            return this.loadResourceStreamFromAzure()
+                .subscribeOn(Schedulers.boundedElastic())
+                .publishOn(Schedulers.boundedElastic(), PREFETCH_PAGES)
+                .onErrorResume(AbstractAzResource::isNotFoundException, e -> {
+                    log.debug("[{}]:listStream->loadResourceStreamFromAzure()=SC_NOT_FOUND", this.name, e);
+                    return Flux.empty();
+                })
+                .concatMapIterable(page -> {
+                    loaded.addAll(page.keySet());
+                    this.mergeResources(page);
+                    fireEvents.debounce();
+                    return page.keySet().stream().map(this.resources::get)
+                        .filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+                })
+                .doOnComplete(() -> {
+                    log.debug("[{}]:listStream->removeStaleResources(xxx)", this.name);
+                    this.removeStaleResources(loaded);
+                    this.pages = Collections.emptyIterator();
+                    this.syncTimeRef.set(System.currentTimeMillis());
+                    fireEvents.debounce();
+                })
+                .doOnError(e -> { // before the error is propagated, so that subscribers see the module not loaded.
+                    log.debug("[{}]:listStream->loadResourceStreamFromAzure()=EXCEPTION", this.name, e);
+                    this.resources.clear();
+                    this.syncTimeRef.set(-1);
+                })
+                .doOnCancel(() -> { // only part of the resources are loaded.
+                    log.debug("[{}]:listStream->CANCEL", this.name);
+                    this.syncTimeRef.set(-1);
+                });
+        });
     }
 
     private void reloadResources() {
@@ -144,7 +218,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         this.syncTimeRef.set(0);
         try {
             log.debug("[{}]:reloadResources->loadResourcePagesFromAzure()", this.name);
-            final Map<String, R> loadedResources = getResourcesFromAzure();
+            final Map<String, R> loadedResources = this.throttled(this::getResourcesFromAzure);
             log.debug("[{}]:reloadResources->setResources(xxx)", this.name);
             this.setResources(loadedResources);
         } catch (final Exception e) {
@@ -162,8 +236,23 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     protected Map<String, R> getResourcesFromAzure() {
-        this.pages = this.loadResourcePagesFromAzure();
+        this.pages = new ThrottledPages(this.loadResourcePagesFromAzure());
         final ContinuablePage<String, R> page = pages.hasNext() ? pages.next() : new ItemPage<>(Collections.emptyList());
+        return this.toResourceMap(page);
+    }
+
+    /**
+     * load resources from azure page by page, used by {@link #listStream()}.
+     * pages are loaded lazily on demand of subscribers.
+     */
+    @Nonnull
+    protected Flux<Map<String, R>> loadResourceStreamFromAzure() {
+        final Iterable<ContinuablePage<String, R>> pages = () -> new ThrottledPages(this.throttled(this::loadResourcePagesFromAzure));
+        return Flux.defer(() -> Flux.fromIterable(pages)).map(this::toResourceMap);
+    }
+
+    @Nonnull
+    private Map<String, R> toResourceMap(@Nonnull ContinuablePage<String, R> page) {
         return page.getElements().stream()
             .collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
     }
@@ -176,8 +265,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
                 this.reloadResources();
             } else if (this.pages.hasNext()) {
                 final ContinuablePage<String, R> page = this.pages.next();
-                final Map<String, R> loadedResources = page.getElements().stream()
-                    .collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
+                final Map<String, R> loadedResources = this.toResourceMap(page);
                 log.debug("[{}]:loadMoreResources->addResources(xxx)", this.name);
                 this.addResources(loadedResources);
                 fireEvents.debounce();
@@ -192,32 +280,47 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     private void setResources(Map<String, R> loadedResources) {
-        final Set<String> localResources = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
+        this.removeStaleResources(loadedResources.keySet());
+        this.mergeResources(loadedResources);
+        this.syncTimeRef.set(System.currentTimeMillis());
+    }
+
+    /**
+     * remove local resources that are not in {@code loadedIds}, except those being created.
+     */
+    private void removeStaleResources(Set<String> loadedIds) {
+        final Set<String> localResources = this.resources.values().stream()
             .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
-        final Set<String> creating = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
+        final Set<String> creating = this.resources.values().stream()
             .filter(AbstractAzResource::isDraftForCreating)
             .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
         log.debug("[{}]:reload().creating={}", this.name, creating);
-        final Sets.SetView<String> refreshed = Sets.intersection(localResources, loadedResources.keySet());
-        log.debug("[{}]:reload().refreshed={}", this.name, refreshed);
-        final Sets.SetView<String> deleted = Sets.difference(Sets.difference(localResources, loadedResources.keySet()), creating);
+        final Sets.SetView<String> deleted = Sets.difference(Sets.difference(localResources, loadedIds), creating);
         log.debug("[{}]:reload().deleted={}", this.name, deleted);
-        final Sets.SetView<String> added = Sets.difference(loadedResources.keySet(), localResources);
-        log.debug("[{}]:reload().added={}", this.name, added);
         log.debug("[{}]:reload.deleted->deleteResourceFromLocal", this.name);
-        deleted.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> {
+        deleted.forEach(id -> this.resources.get(id).ifPresent(r -> {
             r.deleteFromCache();
             r.setRemote(null);
         }));
+    }
 
+    /**
+     * refresh local resources with loaded remotes and add the newly loaded into local cache.
+     */
+    private void mergeResources(Map<String, R> loadedResources) {
+        final Set<String> localResources = this.resources.values().stream()
+            .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
+        final Sets.SetView<String> refreshed = Sets.intersection(localResources, loadedResources.keySet());
+        log.debug("[{}]:reload().refreshed={}", this.name, refreshed);
+        final Sets.SetView<String> added = Sets.difference(loadedResources.keySet(), localResources);
+        log.debug("[{}]:reload().added={}", this.name, added);
         final AzureTaskManager m = AzureTaskManager.getInstance();
         log.debug("[{}]:reload.refreshed->resource.setRemote", this.name);
-        refreshed.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
+        refreshed.forEach(id -> this.resources.get(id).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
         log.debug("[{}]:reload.added->addResourceToLocal", this.name);
         final Map<String, R> newResources = new HashMap<>();
         added.forEach(id -> newResources.put(id, loadedResources.get(id)));
         addResources(newResources);
-        this.syncTimeRef.set(System.currentTimeMillis());
     }
 
     protected void addResources(Map<String, R> loadedResources) {
@@ -262,7 +365,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             R remote = null;
             try {
                 log.debug("[{}]:get({}, {})->loadResourceFromAzure()", this.name, name, resourceGroup);
-                remote = loadResourceFromAzure(name, resourceGroup);
+                remote = this.throttled(() -> loadResourceFromAzure(name, resourceGroup));
             } catch (final Exception e) {
                 log.debug("[{}]:get({}, {})->loadResourceFromAzure()=EXCEPTION", this.name, name, resourceGroup, e);
                 final Throwable cause = e instanceof HttpResponseException ? e : ExceptionUtils.getRootCause(e);
@@ -284,7 +387,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             }
         }
         log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
-        return this.resources.getOrDefault(id, Optional.empty()).orElse(null);
+        return this.resources.get(id).orElse(null);
     }
 
     @Nullable
@@ -294,6 +397,47 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         return this.get(id.name(), id.resourceGroupName());
     }
 
+    /**
+     * get resources of this module by ids in bulk, nonexistent resources are excluded from the result.
+     * if many of them are not cached, they are resolved by listing (at most {@link #BULK_LISTING_MAX_PAGES} pages of)
+     * the module instead of being loaded one by one, otherwise the uncached are loaded concurrently.
+     */
+    @Nonnull
+    public List<T> getAll(@Nonnull Collection<String> resourceIds) {
+        log.debug("[{}]:getAll({})", this.name, resourceIds);
+        final List<String> ids = resourceIds.stream().distinct().collect(Collectors.toList());
+        List<String> missing = ids.stream().filter(id -> !this.resources.containsKey(id.toLowerCase())).collect(Collectors.toList());
+        final Set<String> absent = new HashSet<>();
+        if (missing.size() >= this.getBulkListingThreshold() && this.syncTimeRef.get() == -1) {
+            log.debug("[{}]:getAll->this.list()", this.name);
+            this.list();
+            for (int pages = 1; pages < BULK_LISTING_MAX_PAGES && this.hasMoreResources(); pages++) {
+                this.loadMoreResources();
+            }
+            missing = missing.stream().filter(id -> !this.resources.containsKey(id.toLowerCase())).collect(Collectors.toList());
+            if (this.syncTimeRef.get() > 0 && !this.hasMoreResources()) { // the whole module is listed, the rest are not of this module.
+                absent.addAll(missing);
+                if (!this.isResourceTypeShared()) { // the rest don't exist only if no other module has the same resource type.
+                    missing.forEach(id -> this.addResourceToLocal(id, null, true));
+                }
+                missing = Collections.emptyList();
+            }
+        }
+        if (missing.size() > 1) {
+            log.debug("[{}]:getAll->this.get({}) concurrently", this.name, missing);
+            Flux.fromIterable(missing)
+                .flatMap(id -> Mono.fromRunnable(() -> this.get(id)).subscribeOn(Schedulers.boundedElastic())
+                    .onErrorResume(e -> { // will be thrown when getting it again below.
+                        log.debug("[{}]:getAll->this.get({})=EXCEPTION", this.name, id, e);
+                        return Mono.empty();
+                    }), BULK_LOADING_CONCURRENCY)
+                .blockLast();
+        }
+        return ids.stream().filter(id -> !absent.contains(id))
+            .map(id -> this.resources.containsKey(id.toLowerCase()) ? this.resources.get(id.toLowerCase()).orElse(null) : this.get(id))
+            .filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     @Override
     public boolean exists(@Nonnull String name, @Nullable String rgName) {
         final String resourceGroup = normalizeResourceGroupName(name, rgName);
@@ -350,13 +494,24 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
 
     @Nonnull
     public List<T> listCachedResources() { // getResources
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+        return this.resources.values();
     }
 
     @Nonnull
     public List<T> listByResourceGroup(@Nonnull String resourceGroup) {
         log.debug("[{}]:listByResourceGroupName({})", this.name, resourceGroup);
-        return this.list().stream().filter(r -> r.getResourceGroupName().equalsIgnoreCase(resourceGroup)).collect(Collectors.toList());
+        this.list();
+        return this.resources.listByResourceGroup(resourceGroup);
+    }
+
+    /**
+     * @return resources named {@code name} (ignoring case) in any resource group, looked up from the name index.
+     */
+    @Nonnull
+    public List<T> listByName(@Nonnull String name) {
+        log.debug("[{}]:listByName({})", this.name, name);
+        this.list();
+        return this.resources.listByName(name);
     }
 
     @Nonnull
@@ -457,7 +612,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:deleteResourceFromLocal->this.resources.remove({})", this.name, id);
         id = id.toLowerCase();
         final Optional<T> removed = this.resources.remove(id);
-        if (Objects.nonNull(removed) && removed.isPresent()) {
+        if (removed.isPresent()) {
             this.deleteResourceFromLocalResourceGroup(removed.get(), silent);
             if ((silent.length == 0 || !silent[0])) {
                 log.debug("[{}]:deleteResourceFromLocal->fireResourcesChangedEvent()", this.name);
@@ -479,11 +634,9 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     protected void addResourceToLocal(@Nonnull String id, @Nullable T resource, boolean... silent) {
         log.debug("[{}]:addResourceToLocal({}, {})", this.name, id, resource);
         id = id.toLowerCase();
-        final Optional<T> oldResource = this.resources.getOrDefault(id, Optional.empty());
         final Optional<T> newResource = Optional.ofNullable(resource);
-        if (!oldResource.isPresent()) {
-            log.debug("[{}]:addResourceToLocal->this.resources.put({}, {})", this.name, id, resource);
-            this.resources.put(id, newResource);
+        log.debug("[{}]:addResourceToLocal->this.resources.putIfNotPresent({}, {})", this.name, id, resource);
+        if (this.resources.putIfNotPresent(id, newResource)) {
             if (newResource.isPresent()) {
                 this.addResourceToLocalResourceGroup(id, resource, silent);
                 if (silent.length == 0 || !silent[0]) {
@@ -551,8 +704,8 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             log.debug("[{}]:loadResourceFromAzure->client.getByName({})", this.name, name);
             return this.<SupportsGettingByName<R>>cast(client).getByName(name);
         } else { // fallback to filter the named resource from all resources in current module.
-            log.debug("[{}]:loadResourceFromAzure->this.list().filter({}).getRemote()", this.name, name);
-            return this.list().stream().filter(r -> StringUtils.equals(name, r.getName())).findAny().map(AbstractAzResource::getRemote).orElse(null);
+            log.debug("[{}]:loadResourceFromAzure->this.listByName({}).getRemote()", this.name, name);
+            return this.listByName(name).stream().filter(r -> StringUtils.equals(name, r.getName())).findAny().map(AbstractAzResource::getRemote).orElse(null);
         }
     }
 
@@ -566,6 +719,17 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         }
     }
 
+    /**
+     * run ARM request {@code body} through the {@link RequestGovernor} of current subscription.
+     * services are not throttled since they only load subscriptions, neither are data plane modules.
+     */
+    protected <V> V throttled(@Nonnull Supplier<V> body) {
+        if (this instanceof AzService || !this.isManagementPlane()) {
+            return body.get();
+        }
+        return RequestGovernor.forSubscription(this.getSubscriptionId()).execute(body);
+    }
+
     private String normalizeResourceGroupName(String name, @Nullable String rgName) {
         rgName = StringUtils.firstNonBlank(rgName, this.getParent().getResourceGroupName());
         if (StringUtils.isBlank(rgName) || StringUtils.equalsIgnoreCase(rgName, RESOURCE_GROUP_PLACEHOLDER)) {
@@ -625,6 +789,31 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         return (D) origin;
     }
 
+    /**
+     * whether other modules have resources of the same resource type, e.g. web apps and function apps are both
+     * 'Microsoft.Web/sites' told apart by kind. a resource not listed by such module may still exist, so it's never
+     * cached as nonexistent by {@link #getAll(Collection)}.
+     */
+    protected boolean isResourceTypeShared() {
+        return false;
+    }
+
+    /**
+     * min number of uncached resources requested by {@link #getAll(Collection)} to resolve them by listing the module,
+     * modules whose single resource lookup is much cheaper than listing may override it.
+     */
+    protected int getBulkListingThreshold() {
+        return BULK_LISTING_THRESHOLD;
+    }
+
+    /**
+     * whether resources of this module are managed through ARM, data plane modules (e.g. blob containers, documents)
+     * talk to the service endpoints directly and should override it to return false.
+     */
+    protected boolean isManagementPlane() {
+        return true;
+    }
+
     public static int getPageSize() {
         return Azure.az().config().getPageSize();
     }
@@ -636,4 +825,40 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     protected boolean isAuthRequiredForResource(@Nonnull String resourceId) {
         return !StringUtils.equalsAnyIgnoreCase(ResourceId.fromString(resourceId).subscriptionId(), Subscription.NONE.getId());
     }
+
+    /**
+     * pages of resources, every page is fetched by a single {@link #throttled} request. paged iterator may send the
+     * request in either {@code hasNext()} or {@code next()}, so the page is fetched in {@code hasNext()} and buffered
+     * until {@code next()}, then asking again if there are more pages (e.g. {@link #hasMoreResources()} in UI thread)
+     * doesn't wait for a permit of the {@link RequestGovernor}.
+     */
+    private class ThrottledPages implements Iterator<ContinuablePage<String, R>> {
+        private final Iterator<? extends ContinuablePage<String, R>> pages;
+        @Nullable
+        private ContinuablePage<String, R> next;
+        private boolean exhausted;
+
+        ThrottledPages(@Nonnull Iterator<? extends ContinuablePage<String, R>> pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            if (Objects.isNull(this.next) && !this.exhausted) {
+                this.next = throttled(() -> this.pages.hasNext() ? this.pages.next() : null);
+                this.exhausted = Objects.isNull(this.next);
+            }
+            return Objects.nonNull(this.next);
+        }
+
+        @Override
+        public synchronized ContinuablePage<String, R> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ContinuablePage<String, R> page = this.next;
+            this.next = null;
+            return page;
+        }
+    }
 }
@@ -18,17 +18,34 @@ import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeExcep
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Slf4j
 public abstract class AbstractAzService<T extends AbstractAzServiceSubscription<T, R>, R> extends AbstractAzResourceModule<T, AzResource.None, R>
     implements AzService {
 
@@ -56,6 +73,83 @@ public abstract class AbstractAzService<T extends AbstractAzServiceSubscription<
         return this.getName();
     }
 
+    /**
+     * list resources of the module resolved by {@code moduleOf} in all selected subscriptions in parallel, with
+     * concurrency and per subscription timeout configured in {@link com.microsoft.azure.toolkit.lib.AzureConfiguration}.
+     */
+    @Nonnull
+    public <E> CrossSubscriptionListing<E> listAcrossSubscriptions(@Nonnull Function<T, ? extends AzResourceModule<? extends E>> moduleOf) {
+        final int concurrency = Azure.az().config().getSubscriptionListingConcurrency();
+        final int timeout = Azure.az().config().getSubscriptionListingTimeoutInSeconds();
+        return this.listAcrossSubscriptions(moduleOf, concurrency, Duration.ofSeconds(timeout));
+    }
+
+    /**
+     * list resources of the module resolved by {@code moduleOf} in all selected subscriptions, at most
+     * {@code concurrency} subscriptions are listed at the same time. a subscription not listed within {@code timeout}
+     * is interrupted and its thread is not reused until the listing actually stops, so timed out subscriptions never
+     * exceed the concurrency. failed or timed out subscriptions are reported in {@link CrossSubscriptionListing#failures}
+     * instead of failing the whole listing.
+     */
+    @Nonnull
+    @AzureOperation(name = "azure/resource.list_resources_across_subscriptions.type", params = {"this.getResourceTypeName()"})
+    public <E> CrossSubscriptionListing<E> listAcrossSubscriptions(@Nonnull Function<T, ? extends AzResourceModule<? extends E>> moduleOf,
+                                                                   int concurrency, @Nonnull Duration timeout) {
+        final List<T> subscriptions = this.list();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, subscriptions.size())));
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final List<FutureTask<List<? extends E>>> tasks = subscriptions.stream().map(subscription -> {
+                final OperationThreadContext context = OperationThreadContext.current().derive();
+                final AtomicReference<Future<?>> self = new AtomicReference<>();
+                final FutureTask<List<? extends E>> task = new FutureTask<>(() -> {
+                    final ScheduledFuture<?> timeoutTask = timer.schedule(() -> self.get().cancel(true), timeout.toMillis(), TimeUnit.MILLISECONDS);
+                    final AtomicReference<List<? extends E>> result = new AtomicReference<>(Collections.emptyList());
+                    final AtomicReference<RuntimeException> error = new AtomicReference<>();
+                    try {
+                        context.run(() -> {
+                            try {
+                                result.set(moduleOf.apply(subscription).list());
+                            } catch (final RuntimeException e) {
+                                error.set(e);
+                            }
+                        });
+                    } finally {
+                        timeoutTask.cancel(false);
+                    }
+                    if (error.get() != null) {
+                        throw error.get();
+                    }
+                    return result.get();
+                });
+                self.set(task);
+                executor.execute(task);
+                return task;
+            }).collect(Collectors.toList());
+            final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+            final List<E> resources = new ArrayList<>();
+            for (int i = 0; i < subscriptions.size(); i++) {
+                final String subscriptionId = subscriptions.get(i).getSubscriptionId();
+                try {
+                    resources.addAll(tasks.get(i).get());
+                } catch (final CancellationException e) {
+                    log.debug("[{}]:listAcrossSubscriptions->subscription({})=TIMEOUT", this.getName(), subscriptionId);
+                    failures.put(subscriptionId, new TimeoutException(String.format("listing timed out in %s", timeout)));
+                } catch (final ExecutionException e) {
+                    log.debug("[{}]:listAcrossSubscriptions->subscription({})=EXCEPTION", this.getName(), subscriptionId, e.getCause());
+                    failures.put(subscriptionId, e.getCause());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AzureToolkitRuntimeException("listing resources across subscriptions is interrupted", e);
+                }
+            }
+            return new CrossSubscriptionListing<>(resources, failures);
+        } finally {
+            executor.shutdownNow();
+            timer.shutdownNow();
+        }
+    }
+
     @Preload
     @SuppressWarnings({"rawtypes", "unchecked"})
     private static void preload() {
@@ -127,6 +221,39 @@ public abstract class AbstractAzService<T extends AbstractAzServiceSubscription<
         return (E) resource;
     }
 
+    /**
+     * get resources by ids in bulk. top level resources are grouped by their modules and resolved with
+     * {@link AbstractAzResourceModule#getAll(Collection)}, others are resolved one by one.
+     *
+     * @return resources keyed by the given ids, nonexistent resources are excluded.
+     */
+    @Nonnull
+    public Map<String, AbstractAzResource<?, ?, ?>> getAllById(@Nonnull Collection<String> ids) {
+        final Map<String, AbstractAzResource<?, ?, ?>> result = new LinkedHashMap<>();
+        final Map<Pair<String, String>, List<String>> topLevels = new LinkedHashMap<>();
+        for (final String id : ids) {
+            final ResourceId resourceId = ResourceId.fromString(id);
+            if (Objects.isNull(resourceId.parent()) && Objects.nonNull(resourceId.resourceGroupName())) {
+                topLevels.computeIfAbsent(Pair.of(resourceId.subscriptionId(), resourceId.resourceType().toLowerCase()), k -> new ArrayList<>()).add(id);
+            } else {
+                Optional.ofNullable(this.<AbstractAzResource<?, ?, ?>>getById(id)).ifPresent(r -> result.put(id, r));
+            }
+        }
+        topLevels.forEach((key, moduleIds) -> {
+            final AbstractAzResourceModule<?, ?, ?> module = Optional.ofNullable(this.get(key.getLeft(), null))
+                .map(s -> s.getSubModule(key.getRight())).orElse(null);
+            if (Objects.isNull(module)) {
+                moduleIds.forEach(id -> Optional.ofNullable(this.<AbstractAzResource<?, ?, ?>>getById(id)).ifPresent(r -> result.put(id, r)));
+                return;
+            }
+            final Map<String, AbstractAzResource<?, ?, ?>> resources = module.getAll(moduleIds).stream()
+                .collect(Collectors.toMap(r -> r.getId().toLowerCase(), r -> r, (a, b) -> a));
+            moduleIds.stream().filter(id -> resources.containsKey(id.toLowerCase())).forEach(id -> result.put(id, resources.get(id.toLowerCase())));
+        });
+        return ids.stream().filter(result::containsKey)
+            .collect(Collectors.toMap(id -> id, result::get, (a, b) -> a, LinkedHashMap::new));
+    }
+
     @Nullable
     public <E> E getOrInitById(@Nonnull String id) { // move to upper class
         return this.doGetOrInitById(id);
@@ -20,7 +20,9 @@ import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.account.IAccount;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
+import com.microsoft.azure.toolkit.lib.common.cache.RevalidatingHttpClient;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.throttling.RequestGovernor;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.resolver.AddressResolverGroup;
@@ -142,7 +144,8 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
             }
             NettyAsyncHttpClientBuilder builder = new NettyAsyncHttpClientBuilder(nettyHttpClient);
             Optional.ofNullable(proxyOptions).map(builder::proxy);
-            defaultHttpClient = builder.build();
+            // report ARM quota to request governors, revalidate persisted resource snapshots if enabled
+            defaultHttpClient = RequestGovernor.observe(new RevalidatingHttpClient(builder.build()));
             return defaultHttpClient;
         }
     }
@@ -18,6 +18,11 @@ public abstract class AbstractEmulatableAzResourceModule<T extends AbstractEmula
         return !isEmulatorResource();
     }
 
+    @Override
+    protected boolean isManagementPlane() {
+        return false;
+    }
+
     @Override
     public boolean isEmulatorResource() {
         return this.getParent() instanceof Emulatable && ((Emulatable) this.getParent()).isEmulatorResource();
@@ -191,8 +191,13 @@ public interface AzResource extends Refreshable {
         private final String status = NONE;
         private final String subscriptionId = NONE;
 
+        /**
+         * the module is resolved by {@link #getModule()} instead, referring {@link AzResourceModule#NONE} here would
+         * initialize it with a null parent if {@link AzResource} is initialized first.
+         */
+        @SuppressWarnings("DataFlowIssue")
         private None() {
-            super("$NONE$", AzResource.RESOURCE_GROUP_PLACEHOLDER, AzResourceModule.NONE);
+            super("$NONE$", AzResource.RESOURCE_GROUP_PLACEHOLDER, null);
         }
 
         @Nonnull
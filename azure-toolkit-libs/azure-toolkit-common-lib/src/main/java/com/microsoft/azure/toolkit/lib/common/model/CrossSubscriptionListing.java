@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * result of listing resources across subscriptions, see {@link AbstractAzService#listAcrossSubscriptions}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CrossSubscriptionListing<E> {
+    /**
+     * resources of all succeeded subscriptions, ordered by subscription and then by resource order of each module.
+     */
+    @Nonnull
+    private final List<E> resources;
+    /**
+     * errors of failed (including timed out) subscriptions, keyed by subscription id.
+     */
+    @Nonnull
+    private final Map<String, Throwable> failures;
+
+    public boolean isPartial() {
+        return !this.failures.isEmpty();
+    }
+}
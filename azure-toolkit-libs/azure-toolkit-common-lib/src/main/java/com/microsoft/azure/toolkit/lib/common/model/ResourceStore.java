@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * local resources of a {@link AbstractAzResourceModule}, keyed by lowercase resource id. an absent value marks a
+ * resource known to be nonexistent. resources are indexed by lowercase resource group name and name, and listed
+ * in insertion order from an immutable snapshot that is rebuilt on first read after modification, so that readers
+ * never block each other or writers.
+ */
+public class ResourceStore<T extends AbstractAzResource<T, ?, ?>> {
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byResourceGroup = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byName = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    @Nullable
+    private volatile List<T> snapshot;
+
+    public boolean containsKey(@Nonnull String id) {
+        return this.entries.containsKey(id);
+    }
+
+    @Nonnull
+    public Optional<T> get(@Nonnull String id) {
+        return Optional.ofNullable(this.entries.get(id)).flatMap(e -> e.value);
+    }
+
+    /**
+     * put {@code value} under {@code id} if there is no existing resource under it.
+     *
+     * @return true if {@code value} is put.
+     */
+    public synchronized boolean putIfNotPresent(@Nonnull String id, @Nonnull Optional<T> value) {
+        final Entry<T> old = this.entries.get(id);
+        if (Objects.nonNull(old) && old.value.isPresent()) {
+            return false;
+        }
+        final Entry<T> entry = new Entry<>(Objects.isNull(old) ? this.sequence.incrementAndGet() : old.seq, value);
+        this.entries.put(id, entry);
+        value.ifPresent(r -> this.index(id, r));
+        this.snapshot = null;
+        return true;
+    }
+
+    @Nonnull
+    public synchronized Optional<T> remove(@Nonnull String id) {
+        final Entry<T> removed = this.entries.remove(id);
+        if (Objects.isNull(removed)) {
+            return Optional.empty();
+        }
+        removed.value.ifPresent(r -> this.unindex(id, r));
+        this.snapshot = null;
+        return removed.value;
+    }
+
+    /**
+     * remove the markers of nonexistent resources.
+     */
+    public synchronized void removeAbsent() {
+        this.entries.entrySet().removeIf(e -> !e.getValue().value.isPresent());
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.byResourceGroup.clear();
+        this.byName.clear();
+        this.snapshot = null;
+    }
+
+    /**
+     * @return existing resources in insertion order, the returned list is immutable.
+     */
+    @Nonnull
+    public List<T> values() {
+        List<T> result = this.snapshot;
+        if (Objects.isNull(result)) {
+            synchronized (this) {
+                result = this.snapshot;
+                if (Objects.isNull(result)) {
+                    result = Collections.unmodifiableList(this.entries.values().stream()
+                        .filter(e -> e.value.isPresent())
+                        .sorted(Comparator.comparingLong(e -> e.seq))
+                        .map(e -> e.value.get())
+                        .collect(Collectors.toList()));
+                    this.snapshot = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    public List<T> listByResourceGroup(@Nonnull String resourceGroup) {
+        return this.listIndexed(this.byResourceGroup, resourceGroup);
+    }
+
+    /**
+     * @return resources whose name equals {@code name} ignoring case, in insertion order.
+     */
+    @Nonnull
+    public List<T> listByName(@Nonnull String name) {
+        return this.listIndexed(this.byName, name);
+    }
+
+    @Nonnull
+    private List<T> listIndexed(@Nonnull Map<String, Set<String>> index, @Nonnull String key) {
+        final Set<String> ids = index.getOrDefault(key.toLowerCase(), Collections.emptySet());
+        return ids.stream().map(this.entries::get).filter(Objects::nonNull)
+            .filter(e -> e.value.isPresent())
+            .sorted(Comparator.comparingLong(e -> e.seq))
+            .map(e -> e.value.get())
+            .collect(Collectors.toList());
+    }
+
+    private void index(@Nonnull String id, @Nonnull T resource) {
+        Optional.ofNullable(resource.getResourceGroupName()).ifPresent(rg ->
+            this.byResourceGroup.computeIfAbsent(rg.toLowerCase(), k -> ConcurrentHashMap.newKeySet()).add(id));
+        this.byName.computeIfAbsent(resource.getName().toLowerCase(), k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void unindex(@Nonnull String id, @Nonnull T resource) {
+        Optional.ofNullable(resource.getResourceGroupName()).ifPresent(rg ->
+            this.byResourceGroup.computeIfPresent(rg.toLowerCase(), (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids));
+        this.byName.computeIfPresent(resource.getName().toLowerCase(), (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+    }
+
+    private static class Entry<T> {
+        private final long seq;
+        @Nonnull
+        private final Optional<T> value;
+
+        Entry(long seq, @Nonnull Optional<T> value) {
+            this.seq = seq;
+            this.value = value;
+        }
+    }
+}
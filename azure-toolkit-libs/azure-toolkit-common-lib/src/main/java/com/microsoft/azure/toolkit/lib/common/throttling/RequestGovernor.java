@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.throttling;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.Context;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * per subscription governor of ARM requests. concurrency limit is adapted with AIMD(additive increase/multiplicative
+ * decrease) according to ARM responses: it's halved on 429 or when remaining quota
+ * ({@code x-ms-ratelimit-remaining-subscription-reads/writes}) is low, and grows slowly on other successful responses.
+ * responses are observed by the http client returned by {@link #observe(HttpClient)}. only management plane requests
+ * are governed, data plane (e.g. blob, file share and cosmos document) requests don't count against ARM quota.
+ */
+@Slf4j
+public class RequestGovernor {
+    public static final String HEADER_REMAINING_READS = "x-ms-ratelimit-remaining-subscription-reads";
+    public static final String HEADER_REMAINING_WRITES = "x-ms-ratelimit-remaining-subscription-writes";
+    private static final Pattern SUBSCRIPTION_PATH = Pattern.compile("^/subscriptions/([^/?]+)", Pattern.CASE_INSENSITIVE);
+    private static final Map<String, RequestGovernor> governors = new ConcurrentHashMap<>();
+
+    static final double INITIAL_LIMIT = 8;
+    static final double MIN_LIMIT = 2;
+    static final double MAX_LIMIT = 32;
+    static final int LOW_REMAINING_QUOTA = 100;
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 5_000;
+    /**
+     * max time to wait for a permit, requests are let go when waiting longer than this, so that a long
+     * {@code Retry-After} or nested requests holding permits in different threads don't block callers for long.
+     */
+    static final long MAX_WAIT_MILLIS = 5_000;
+
+    @Getter
+    @Nonnull
+    private final String subscriptionId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    private double limit = INITIAL_LIMIT;
+    private int inFlight = 0;
+    private int waiting = 0;
+    private long pausedUntil = 0;
+    private long requests = 0;
+    private long throttled = 0;
+    private long totalWaitNanos = 0;
+    private long maxWaitNanos = 0;
+    private int remainingQuota = -1;
+
+    RequestGovernor(@Nonnull String subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    @Nonnull
+    public static RequestGovernor forSubscription(@Nonnull String subscriptionId) {
+        return governors.computeIfAbsent(subscriptionId.toLowerCase(), RequestGovernor::new);
+    }
+
+    /**
+     * run {@code request} when there is a free permit of the subscription. nested calls in the same thread run
+     * directly without requiring another permit.
+     */
+    public <V> V execute(@Nonnull Supplier<V> request) {
+        final int[] held = this.depth.get();
+        if (held[0] > 0) {
+            return request.get();
+        }
+        this.acquire();
+        held[0]++;
+        try {
+            return request.get();
+        } finally {
+            held[0]--;
+            this.release();
+        }
+    }
+
+    private void acquire() {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS);
+        this.lock.lock();
+        try {
+            this.waiting++;
+            try {
+                long now = System.nanoTime();
+                if (this.inFlight >= (int) this.limit || now < this.pausedUntil) {
+                    log.info("[{}]: waiting for ARM request quota, inFlight={}, limit={}, paused={}ms", this.subscriptionId,
+                        this.inFlight, (int) this.limit, Math.max(0, TimeUnit.NANOSECONDS.toMillis(this.pausedUntil - now)));
+                }
+                while ((this.inFlight >= (int) this.limit || now < this.pausedUntil) && now < deadline) {
+                    final long wait = now < this.pausedUntil ? Math.min(this.pausedUntil, deadline) - now : deadline - now;
+                    this.available.awaitNanos(wait);
+                    now = System.nanoTime();
+                }
+                if (now >= deadline) {
+                    log.warn("[{}]: waited {}ms for ARM request quota, sending request anyway, inFlight={}, limit={}", this.subscriptionId,
+                        MAX_WAIT_MILLIS, this.inFlight, (int) this.limit);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AzureToolkitRuntimeException("interrupted while waiting for ARM request quota", e);
+            } finally {
+                this.waiting--;
+            }
+            final long waited = System.nanoTime() - start;
+            this.inFlight++;
+            this.requests++;
+            this.totalWaitNanos += waited;
+            this.maxWaitNanos = Math.max(this.maxWaitNanos, waited);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void release() {
+        this.lock.lock();
+        try {
+            this.inFlight--;
+            this.available.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * adapt concurrency limit according to an ARM response of the subscription.
+     */
+    void onResponse(int statusCode, @Nullable String remaining, @Nullable String retryAfter) {
+        this.lock.lock();
+        try {
+            final int remainingQuota = NumberUtils.toInt(remaining, -1);
+            if (remainingQuota >= 0) {
+                this.remainingQuota = remainingQuota;
+            }
+            if (statusCode == 429) {
+                this.throttled++;
+                final long retryAfterMillis = StringUtils.isNumeric(retryAfter) ? TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)) : DEFAULT_RETRY_AFTER_MILLIS;
+                this.pausedUntil = Math.max(this.pausedUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+                this.decrease();
+            } else if (remainingQuota >= 0 && remainingQuota < LOW_REMAINING_QUOTA) {
+                this.decrease();
+            } else if (statusCode < 400) {
+                this.limit = Math.min(MAX_LIMIT, this.limit + 1 / this.limit);
+                this.available.signalAll();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void decrease() {
+        final double old = this.limit;
+        this.limit = Math.max(MIN_LIMIT, this.limit / 2);
+        log.debug("[{}]:decrease limit {} -> {}", this.subscriptionId, old, this.limit);
+    }
+
+    @Nonnull
+    public Metrics getMetrics() {
+        this.lock.lock();
+        try {
+            final long avgWaitMillis = this.requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalWaitNanos / this.requests);
+            return new Metrics(this.subscriptionId, (int) this.limit, this.inFlight, this.waiting, this.requests, this.throttled,
+                avgWaitMillis, TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos), this.remainingQuota);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * decorate {@code client} to report ARM responses to governors of the requested subscriptions.
+     */
+    @Nonnull
+    public static HttpClient observe(@Nonnull HttpClient client) {
+        return new ObservingHttpClient(client);
+    }
+
+    private static void observe(@Nonnull HttpResponse response) {
+        final HttpRequest request = response.getRequest();
+        final Matcher matcher = SUBSCRIPTION_PATH.matcher(request.getUrl().getPath());
+        if (!matcher.find()) {
+            return;
+        }
+        final String header = request.getHttpMethod() == HttpMethod.GET || request.getHttpMethod() == HttpMethod.HEAD ?
+            HEADER_REMAINING_READS : HEADER_REMAINING_WRITES;
+        forSubscription(matcher.group(1)).onResponse(response.getStatusCode(), response.getHeaderValue(header), response.getHeaderValue("Retry-After"));
+    }
+
+    @RequiredArgsConstructor
+    private static class ObservingHttpClient implements HttpClient {
+        private final HttpClient client;
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            return this.client.send(request).doOnNext(RequestGovernor::observe);
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request, Context context) {
+            return this.client.send(request, context).doOnNext(RequestGovernor::observe);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Metrics {
+        private final String subscriptionId;
+        private final int limit;
+        private final int inFlight;
+        /**
+         * number of requests waiting for permits currently.
+         */
+        private final int queueDepth;
+        private final long requests;
+        /**
+         * number of 429 responses received.
+         */
+        private final long throttled;
+        private final long averageWaitMillis;
+        private final long maxWaitMillis;
+        /**
+         * remaining quota reported by the latest ARM response, -1 if unknown.
+         */
+        private final int remainingQuota;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * indexes generated at build time, one per jar (or classes directory). an index is a plain text file listing one entry
+ * per line.
+ */
+public final class Indexes {
+    /**
+     * methods annotated with {@code @Preload}, listed as {@code <binary class name>#<method name>}. it's generated at
+     * compile time by {@code PreloadIndexProcessor} of azure-toolkit-processor-lib.
+     */
+    public static final String PRELOAD = "META-INF/azure-toolkit/preload.idx";
+    /**
+     * json schemas under {@code schema/}, listed as resource paths, e.g. {@code schema/common/UUID.json}. it's generated
+     * from resources by the {@code index-schemas} execution of maven-antrun-plugin in process-resources phase.
+     */
+    public static final String SCHEMAS = "META-INF/azure-toolkit/schemas.idx";
+
+    private Indexes() {
+    }
+
+    /**
+     * @return entries of all indexes named {@code index} visible to the {@code loader}, in classpath order.
+     */
+    public static Set<String> read(final ClassLoader loader, final String index) {
+        final Set<String> entries = new LinkedHashSet<>();
+        try {
+            final Enumeration<URL> urls = loader.getResources(index);
+            while (urls.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(entries::add);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(String.format("failed to read index(%s)", index), e);
+        }
+        return entries;
+    }
+}
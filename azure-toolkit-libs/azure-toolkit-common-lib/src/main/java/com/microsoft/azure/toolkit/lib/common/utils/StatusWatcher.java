@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * watches a status by polling it with exponential backoff: it's polled right away and then in short intervals so that
+ * a quick operation is noticed as soon as it's done, the interval then grows up to {@link #maxInterval}. waiting between
+ * polls is scheduled on the shared timer of reactor, so no thread is held by a watcher; only the (blocking) fetch runs
+ * on {@link Schedulers#boundedElastic()}.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class StatusWatcher<T> {
+    private final Callable<T> fetcher;
+    private Duration initialInterval = Duration.ofSeconds(1);
+    private Duration maxInterval = Duration.ofSeconds(5);
+    private double multiplier = 2;
+    private Duration timeout = Duration.ofMinutes(5);
+    /**
+     * key of a status, a polled status is emitted only if its key differs from the previous one. all polled statuses
+     * are emitted if null.
+     */
+    @Nullable
+    private Function<? super T, ?> statusKey = Function.identity();
+
+    public StatusWatcher(@Nonnull final Callable<T> fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * @param done predicate of a final status
+     * @return transitions of the status, completes right after a final status is emitted or when timeout. a fetched
+     * {@code null} is not emitted.
+     */
+    @Nonnull
+    public Flux<T> watch(@Nonnull final Predicate<? super T> done) {
+        return Flux.defer(() -> {
+            final long deadline = System.nanoTime() + this.timeout.toNanos();
+            final AtomicReference<Duration> interval = new AtomicReference<>(this.initialInterval);
+            final Flux<T> statuses = Mono.fromCallable(this.fetcher)
+                .subscribeOn(Schedulers.boundedElastic())
+                .repeatWhen(polled -> polled
+                    .map(ignore -> interval.getAndUpdate(this::next))
+                    .takeWhile(next -> System.nanoTime() + next.toNanos() < deadline)
+                    .concatMap(Mono::delay))
+                .takeUntil(done);
+            return this.statusKey == null ? statuses : statuses.distinctUntilChanged(this.statusKey);
+        });
+    }
+
+    /**
+     * @return the first final status, or the last status polled before timeout, or null if nothing is polled.
+     */
+    @Nullable
+    public T waitUntil(@Nonnull final Predicate<? super T> done) {
+        return this.watch(done).blockLast();
+    }
+
+    @Nonnull
+    private Duration next(@Nonnull final Duration current) {
+        final long next = (long) (current.toMillis() * this.multiplier);
+        return Duration.ofMillis(Math.min(Math.max(next, current.toMillis()), this.maxInterval.toMillis()));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * tailing debouncer scheduled on a hashed timer wheel shared by all instances. debouncing a pending debouncer only
+ * moves its deadline forward, the wheel re-buckets it when the old deadline is reached. the debounced action runs on
+ * the wheel thread, so it must be short and non-blocking, e.g. emitting an event. the wheel thread sleeps until the
+ * next occupied slot, or until a debouncer is scheduled if the wheel is empty.
+ */
+@Slf4j
+public class TimerWheelDebouncer implements Debouncer {
+    private static final long IDLE = 0;
+    private final Runnable debounced;
+    private final int delay;
+    /**
+     * deadline in {@link System#nanoTime()} of the pending action, {@link #IDLE} if not pending.
+     */
+    private final AtomicLong deadline = new AtomicLong(IDLE);
+
+    public TimerWheelDebouncer(@Nonnull final Runnable debounced, final int delayInMillis) {
+        this.debounced = debounced;
+        this.delay = delayInMillis;
+    }
+
+    @Override
+    public void debounce() {
+        this.debounce(this.delay);
+    }
+
+    @Override
+    public void debounce(int delay) {
+        delay = delay < 0 ? this.delay : delay;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        deadline = deadline == IDLE ? 1 : deadline;
+        if (this.deadline.getAndSet(deadline) == IDLE) {
+            Wheel.INSTANCE.schedule(this);
+        }
+    }
+
+    public void cancel() {
+        this.deadline.set(IDLE);
+    }
+
+    @Override
+    public boolean isPending() {
+        return this.deadline.get() != IDLE;
+    }
+
+    private static class Wheel implements Runnable {
+        private static final Wheel INSTANCE = new Wheel(TimeUnit.MILLISECONDS.toNanos(10), 512);
+        private final long tickNanos;
+        private final int mask;
+        private final Queue<TimerWheelDebouncer>[] buckets;
+        private final Queue<TimerWheelDebouncer> incoming = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        /**
+         * number of debouncers in the buckets, only accessed by the wheel thread.
+         */
+        private int scheduled;
+        private long tick;
+
+        @SuppressWarnings("unchecked")
+        Wheel(long tickNanos, int size) {
+            this.tickNanos = tickNanos;
+            this.mask = size - 1;
+            this.buckets = new Queue[size];
+            for (int i = 0; i < size; i++) {
+                this.buckets[i] = new ArrayDeque<>();
+            }
+            this.thread = new Thread(this, "azure-toolkit-debouncer");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        void schedule(@Nonnull TimerWheelDebouncer debouncer) {
+            this.incoming.add(debouncer);
+            LockSupport.unpark(this.thread);
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            //noinspection InfiniteLoopStatement
+            while (true) {
+                final long now = System.nanoTime();
+                final long current = (now - start) / this.tickNanos;
+                if (this.scheduled == 0) { // nothing to expire in the ticks slept through
+                    this.tick = Math.max(this.tick, current);
+                }
+                while (this.tick < current) {
+                    this.tick++;
+                    final Queue<TimerWheelDebouncer> bucket = this.buckets[(int) (this.tick & this.mask)];
+                    for (int i = bucket.size(); i > 0; i--) {
+                        this.scheduled--;
+                        this.expire(bucket.poll(), now);
+                    }
+                }
+                for (TimerWheelDebouncer d = this.incoming.poll(); d != null; d = this.incoming.poll()) {
+                    this.place(d, now);
+                }
+                this.park(start);
+            }
+        }
+
+        /**
+         * parks the wheel thread until the next occupied slot is reached, or indefinitely if the wheel is empty. it's
+         * unparked earlier by {@link #schedule}, so that new debouncers are placed in time.
+         */
+        private void park(long start) {
+            if (this.scheduled == 0) {
+                LockSupport.park(this);
+                return;
+            }
+            int ticks = 1;
+            while (ticks <= this.mask && this.buckets[(int) ((this.tick + ticks) & this.mask)].isEmpty()) {
+                ticks++;
+            }
+            final long remaining = start + (this.tick + ticks) * this.tickNanos - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        private void expire(@Nonnull TimerWheelDebouncer debouncer, long now) {
+            final long deadline = debouncer.deadline.get();
+            if (deadline == IDLE) { // cancelled
+                return;
+            }
+            if (deadline - now > 0 || !debouncer.deadline.compareAndSet(deadline, IDLE)) { // not due or debounced again
+                this.place(debouncer, now);
+                return;
+            }
+            try {
+                debouncer.debounced.run();
+            } catch (final Throwable t) {
+                log.warn("failed to run debounced action", t);
+            }
+        }
+
+        private void place(@Nonnull TimerWheelDebouncer debouncer, long now) {
+            final long remaining = debouncer.deadline.get() - now;
+            final long ticks = Math.max(1, Math.min(this.mask, (remaining + this.tickNanos - 1) / this.tickNanos));
+            this.buckets[(int) ((this.tick + ticks) & this.mask)].add(debouncer);
+            this.scheduled++;
+        }
+    }
+}
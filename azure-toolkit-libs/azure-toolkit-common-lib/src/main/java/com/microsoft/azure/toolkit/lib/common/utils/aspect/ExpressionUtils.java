@@ -6,27 +6,58 @@
 package com.microsoft.azure.toolkit.lib.common.utils.aspect;
 
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceUtils;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import groovy.text.SimpleTemplateEngine;
 import groovy.text.Template;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
 import org.apache.commons.lang3.tuple.Triple;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.MethodClosure;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 @Slf4j
 public class ExpressionUtils {
     private static final ImmutableMap<String, Boolean> valueMap = ImmutableMap.of("true", true, "false", false);
     private static final SimpleTemplateEngine engine = new SimpleTemplateEngine();
     private static final String INVALID_TEMPLATE = "error occurs when evaluate template(%s) with bindings(%s)";
+    private static final String THIS = "this";
+    private static final Object UNRESOLVED = new Object();
+    private static final Pattern SIMPLE_PATH = Pattern.compile("[A-Za-z_]\\w*(\\.[A-Za-z_]\\w*(\\(\\))?)*");
+    private static final int MAX_CACHED_TEMPLATES = 2048;
+    /**
+     * parsed templates, {@code null} is not allowed as value, so templates that can not be evaluated by the fast path
+     * are mapped to an empty {@link Optional}
+     */
+    private static final LoadingCache<String, Optional<List<Object>>> simpleTemplates = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_TEMPLATES)
+        .build(ExpressionUtils::parse);
+    private static final LoadingCache<String, Template> groovyTemplates = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_TEMPLATES)
+        .build(ExpressionUtils::compile);
+    private static final ClassValue<Map<String, Optional<Method>>> accessors = new ClassValue<Map<String, Optional<Method>>>() {
+        @Override
+        protected Map<String, Optional<Method>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     public static boolean evaluate(@Nonnull final String expression, @Nonnull final MethodInvocation invocation, boolean defaultVal) {
         final String result = interpret(expression, invocation);
@@ -41,17 +72,146 @@ public class ExpressionUtils {
         if (StringUtils.isBlank(template) || !template.contains("$")) { // no groovy expression, just return
             return template;
         }
+        final Optional<List<Object>> segments = simpleTemplates.get(template);
+        if (Objects.nonNull(segments) && segments.isPresent()) {
+            final String result = renderSimple(segments.get(), invocation);
+            if (Objects.nonNull(result)) {
+                return result;
+            }
+        }
+        return renderGroovy(template, invocation);
+    }
+
+    private static String renderGroovy(@Nonnull final String template, @Nonnull final MethodInvocation invocation) {
         final Map<String, Object> bindings = initBindings(invocation);
-        final String fixed = template.replaceAll("(\\W)this(\\.)", "$1_this_$2"); // resolve `this`
         try {
-            final Template tpl = engine.createTemplate(fixed);
-            return tpl.make(bindings).toString();
+            final Template tpl = groovyTemplates.get(template);
+            return Objects.requireNonNull(tpl).make(bindings).toString();
         } catch (final Throwable e) { // swallow all exceptions during render
             log.warn(String.format(INVALID_TEMPLATE, template, bindings), e);
         }
         return template;
     }
 
+    @SneakyThrows
+    private static Template compile(@Nonnull final String template) {
+        final String fixed = template.replaceAll("(\\W)this(\\.)", "$1_this_$2"); // resolve `this`
+        return engine.createTemplate(fixed);
+    }
+
+    /**
+     * evaluate templates only composed of plain text and simple expressions like {@code ${arg}}, {@code $arg} and
+     * {@code ${this.getX().y}} with java reflection instead of groovy.
+     *
+     * @return {@code null} if any part of the template can not be resolved, caller should fall back to groovy.
+     */
+    @Nullable
+    private static String renderSimple(@Nonnull final List<Object> segments, @Nonnull final MethodInvocation invocation) {
+        final StringBuilder result = new StringBuilder();
+        List<Triple<String, Parameter, Object>> args = null;
+        for (final Object segment : segments) {
+            if (segment instanceof String) {
+                result.append(segment);
+                continue;
+            }
+            final String[] path = (String[]) segment;
+            Object value;
+            if (THIS.equals(path[0])) {
+                value = invocation.getInstance();
+            } else {
+                args = Optional.ofNullable(args).orElseGet(invocation::getArgs);
+                value = UNRESOLVED;
+                for (final Triple<String, Parameter, Object> arg : args) {
+                    if (path[0].equals(arg.getLeft())) {
+                        value = arg.getRight();
+                        break;
+                    }
+                }
+            }
+            for (int i = 1; i < path.length && value != UNRESOLVED; i++) {
+                value = Objects.isNull(value) ? UNRESOLVED : access(value, path[i]);
+            }
+            if (value == UNRESOLVED) {
+                return null;
+            }
+            result.append(InvokerHelper.toString(value));
+        }
+        return result.toString();
+    }
+
+    @Nullable
+    private static Object access(@Nonnull final Object target, @Nonnull final String member) {
+        final boolean isCall = member.endsWith("()");
+        final String name = isCall ? member.substring(0, member.length() - 2) : member;
+        if (!isCall && target instanceof Map) {
+            return ((Map<?, ?>) target).get(name);
+        }
+        final Optional<Method> accessor = accessors.get(target.getClass()).computeIfAbsent(member, k -> isCall ?
+            Optional.ofNullable(MethodUtils.getAccessibleMethod(target.getClass(), name)) :
+            Optional.ofNullable(Optional.ofNullable(MethodUtils.getAccessibleMethod(target.getClass(), "get" + StringUtils.capitalize(name)))
+                .orElseGet(() -> MethodUtils.getAccessibleMethod(target.getClass(), "is" + StringUtils.capitalize(name)))));
+        if (!accessor.isPresent()) {
+            return UNRESOLVED;
+        }
+        try {
+            return accessor.get().invoke(target);
+        } catch (final Throwable e) { // let groovy reproduce and report the error
+            return UNRESOLVED;
+        }
+    }
+
+    /**
+     * split template into plain text segments({@link String}) and expression segments(member path as {@code String[]})
+     */
+    @Nonnull
+    private static Optional<List<Object>> parse(@Nonnull final String template) {
+        if (template.contains("<%") || template.contains("\\")) { // scriptlets and escapes are handled by groovy only
+            return Optional.empty();
+        }
+        final List<Object> segments = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            final char c = template.charAt(i);
+            if (c != '$') {
+                text.append(c);
+                i++;
+                continue;
+            }
+            final String expression;
+            if (i + 1 < template.length() && template.charAt(i + 1) == '{') {
+                final int end = template.indexOf('}', i + 2);
+                if (end < 0) {
+                    return Optional.empty();
+                }
+                expression = template.substring(i + 2, end).trim();
+                i = end + 1;
+            } else {
+                int end = i + 1;
+                while (end < template.length() && (end == i + 1 ? Character.isJavaIdentifierStart(template.charAt(end)) : Character.isJavaIdentifierPart(template.charAt(end)))) {
+                    end++;
+                }
+                if (end < template.length() && template.charAt(end) == '.') { // dotted `$a.b` paths follow groovy GString rules
+                    return Optional.empty();
+                }
+                expression = template.substring(i + 1, end);
+                i = end;
+            }
+            if (!SIMPLE_PATH.matcher(expression).matches() || expression.startsWith("_this_")) {
+                return Optional.empty();
+            }
+            if (text.length() > 0) {
+                segments.add(text.toString());
+                text.setLength(0);
+            }
+            segments.add(expression.split("\\."));
+        }
+        if (text.length() > 0) {
+            segments.add(text.toString());
+        }
+        return Optional.of(Collections.unmodifiableList(segments));
+    }
+
     @Nonnull
     private static Map<String, Object> initBindings(@Nonnull final MethodInvocation invocation) {
         final List<Triple<String, Parameter, Object>> args = invocation.getArgs();
@@ -11,9 +11,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.utils.Indexes;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -32,12 +34,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_CREATORS;
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_GETTERS;
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_IS_GETTERS;
 
+@Slf4j
 public class SchemaValidator {
     private static final Path SCHEMA_ROOT = Paths.get("schema");
     private static final String INVALID_PARAMETER_ERROR_MESSAGE = "Invalid parameters founded, please correct the value with messages below:";
@@ -54,8 +59,24 @@ public class SchemaValidator {
         System.setProperty("org.slf4j.simpleLogger.log.org.reflections.Reflections", "warn");
     }
 
+    /**
+     * schemas are listed in {@link Indexes#SCHEMAS}, which is generated from resources at build time for every module
+     * with schemas, so no classpath scanning is needed, unless the index is missing, e.g. if the modules are not built by maven.
+     */
     private SchemaValidator() {
-        Optional.of(new Reflections("schema", Scanners.Resources))
+        final long start = System.nanoTime();
+        getSchemaResources().stream().map(resource -> Pair.of(resource, SchemaValidator.class.getResourceAsStream("/" + resource)))
+                .filter(pair -> pair.getValue() != null)
+                .forEach(pair -> registerSchema(getSchemaId(pair.getKey()), pair.getValue()));
+        log.debug("registered {} json schemas in {}ms", schemaMap.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    static Set<String> getSchemaResources() {
+        final Set<String> indexed = Indexes.read(SchemaValidator.class.getClassLoader(), Indexes.SCHEMAS);
+        if (!indexed.isEmpty()) {
+            return indexed;
+        }
+        return Optional.of(new Reflections("schema", Scanners.Resources))
                 .map(reflections -> {
                     try {
                         return reflections.getResources(".*\\.json");
@@ -63,10 +84,7 @@ public class SchemaValidator {
                         return null;
                     }
                 })
-                .orElse(Collections.emptySet())
-                .stream().map(resource -> Pair.of(resource, SchemaValidator.class.getResourceAsStream("/" + resource)))
-                .filter(pair -> pair.getValue() != null)
-                .forEach(pair -> registerSchema(getSchemaId(pair.getKey()), pair.getValue()));
+                .orElse(Collections.emptySet());
     }
 
     public static SchemaValidator getInstance() {
@@ -44,6 +44,12 @@ public class GenericResourceModule extends
             .iterator();
     }
 
+    @Nullable
+    @Override
+    public GenericResource get(@Nonnull String resourceId) { // generic resources are named by resource id
+        return this.get(resourceId, ResourceId.fromString(resourceId).resourceGroupName());
+    }
+
     @Nonnull
     @Override
     public String toResourceId(@Nonnull String resourceId, @Nullable String resourceGroup) {
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
+import com.microsoft.azure.toolkit.lib.resource.AzureResources;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AzureTest {
+    private interface UnsupportedService extends AzService {
+    }
+
+    @Test
+    public void testLookup() {
+        final AzureResources resources = Azure.az(AzureResources.class);
+        Assert.assertSame(resources, Azure.az(AzureResources.class));
+        Assert.assertTrue(Azure.getServices(AbstractAzService.class).contains(resources));
+        Assert.assertTrue(Azure.getServices(AzService.class).contains(resources));
+        Assert.assertTrue(Azure.getServices("microsoft.resources").contains(resources));
+        Assert.assertTrue(Azure.getServices("Microsoft.Unknown").isEmpty());
+        Assert.assertTrue(Azure.getServices((String) null).isEmpty());
+    }
+
+    @Test(expected = AzureToolkitRuntimeException.class)
+    public void testUnsupportedService() {
+        Azure.az(UnsupportedService.class);
+    }
+
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Set<AzService>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final Set<AzService> found = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (int j = 0; j < 100; j++) {
+                        found.add(Azure.az(AzureResources.class));
+                        Azure.getServices("microsoft.resources").stream().filter(AzureResources.class::isInstance).forEach(found::add);
+                    }
+                    return found;
+                }));
+            }
+            start.countDown();
+            final Set<AzService> found = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final Future<Set<AzService>> result : results) {
+                found.addAll(result.get(1, TimeUnit.MINUTES));
+            }
+            Assert.assertEquals("all threads get the same service by class and by provider", 1, found.size());
+            Assert.assertSame(Azure.az(AzureResources.class), found.iterator().next());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.microsoft.azure.toolkit.lib.common.task.InlineTaskManager;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Cache1Test {
+
+    @BeforeClass
+    public static void setUp() {
+        InlineTaskManager.register();
+    }
+
+    @Test
+    public void testConcurrentGetLoadsOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Cache1<String> cache = new Cache1<>(() -> {
+            loads.incrementAndGet();
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "value";
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(cache::get));
+            }
+            Thread.sleep(100);
+            latch.countDown();
+            for (final Future<String> result : results) {
+                Assert.assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(Cache1.Status.OK, cache.getStatus());
+    }
+
+    @Test
+    public void testReentrantGetReturnsLatest() {
+        final AtomicReference<Cache1<String>> ref = new AtomicReference<>();
+        final Cache1<String> cache = new Cache1<>(() -> ref.get().get() + "-loaded");
+        ref.set(cache);
+        Assert.assertEquals("null-loaded", cache.get());
+        Assert.assertEquals("null-loaded", cache.getIfPresent());
+    }
+
+    @Test
+    public void testInvalidateAndUpdate() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        // listeners run on pooled threads of whichever task manager was registered first
+        final Set<String> changes = ConcurrentHashMap.newKeySet();
+        final CountDownLatch changed = new CountDownLatch(3);
+        final Cache1<Integer> cache = new Cache1<>(loads::incrementAndGet)
+            .onValueChanged((n, o) -> {
+                changes.add(o + "->" + n);
+                changed.countDown();
+            });
+        Assert.assertNull(cache.getIfPresent());
+        Assert.assertEquals(Integer.valueOf(1), cache.get());
+        Assert.assertEquals(Integer.valueOf(1), cache.get());
+        cache.invalidate();
+        Assert.assertNull(cache.getStatus());
+        Assert.assertEquals(Integer.valueOf(2), cache.get());
+        Assert.assertEquals(Integer.valueOf(10), cache.update(() -> 10, null));
+        Assert.assertEquals(Integer.valueOf(10), cache.getIfPresent());
+        Assert.assertEquals(2, loads.get());
+        Assert.assertTrue(changed.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("null->1", "1->2", "2->10")), changes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFailure() {
+        final Cache1<String> cache = new Cache1<>(() -> {
+            throw new IllegalArgumentException("failed");
+        });
+        try {
+            cache.get();
+        } finally {
+            Assert.assertEquals(Cache1.Status.UNKNOWN, cache.getStatus());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.microsoft.azure.toolkit.lib.common.model.Subscription;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class PersistentCacheTest {
+    private static final TypeReference<List<Subscription>> TYPE = new TypeReference<List<Subscription>>() {
+    };
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private PersistentCache cache;
+
+    @Before
+    public void setUp() {
+        this.cache = new PersistentCache(folder.getRoot().toPath().resolve("cache"));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final List<Subscription> subscriptions = Arrays.asList(
+            Subscription.builder().id("sub1").name("a").tenantId("t1").build(),
+            Subscription.builder().id("sub2").name("b").tenantId("t1").build());
+        cache.put("subscriptions/azure/t1/o1", subscriptions);
+        final List<Subscription> cached = cache.get("subscriptions/azure/t1/o1", TYPE, Duration.ofHours(1));
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(subscriptions, cached);
+        Assert.assertEquals("b", cached.get(1).getName());
+        Assert.assertNull(cache.get("subscriptions/azure/t1/o2", TYPE, Duration.ofHours(1)));
+    }
+
+    @Test
+    public void testExpired() throws Exception {
+        cache.put("key", Arrays.asList("a", "b"));
+        Thread.sleep(20);
+        Assert.assertNull(cache.get("key", new TypeReference<List<String>>() {
+        }, Duration.ofMillis(10)));
+    }
+
+    @Test
+    public void testCorruptedAndInvalidated() throws Exception {
+        cache.put("key", "value");
+        cache.put("other", "value");
+        try (Stream<Path> files = Files.list(cache.getLocation())) {
+            final Path file = files.findFirst().orElseThrow(IllegalStateException::new);
+            Files.write(file, "{broken".getBytes(StandardCharsets.UTF_8));
+        }
+        final TypeReference<String> type = new TypeReference<String>() {
+        };
+        final long remaining = Stream.of("key", "other")
+            .filter(k -> cache.get(k, type, Duration.ofHours(1)) != null).count();
+        Assert.assertEquals(1, remaining);
+        cache.invalidate("key");
+        cache.invalidate("other");
+        Assert.assertNull(cache.get("key", type, Duration.ofHours(1)));
+        Assert.assertNull(cache.get("other", type, Duration.ofHours(1)));
+    }
+}
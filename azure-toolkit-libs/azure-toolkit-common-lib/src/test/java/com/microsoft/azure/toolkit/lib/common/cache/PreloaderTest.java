@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
+import com.microsoft.azure.toolkit.lib.common.utils.Indexes;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+public class PreloaderTest {
+    @Test
+    public void testGetPreloadingMethods() {
+        final Set<Method> methods = Preloader.getPreloadingMethods();
+        Assert.assertTrue(methods.stream().anyMatch(m -> m.getDeclaringClass() == AbstractAzService.class && m.getName().equals("preload")));
+        Assert.assertTrue(methods.stream().allMatch(m -> m.isAnnotationPresent(Preload.class)));
+    }
+
+    @Test
+    public void testIndexesCoverClasspathScan() {
+        final Set<Method> methods = Preloader.getPreloadingMethods();
+        final Set<Method> scannedMethods = Preloader.scanPreloadingMethods();
+        Assert.assertFalse(scannedMethods.isEmpty());
+        Assert.assertTrue(methods.containsAll(scannedMethods));
+
+        final Set<String> schemas = Indexes.read(PreloaderTest.class.getClassLoader(), Indexes.SCHEMAS);
+        final Set<String> scannedSchemas = new Reflections("schema", Scanners.Resources).getResources(".*\\.json");
+        Assert.assertFalse(scannedSchemas.isEmpty());
+        Assert.assertTrue(schemas.containsAll(scannedSchemas));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.microsoft.azure.toolkit.lib.common.cache.RevalidatingHttpClient.SnapshotResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+public class RevalidatingHttpClientTest {
+    private static final String URL = "https://management.azure.com/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/app?api-version=2022-03-01";
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private FakeHttpClient server;
+    private HttpClient client;
+
+    @Before
+    public void setUp() {
+        final PersistentCache cache = new PersistentCache(folder.getRoot().toPath().resolve("cache"));
+        this.server = new FakeHttpClient();
+        this.client = new RevalidatingHttpClient(this.server, () -> cache, () -> true);
+    }
+
+    @Test
+    public void testRevalidateWithEtag() {
+        this.server.respond(200, "\"v1\"", "{\"name\":\"app\"}");
+        Assert.assertEquals("{\"name\":\"app\"}", this.get(URL).getBodyAsString().block());
+        Assert.assertNull(this.server.requests.get(0).getHeaders().getValue("If-None-Match"));
+
+        this.server.respond(304, null, "");
+        final HttpResponse revalidated = this.get(URL);
+        Assert.assertEquals("\"v1\"", this.server.requests.get(1).getHeaders().getValue("If-None-Match"));
+        Assert.assertEquals(200, revalidated.getStatusCode());
+        Assert.assertEquals("{\"name\":\"app\"}", revalidated.getBodyAsString().block());
+        Assert.assertEquals("\"v1\"", revalidated.getHeaderValue("ETag"));
+
+        this.server.respond(200, "\"v2\"", "{\"name\":\"app2\"}");
+        Assert.assertEquals("{\"name\":\"app2\"}", this.get(URL).getBodyAsString().block());
+        this.server.respond(304, null, "");
+        Assert.assertEquals("{\"name\":\"app2\"}", this.get(URL).getBodyAsString().block());
+        Assert.assertEquals("\"v2\"", this.server.requests.get(3).getHeaders().getValue("If-None-Match"));
+    }
+
+    @Test
+    public void testNotPersistedWithoutEtagOrAfterNotFound() {
+        this.server.respond(200, null, "{}");
+        this.get(URL);
+        this.server.respond(200, null, "{}");
+        this.get(URL);
+        Assert.assertNull("responses without etag are not persisted", this.server.requests.get(1).getHeaders().getValue("If-None-Match"));
+
+        this.server.respond(200, "\"v1\"", "{}");
+        this.get(URL);
+        this.server.respond(404, null, "");
+        Assert.assertEquals(404, this.get(URL).getStatusCode());
+        this.server.respond(404, null, "");
+        this.get(URL);
+        Assert.assertNull("snapshot is dropped once it's not found", this.server.requests.get(4).getHeaders().getValue("If-None-Match"));
+    }
+
+    @Test
+    public void testOnlyResourcesAreRevalidated() {
+        final String tenants = "https://management.azure.com/tenants?api-version=2020-01-01";
+        this.server.respond(200, "\"v1\"", "{}");
+        this.get(tenants);
+        this.server.respond(200, "\"v1\"", "{}");
+        this.get(tenants);
+        Assert.assertNull(this.server.requests.get(1).getHeaders().getValue("If-None-Match"));
+    }
+
+    private HttpResponse get(String url) {
+        return this.client.send(new HttpRequest(HttpMethod.GET, url)).block();
+    }
+
+    private static class FakeHttpClient implements HttpClient {
+        private final List<HttpRequest> requests = Collections.synchronizedList(new ArrayList<>());
+        private final Queue<Object[]> responses = new LinkedList<>();
+
+        void respond(int status, String etag, String body) {
+            this.responses.add(new Object[]{status, etag, body});
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            this.requests.add(request);
+            final Object[] response = this.responses.remove();
+            final HttpHeaders headers = new HttpHeaders();
+            if (response[1] != null) {
+                headers.set("ETag", (String) response[1]);
+            }
+            return Mono.just(new SnapshotResponse(request, (Integer) response[0], headers, (String) response[2]));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class AzureEventBusTest {
+    private static final int RESOURCES = 1_000;
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(condition.get());
+    }
+
+    @Test
+    public void testDeliverOneByOne() throws Exception {
+        final String type = "test.delivered.one_by_one";
+        final CountDownLatch latch = new CountDownLatch(3);
+        final List<Object> sources = Collections.synchronizedList(new ArrayList<>());
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            sources.add(e.getSource());
+            latch.countDown();
+        }));
+        AzureEventBus.emit(type, "a");
+        AzureEventBus.emit(type, "a");
+        AzureEventBus.emit(type, "b");
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, sources.size());
+        final EventMetrics metrics = AzureEventBus.getMetrics(type);
+        Assert.assertEquals("events are not coalesced by default", 0, metrics.getCoalesced());
+        Assert.assertEquals(3, metrics.getDispatched());
+        await(() -> metrics.getQueueDepth() == 0);
+    }
+
+    @Test
+    public void testQueueDepthCountsUndeliveredEvents() throws Exception {
+        final String type = "test.queued.one_by_one";
+        final CountDownLatch release = new CountDownLatch(1);
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+        }));
+        AzureEventBus.emit(type, "a");
+        AzureEventBus.emit(type, "b");
+        AzureEventBus.emit(type, "c");
+        final EventMetrics metrics = AzureEventBus.getMetrics(type);
+        await(() -> metrics.getQueueDepth() == 3);
+        Thread.sleep(100);
+        Assert.assertEquals("deliveries to the blocked listener are not finished", 3, metrics.getQueueDepth());
+        release.countDown();
+        await(() -> metrics.getQueueDepth() == 0);
+    }
+
+    @Test
+    public void testListenersCalledAsynchronously() throws Exception {
+        final String type = "test.delivered.async";
+        final CountDownLatch second = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            try { // never returns if listeners are called one after another.
+                if (second.await(5, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            second.countDown();
+            done.countDown();
+        }));
+        AzureEventBus.emit(type, "a");
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCoalesceBySource() throws Exception {
+        final String type = "test.coalesced.by_source";
+        AzureEventBus.coalesce(type, Duration.ofMillis(200));
+        final List<Object> payloads = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> payloads.add(e.getPayload())));
+        AzureEventBus.onBatch(type, events -> batches.add(events.size()));
+        final Object source = new Object();
+        final Object other = new Object();
+        AzureEventBus.emit(type, source, 1);
+        AzureEventBus.emit(type, source, 2);
+        AzureEventBus.emit(type, other, 1);
+        AzureEventBus.emit(type, source, 3);
+        await(() -> payloads.size() == 2 && batches.size() == 1);
+        Assert.assertTrue(payloads.containsAll(Arrays.asList(3, 1)));
+        Assert.assertEquals(Collections.singletonList(2), batches);
+        final EventMetrics metrics = AzureEventBus.getMetrics(type);
+        Assert.assertEquals(4, metrics.getEmitted());
+        Assert.assertEquals(2, metrics.getCoalesced());
+        Assert.assertEquals(2, metrics.getDispatched());
+        await(() -> metrics.getQueueDepth() == 0);
+    }
+
+    @Test
+    public void testCoalescedEventsDeliveredInBatch() throws Exception {
+        final String type = "test.coalesced.batch";
+        AzureEventBus.coalesce(type, Duration.ofMillis(500));
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger delivered = new AtomicInteger();
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                delivered.incrementAndGet();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        for (int i = 0; i < 100; i++) {
+            AzureEventBus.emit(type, new Object());
+        }
+        final EventMetrics metrics = AzureEventBus.getMetrics(type);
+        Assert.assertEquals("events waiting for the window to close", 100, metrics.getQueueDepth());
+        await(() -> metrics.getDispatched() == 100);
+        Assert.assertEquals("the listener is called once for the batch", 1, metrics.getQueueDepth());
+        release.countDown();
+        await(() -> delivered.get() == 100 && metrics.getQueueDepth() == 0);
+    }
+
+    @Test
+    public void testResourceEventsCoalescedByDefault() throws Exception {
+        final Object resource = new Object();
+        for (final String type : Arrays.asList("resource.status_changed.resource", "module.children_changed.module")) {
+            final EventMetrics metrics = AzureEventBus.getMetrics(type);
+            final long coalesced = metrics.getCoalesced();
+            AzureEventBus.emit(type, resource);
+            AzureEventBus.emit(type, resource);
+            Assert.assertEquals(type, coalesced + 1, metrics.getCoalesced());
+        }
+    }
+
+    /**
+     * 5 status changes of each of 1k resources, as emitted after a large listing.
+     */
+    @Test
+    public void testCoalesceBulkStatusChanges() throws Exception {
+        final String type = "test.coalesced.bulk";
+        AzureEventBus.coalesce(type, Duration.ofMillis(50));
+        final Set<Object> notified = ConcurrentHashMap.newKeySet();
+        final AtomicInteger delivered = new AtomicInteger();
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> {
+            notified.add(e.getSource());
+            delivered.incrementAndGet();
+        }));
+        final List<Object> resources = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            resources.add(new Object());
+        }
+        for (int round = 0; round < 5; round++) {
+            resources.forEach(r -> AzureEventBus.emit(type, r));
+        }
+        final EventMetrics metrics = AzureEventBus.getMetrics(type);
+        await(() -> metrics.getQueueDepth() == 0 && delivered.get() == metrics.getDispatched());
+        Assert.assertEquals(RESOURCES, notified.size());
+        Assert.assertEquals(RESOURCES * 5, metrics.getEmitted());
+        Assert.assertEquals(metrics.getEmitted(), metrics.getDispatched() + metrics.getCoalesced());
+        Assert.assertTrue("every resource is notified at least once, but not for every change", delivered.get() < RESOURCES * 5);
+    }
+}
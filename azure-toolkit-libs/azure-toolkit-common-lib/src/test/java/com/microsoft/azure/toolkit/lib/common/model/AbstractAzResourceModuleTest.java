@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.util.paging.ContinuablePage;
+import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
+import com.microsoft.azure.toolkit.lib.common.task.InlineTaskManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class AbstractAzResourceModuleTest {
+    private static final String PARENT_ID = "/subscriptions/sub/resourceGroups/" + AzResource.RESOURCE_GROUP_PLACEHOLDER + "/providers/Microsoft.Mock";
+
+    private AzResource parent;
+
+    @BeforeClass
+    public static void setUpClass() {
+        InlineTaskManager.register();
+    }
+
+    @Before
+    public void setUp() {
+        this.parent = Mockito.mock(AzResource.class);
+        Mockito.when(this.parent.getId()).thenReturn(PARENT_ID);
+        Mockito.when(this.parent.getSubscriptionId()).thenReturn("sub");
+    }
+
+    private static String id(String name) {
+        return PARENT_ID.replace(AzResource.RESOURCE_GROUP_PLACEHOLDER, "rg") + "/mocks/" + name;
+    }
+
+    private static List<String> ids(String... names) {
+        return Arrays.stream(names).map(AbstractAzResourceModuleTest::id).collect(Collectors.toList());
+    }
+
+    private static List<String> idsOf(List<MockResource> resources) {
+        return resources.stream().map(AbstractAzResource::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testGetAllCachesNonexistentOfOwnedType() {
+        final MockModule module = new MockModule(this.parent, false, Collections.singletonList(ids("a", "b")));
+        final List<MockResource> resources = module.getAll(ids("a", "b", "c", "d", "e"));
+        Assert.assertEquals(ids("a", "b"), idsOf(resources));
+        Assert.assertEquals(1, module.listedPages.get());
+        Assert.assertEquals(0, module.loadedResources.get());
+
+        Assert.assertNull(module.get(id("c")));
+        Assert.assertEquals("nonexistent resources are cached", 0, module.loadedResources.get());
+    }
+
+    @Test
+    public void testGetAllNeverCachesNonexistentOfSharedType() {
+        final MockModule module = new MockModule(this.parent, true, Collections.singletonList(ids("a", "b")));
+        final List<MockResource> resources = module.getAll(ids("a", "b", "c", "d", "e"));
+        Assert.assertEquals(ids("a", "b"), idsOf(resources));
+        Assert.assertEquals(0, module.loadedResources.get());
+
+        Assert.assertNull(module.get(id("c")));
+        Assert.assertEquals("resources not listed may be of other modules", 1, module.loadedResources.get());
+    }
+
+    @Test
+    public void testGetAllListsLimitedPages() {
+        final List<List<String>> pages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            pages.add(ids("r" + i));
+        }
+        final MockModule module = new MockModule(this.parent, false, pages);
+        final List<MockResource> resources = module.getAll(ids("r0", "r1", "r2", "r18", "r19", "x"));
+        Assert.assertEquals(ids("r0", "r1", "r2", "r18", "r19"), idsOf(resources));
+        Assert.assertTrue(module.listedPages.get() < pages.size());
+        Assert.assertEquals("resources not listed are loaded one by one", 3, module.loadedResources.get());
+    }
+
+    @Test
+    public void testGetAllLoadsFewMissingOneByOne() {
+        final MockModule module = new MockModule(this.parent, false, Collections.singletonList(ids("a", "b")));
+        final List<MockResource> resources = module.getAll(ids("a", "c"));
+        Assert.assertEquals(ids("a"), idsOf(resources));
+        Assert.assertEquals(0, module.listedPages.get());
+        Assert.assertEquals(2, module.loadedResources.get());
+    }
+
+    @Test
+    public void testListReloadsAfterStreamCancelled() {
+        final MockModule module = new MockModule(this.parent, false, Arrays.asList(ids("a"), ids("b"), ids("c")));
+        final MockResource first = module.listStream().blockFirst();
+        Assert.assertNotNull(first);
+        Assert.assertEquals(id("a"), first.getId());
+        Assert.assertEquals(-1, module.syncTimeRef.get());
+
+        final int listed = module.listedPages.get();
+        Assert.assertEquals(ids("a"), idsOf(module.list()));
+        Assert.assertTrue("list() restarts listing", module.listedPages.get() > listed);
+        Assert.assertTrue(module.syncTimeRef.get() > 0);
+        Assert.assertTrue(module.hasMoreResources());
+    }
+
+    @Test
+    public void testListReloadsAfterStreamFailed() {
+        final List<List<String>> pages = new ArrayList<>(Arrays.asList(ids("a"), null));
+        final MockModule module = new MockModule(this.parent, false, pages);
+        try {
+            module.listStream().collectList().block();
+            Assert.fail("failure of listing is propagated to subscribers");
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals(-1, module.syncTimeRef.get());
+        }
+
+        pages.set(1, ids("b"));
+        Assert.assertEquals(ids("a"), idsOf(module.list()));
+        Assert.assertTrue(module.syncTimeRef.get() > 0);
+        module.loadMoreResources();
+        Assert.assertEquals(ids("a", "b"), idsOf(module.list()));
+    }
+
+    @Test
+    public void testStreamIsLazy() {
+        final MockModule module = new MockModule(this.parent, false, Collections.singletonList(ids("a")));
+        final Flux<MockResource> stream = module.listStream();
+        Assert.assertEquals(-1, module.syncTimeRef.get());
+        Assert.assertEquals(ids("a"), idsOf(stream.collectList().block()));
+        Assert.assertTrue(module.syncTimeRef.get() > 0);
+    }
+
+    @Test
+    public void testOnlyFetchingPagesThrottled() {
+        final MockModule module = new MockModule(this.parent, false, Arrays.asList(ids("a"), ids("b")));
+        Assert.assertEquals(ids("a"), idsOf(module.list()));
+        final int throttled = module.throttledRequests.get();
+
+        Assert.assertTrue(module.hasMoreResources());
+        Assert.assertTrue(module.hasMoreResources());
+        Assert.assertEquals("the fetched page is buffered", throttled + 1, module.throttledRequests.get());
+        module.loadMoreResources();
+        Assert.assertEquals(ids("a", "b"), idsOf(module.list()));
+        Assert.assertEquals(throttled + 1, module.throttledRequests.get());
+
+        Assert.assertFalse(module.hasMoreResources());
+        Assert.assertFalse(module.hasMoreResources());
+        Assert.assertEquals("no more pages is remembered", throttled + 2, module.throttledRequests.get());
+        Assert.assertEquals(2, module.listedPages.get());
+    }
+
+    private abstract static class MockResource extends AbstractAzResource<MockResource, AzResource, String> {
+        protected MockResource(String name, String resourceGroupName, AbstractAzResourceModule<MockResource, AzResource, String> module) {
+            super(name, resourceGroupName, module);
+        }
+    }
+
+    private static class MockModule extends AbstractAzResourceModule<MockResource, AzResource, String> {
+        private final boolean shared;
+        private final List<List<String>> pages;
+        private final AtomicInteger listedPages = new AtomicInteger();
+        private final AtomicInteger loadedResources = new AtomicInteger();
+        private final AtomicInteger throttledRequests = new AtomicInteger();
+
+        MockModule(@Nonnull AzResource parent, boolean shared, @Nonnull List<List<String>> pages) {
+            super("mocks", parent);
+            this.shared = shared;
+            this.pages = pages;
+        }
+
+        @Nonnull
+        @Override
+        protected Iterator<? extends ContinuablePage<String, String>> loadResourcePagesFromAzure() {
+            return this.pages.stream().map(page -> {
+                if (page == null) {
+                    throw new IllegalStateException("failed to list page");
+                }
+                this.listedPages.incrementAndGet();
+                return new ItemPage<>(page);
+            }).iterator();
+        }
+
+        @Nullable
+        @Override
+        protected String loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+            this.loadedResources.incrementAndGet();
+            final String id = this.toResourceId(name, resourceGroup);
+            return this.pages.stream().filter(Objects::nonNull).flatMap(List::stream).filter(id::equalsIgnoreCase).findAny().orElse(null);
+        }
+
+        @Override
+        protected void addResources(Map<String, String> loadedResources) {
+            loadedResources.values().forEach(remote -> this.addResourceToLocal(remote, this.newResource(remote), true));
+            this.syncTimeRef.set(System.currentTimeMillis());
+        }
+
+        @Nonnull
+        @Override
+        protected MockResource newResource(@Nonnull String remote) {
+            final MockResource resource = Mockito.mock(MockResource.class);
+            Mockito.when(resource.getId()).thenReturn(remote);
+            Mockito.when(resource.getName()).thenReturn(remote.substring(remote.lastIndexOf('/') + 1));
+            Mockito.when(resource.getResourceGroupName()).thenReturn("rg");
+            return resource;
+        }
+
+        @Nonnull
+        @Override
+        protected MockResource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return this.newResource(this.toResourceId(name, resourceGroupName));
+        }
+
+        @Override
+        protected boolean isResourceTypeShared() {
+            return this.shared;
+        }
+
+        @Override
+        protected <V> V throttled(@Nonnull Supplier<V> body) {
+            this.throttledRequests.incrementAndGet();
+            return body.get();
+        }
+
+        @Override
+        protected boolean isAuthRequiredForListing() {
+            return false;
+        }
+
+        @Override
+        protected boolean isAuthRequiredForResource(@Nonnull String resourceId) {
+            return false;
+        }
+    }
+}
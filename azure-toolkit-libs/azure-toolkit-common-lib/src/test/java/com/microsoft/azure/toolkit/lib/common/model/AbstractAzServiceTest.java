@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class AbstractAzServiceTest {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    public void testResourcesOrderedBySubscription() {
+        final Map<String, Callable<List<String>>> listings = new HashMap<>();
+        listings.put("sub1", () -> this.sleepAndReturn(200, "a1", "a2"));
+        listings.put("sub2", () -> this.sleepAndReturn(100, "b1"));
+        listings.put("sub3", () -> this.sleepAndReturn(0, "c1", "c2"));
+        final CrossSubscriptionListing<String> result = this.listAcrossSubscriptions(listings, 3, Duration.ofSeconds(10), "sub1", "sub2", "sub3");
+        Assert.assertEquals(Arrays.asList("a1", "a2", "b1", "c1", "c2"), result.getResources());
+        Assert.assertFalse(result.isPartial());
+    }
+
+    @Test
+    public void testFailuresReportedPerSubscription() {
+        final Map<String, Callable<List<String>>> listings = new HashMap<>();
+        listings.put("sub1", () -> this.sleepAndReturn(0, "a1"));
+        listings.put("sub2", () -> {
+            throw new IllegalStateException("forbidden");
+        });
+        listings.put("sub3", () -> this.sleepAndReturn(0, "c1"));
+        final CrossSubscriptionListing<String> result = this.listAcrossSubscriptions(listings, 2, Duration.ofSeconds(10), "sub1", "sub2", "sub3");
+        Assert.assertEquals(Arrays.asList("a1", "c1"), result.getResources());
+        Assert.assertTrue(result.isPartial());
+        Assert.assertEquals(Collections.singleton("sub2"), result.getFailures().keySet());
+        Assert.assertEquals("forbidden", result.getFailures().get("sub2").getMessage());
+    }
+
+    @Test
+    public void testTimedOutSubscriptionsInterruptedAndConcurrencyBounded() {
+        final Map<String, Callable<List<String>>> listings = new HashMap<>();
+        final AtomicInteger interrupted = new AtomicInteger();
+        listings.put("sub1", () -> this.sleepAndReturn(0, "a1"));
+        listings.put("sub2", () -> { // hangs until interrupted
+            try {
+                return this.sleepAndReturn(60_000, "b1");
+            } catch (final InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+        });
+        listings.put("sub3", () -> this.ignoreInterruptAndReturn(500, "c1")); // stops long after it's timed out
+        listings.put("sub4", () -> this.sleepAndReturn(50, "d1"));
+        listings.put("sub5", () -> this.sleepAndReturn(50, "e1"));
+        final long start = System.currentTimeMillis();
+        final CrossSubscriptionListing<String> result = this.listAcrossSubscriptions(listings, 2, Duration.ofMillis(200), "sub1", "sub2", "sub3", "sub4", "sub5");
+        Assert.assertTrue(System.currentTimeMillis() - start < 10_000);
+        Assert.assertEquals(Arrays.asList("a1", "d1", "e1"), result.getResources());
+        Assert.assertEquals(Arrays.asList("sub2", "sub3"), result.getFailures().keySet().stream().sorted().collect(Collectors.toList()));
+        Assert.assertTrue(result.getFailures().get("sub2") instanceof TimeoutException);
+        Assert.assertTrue(result.getFailures().get("sub3") instanceof TimeoutException);
+        Assert.assertEquals(1, interrupted.get());
+        Assert.assertTrue("listings in flight: " + this.maxInFlight.get(), this.maxInFlight.get() <= 2);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CrossSubscriptionListing<String> listAcrossSubscriptions(Map<String, Callable<List<String>>> listings, int concurrency,
+                                                                     Duration timeout, String... subscriptionIds) {
+        final List<AbstractAzServiceSubscription> subscriptions = Arrays.stream(subscriptionIds).map(id -> {
+            final AbstractAzServiceSubscription subscription = Mockito.mock(AbstractAzServiceSubscription.class);
+            Mockito.when(subscription.getSubscriptionId()).thenReturn(id);
+            return subscription;
+        }).collect(Collectors.toList());
+        final AbstractAzService service = Mockito.mock(AbstractAzService.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(subscriptions).when(service).list();
+        Mockito.doReturn("mocks").when(service).getName();
+        Mockito.doReturn("mocks").when(service).getResourceTypeName();
+        Mockito.doReturn("sub1").when(service).getSubscriptionId();
+        final Map<String, AzResourceModule> modules = new HashMap<>();
+        listings.forEach((id, listing) -> {
+            final AzResourceModule module = Mockito.mock(AzResourceModule.class);
+            Mockito.when(module.list()).thenAnswer(i -> this.inFlight(listing));
+            modules.put(id, module);
+        });
+        return service.listAcrossSubscriptions(s -> modules.get(((AbstractAzServiceSubscription) s).getSubscriptionId()), concurrency, timeout);
+    }
+
+    private List<String> inFlight(Callable<List<String>> listing) throws Exception {
+        this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+        try {
+            return listing.call();
+        } finally {
+            this.inFlight.decrementAndGet();
+        }
+    }
+
+    private List<String> sleepAndReturn(long millis, String... resources) throws InterruptedException {
+        Thread.sleep(millis);
+        return Arrays.asList(resources);
+    }
+
+    private List<String> ignoreInterruptAndReturn(long millis, String... resources) {
+        final long until = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < until) {
+            try {
+                Thread.sleep(Math.max(1, until - System.currentTimeMillis()));
+            } catch (final InterruptedException ignored) {
+                // keep listing
+            }
+        }
+        return Arrays.asList(resources);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class ResourceStoreTest {
+    private ResourceStore<MockResource> store;
+
+    @Before
+    public void setUp() {
+        this.store = new ResourceStore<>();
+    }
+
+    private static MockResource mock(String name, String rg) {
+        final MockResource resource = Mockito.mock(MockResource.class);
+        Mockito.when(resource.getName()).thenReturn(name);
+        Mockito.when(resource.getResourceGroupName()).thenReturn(rg);
+        return resource;
+    }
+
+    @Test
+    public void testValuesInInsertionOrder() {
+        final MockResource b = mock("b", "rg1");
+        final MockResource a = mock("a", "rg2");
+        Assert.assertTrue(store.putIfNotPresent("b", Optional.of(b)));
+        Assert.assertTrue(store.putIfNotPresent("a", Optional.of(a)));
+        Assert.assertTrue(store.putIfNotPresent("c", Optional.empty()));
+        Assert.assertEquals(Arrays.asList(b, a), store.values());
+        Assert.assertSame(store.values(), store.values());
+        Assert.assertTrue(store.containsKey("c"));
+        Assert.assertFalse(store.get("c").isPresent());
+    }
+
+    @Test
+    public void testPutIfNotPresent() {
+        final MockResource a = mock("a", "rg");
+        final MockResource other = mock("a", "rg");
+        Assert.assertTrue(store.putIfNotPresent("a", Optional.empty()));
+        Assert.assertTrue(store.putIfNotPresent("a", Optional.of(a)));
+        Assert.assertFalse(store.putIfNotPresent("a", Optional.of(other)));
+        Assert.assertSame(a, store.get("a").orElse(null));
+    }
+
+    @Test
+    public void testIndexes() {
+        final MockResource a = mock("a", "RG1");
+        final MockResource b = mock("b", "rg1");
+        final MockResource c = mock("A", "rg2");
+        store.putIfNotPresent("a", Optional.of(a));
+        store.putIfNotPresent("b", Optional.of(b));
+        store.putIfNotPresent("c", Optional.of(c));
+        final List<MockResource> rg1 = store.listByResourceGroup("rg1");
+        Assert.assertEquals(Arrays.asList(a, b), rg1);
+        Assert.assertEquals(Arrays.asList(a, c), store.listByName("a"));
+
+        Assert.assertSame(a, store.remove("a").orElse(null));
+        Assert.assertEquals(Collections.singletonList(b), store.listByResourceGroup("RG1"));
+        Assert.assertEquals(Collections.singletonList(c), store.listByName("a"));
+        Assert.assertEquals(Arrays.asList(b, c), store.values());
+    }
+
+    @Test
+    public void testRemoveAbsentAndClear() {
+        store.putIfNotPresent("a", Optional.of(mock("a", "rg")));
+        store.putIfNotPresent("b", Optional.empty());
+        store.removeAbsent();
+        Assert.assertTrue(store.containsKey("a"));
+        Assert.assertFalse(store.containsKey("b"));
+        store.clear();
+        Assert.assertTrue(store.values().isEmpty());
+        Assert.assertTrue(store.listByResourceGroup("rg").isEmpty());
+    }
+
+    private abstract static class MockResource extends AbstractAzResource<MockResource, AzResource, Object> {
+        protected MockResource(String name, String resourceGroupName, AbstractAzResourceModule<MockResource, AzResource, Object> module) {
+            super(name, resourceGroupName, module);
+        }
+    }
+}
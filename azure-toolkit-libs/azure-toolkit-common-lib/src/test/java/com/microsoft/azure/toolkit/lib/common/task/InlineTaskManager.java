@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+/**
+ * runs all tasks in the calling thread. {@link AzureTaskManager#register(AzureTaskManager)} keeps the first registered
+ * manager for the whole test JVM, tests that need one should {@link #register()} this one rather than a mock, so that
+ * tasks are run whichever test class registers first.
+ */
+public class InlineTaskManager extends AzureTaskManager {
+    public static void register() {
+        AzureTaskManager.register(new InlineTaskManager());
+    }
+
+    @Override
+    protected void doRead(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doWrite(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunLater(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunOnPooledThread(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunAndWait(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunInBackground(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunInModal(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.throttling;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestGovernorTest {
+    private HttpServer server;
+    private HttpClient client;
+    private final AtomicInteger remaining = new AtomicInteger(12000);
+    private final AtomicInteger throttle = new AtomicInteger(0);
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Connection", "close");
+            if (throttle.getAndUpdate(i -> Math.max(0, i - 1)) > 0) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(429, -1);
+            } else {
+                exchange.getResponseHeaders().add(RequestGovernor.HEADER_REMAINING_READS, String.valueOf(remaining.decrementAndGet()));
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        this.server.start();
+        this.client = RequestGovernor.observe(new NettyAsyncHttpClientBuilder().build());
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    private int get(String subscriptionId) {
+        final String url = String.format("http://localhost:%d/subscriptions/%s/resourceGroups", server.getAddress().getPort(), subscriptionId);
+        final HttpResponse response = this.client.send(new HttpRequest(HttpMethod.GET, url)).block();
+        Assert.assertNotNull(response);
+        response.close();
+        return response.getStatusCode();
+    }
+
+    @Test
+    public void testThrottledResponsesDecreaseLimit() {
+        final RequestGovernor governor = RequestGovernor.forSubscription("throttled");
+        throttle.set(2);
+        Assert.assertEquals(429, governor.execute(() -> get("throttled")).intValue());
+        Assert.assertEquals(429, governor.execute(() -> get("throttled")).intValue());
+        Assert.assertEquals(200, governor.execute(() -> get("throttled")).intValue());
+        final RequestGovernor.Metrics metrics = governor.getMetrics();
+        Assert.assertEquals(2, metrics.getThrottled());
+        Assert.assertEquals(3, metrics.getRequests());
+        Assert.assertEquals((int) RequestGovernor.MIN_LIMIT, metrics.getLimit());
+        Assert.assertEquals(remaining.get(), metrics.getRemainingQuota());
+    }
+
+    @Test
+    public void testLowRemainingQuotaDecreasesLimit() {
+        final RequestGovernor governor = RequestGovernor.forSubscription("low-quota");
+        remaining.set(RequestGovernor.LOW_REMAINING_QUOTA);
+        governor.execute(() -> get("low-quota"));
+        Assert.assertEquals((int) (RequestGovernor.INITIAL_LIMIT / 2), governor.getMetrics().getLimit());
+        Assert.assertEquals(0, governor.getMetrics().getThrottled());
+    }
+
+    @Test
+    public void testSuccessfulResponsesIncreaseLimit() {
+        final RequestGovernor governor = RequestGovernor.forSubscription("healthy");
+        for (int i = 0; i < 40; i++) {
+            governor.execute(() -> get("healthy"));
+        }
+        Assert.assertTrue(governor.getMetrics().getLimit() > RequestGovernor.INITIAL_LIMIT);
+    }
+
+    @Test
+    public void testWaitForPermitIsBounded() {
+        final RequestGovernor governor = RequestGovernor.forSubscription("paused");
+        governor.onResponse(429, null, "600");
+        final long start = System.nanoTime();
+        Assert.assertEquals(200, governor.execute(() -> get("paused")).intValue());
+        final long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(waited >= RequestGovernor.MAX_WAIT_MILLIS && waited < RequestGovernor.MAX_WAIT_MILLIS * 2);
+    }
+
+    @Test
+    public void testConcurrencyIsLimited() throws Exception {
+        final RequestGovernor governor = RequestGovernor.forSubscription("concurrent");
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> governor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    // nested requests in the same thread don't require another permit
+                    governor.execute(running::get);
+                    return running.decrementAndGet();
+                })));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(peak.get() <= (int) RequestGovernor.INITIAL_LIMIT);
+        Assert.assertEquals(64, governor.getMetrics().getRequests());
+        Assert.assertEquals(0, governor.getMetrics().getQueueDepth());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatusWatcherTest {
+    @Test
+    public void testTransitions() {
+        final List<String> statuses = Arrays.asList("building", "building", "starting", "starting", "succeeded", "unexpected");
+        final AtomicInteger polls = new AtomicInteger();
+        final long start = System.currentTimeMillis();
+        final List<String> transitions = new StatusWatcher<>(() -> statuses.get(polls.getAndIncrement()))
+            .setInitialInterval(Duration.ofMillis(10))
+            .setMaxInterval(Duration.ofMillis(40))
+            .watch("succeeded"::equals)
+            .collectList().block();
+        Assert.assertEquals(Arrays.asList("building", "starting", "succeeded"), transitions);
+        Assert.assertEquals(5, polls.get());
+        // 10 + 20 + 40 + 40, far less than polling every max interval
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void testTimeout() {
+        final AtomicInteger polls = new AtomicInteger();
+        final String result = new StatusWatcher<>(() -> polls.incrementAndGet() > 1 ? "running" : null)
+            .setInitialInterval(Duration.ofMillis(10))
+            .setMaxInterval(Duration.ofMillis(20))
+            .setTimeout(Duration.ofMillis(200))
+            .waitUntil("succeeded"::equals);
+        Assert.assertEquals("running", result);
+        Assert.assertTrue(polls.get() > 2);
+    }
+
+    @Test
+    public void testWithoutStatusKey() {
+        final AtomicInteger polls = new AtomicInteger();
+        final long count = new StatusWatcher<>(() -> polls.incrementAndGet() >= 3 ? "done" : "running")
+            .setInitialInterval(Duration.ofMillis(10))
+            .setStatusKey(null)
+            .watch("done"::equals)
+            .count().block();
+        Assert.assertEquals(3, count);
+    }
+}
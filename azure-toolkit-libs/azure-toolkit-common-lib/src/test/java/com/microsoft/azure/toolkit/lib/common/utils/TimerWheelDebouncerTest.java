@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class TimerWheelDebouncerTest {
+    private static final int DEBOUNCERS = 1000;
+    private static final int ROUNDS = 5;
+    private static final int DELAY = 200;
+    /**
+     * firing early is a bug, firing late is bounded loosely, so that scheduling delays of a busy machine don't fail the test.
+     */
+    private static final int TOLERANCE = 1000;
+
+    @Test
+    public void testTailing() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final TimerWheelDebouncer debouncer = new TimerWheelDebouncer(runs::incrementAndGet, 100);
+        for (int i = 0; i < 5; i++) {
+            debouncer.debounce();
+            Thread.sleep(30);
+        }
+        Assert.assertTrue(debouncer.isPending());
+        Assert.assertEquals(0, runs.get());
+        Thread.sleep(300);
+        Assert.assertFalse(debouncer.isPending());
+        Assert.assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final TimerWheelDebouncer debouncer = new TimerWheelDebouncer(runs::incrementAndGet, 50);
+        debouncer.debounce();
+        debouncer.cancel();
+        Assert.assertFalse(debouncer.isPending());
+        Thread.sleep(200);
+        Assert.assertEquals(0, runs.get());
+        debouncer.debounce();
+        Thread.sleep(200);
+        Assert.assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testWheelThreadParkedWhenIdle() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        new TimerWheelDebouncer(latch::countDown, 20).debounce();
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        final Thread wheel = Thread.getAllStackTraces().keySet().stream()
+            .filter(t -> "azure-toolkit-debouncer".equals(t.getName())).findFirst().orElseThrow(IllegalStateException::new);
+        // parked without timeout once all debouncers (including those of other tests) fired
+        final long until = System.currentTimeMillis() + 10_000;
+        while (wheel.getState() != Thread.State.WAITING && System.currentTimeMillis() < until) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(Thread.State.WAITING, wheel.getState());
+
+        final CountDownLatch again = new CountDownLatch(1);
+        new TimerWheelDebouncer(again::countDown, 20).debounce();
+        Assert.assertTrue("idle wheel is woken up by new debouncers", again.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLongDelayBeyondWheel() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        new TimerWheelDebouncer(latch::countDown, 6000).debounce();
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 6000);
+    }
+
+    /**
+     * debounces {@link #DEBOUNCERS} debouncers {@link #ROUNDS} times each, every one must fire exactly once, not earlier
+     * than its delay after its last call and not much later than that.
+     */
+    @Test
+    public void testManyDebouncers() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(DEBOUNCERS);
+        final AtomicIntegerArray runs = new AtomicIntegerArray(DEBOUNCERS);
+        final AtomicLongArray fired = new AtomicLongArray(DEBOUNCERS);
+        final long[] lastCalled = new long[DEBOUNCERS];
+        final List<TimerWheelDebouncer> debouncers = new ArrayList<>();
+        for (int i = 0; i < DEBOUNCERS; i++) {
+            final int index = i;
+            debouncers.add(new TimerWheelDebouncer(() -> {
+                fired.set(index, System.nanoTime());
+                runs.incrementAndGet(index);
+                latch.countDown();
+            }, DELAY));
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < DEBOUNCERS; i++) {
+                lastCalled[i] = System.nanoTime();
+                debouncers.get(i).debounce();
+            }
+            Thread.sleep(DELAY / 4);
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Thread.sleep(DELAY);
+        for (int i = 0; i < DEBOUNCERS; i++) {
+            Assert.assertEquals(1, runs.get(i));
+            final long waited = TimeUnit.NANOSECONDS.toMillis(fired.get(i) - lastCalled[i]);
+            Assert.assertTrue("fired " + waited + "ms after the last call", waited >= DELAY && waited <= DELAY + TOLERANCE);
+        }
+    }
+}
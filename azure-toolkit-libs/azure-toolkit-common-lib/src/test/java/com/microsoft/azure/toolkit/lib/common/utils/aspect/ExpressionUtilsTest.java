@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+public class ExpressionUtilsTest {
+    private MethodInvocation invocation;
+
+    @Before
+    public void setUp() throws Exception {
+        final Method method = ExpressionUtilsTest.class.getDeclaredMethod("sample", String.class, Sample.class, Map.class);
+        final MethodSignature signature = Mockito.mock(MethodSignature.class);
+        Mockito.when(signature.getMethod()).thenReturn(method);
+        Mockito.when(signature.getParameterNames()).thenReturn(new String[]{"subscriptionId", "sample", "tags"});
+        final JoinPoint point = Mockito.mock(JoinPoint.class);
+        Mockito.when(point.getSignature()).thenReturn(signature);
+        Mockito.when(point.getThis()).thenReturn(new Sample("self"));
+        Mockito.when(point.getArgs()).thenReturn(new Object[]{"sub-id", new Sample("arg"), Collections.singletonMap("env", "prod")});
+        this.invocation = MethodInvocation.from(point);
+    }
+
+    @Test
+    public void testRenderSimpleExpressions() {
+        Assert.assertEquals("sub-id", ExpressionUtils.render("$subscriptionId", invocation));
+        Assert.assertEquals("subscriptions/sub-id/regions", ExpressionUtils.render("subscriptions/${subscriptionId}/regions", invocation));
+        Assert.assertEquals("self", ExpressionUtils.render("${this.getName()}", invocation));
+        Assert.assertEquals("self/arg", ExpressionUtils.render("${this.name}/${sample.getName()}", invocation));
+        Assert.assertEquals("prod", ExpressionUtils.render("${tags.env}", invocation));
+        Assert.assertEquals("null", ExpressionUtils.render("${sample.getNothing()}", invocation));
+        Assert.assertEquals("self", ExpressionUtils.interpret("this.getName()", invocation));
+        Assert.assertTrue(ExpressionUtils.evaluate("sample.isEnabled()", invocation, false));
+    }
+
+    @Test
+    public void testRenderFallbackToGroovy() {
+        Assert.assertEquals("SELF", ExpressionUtils.render("${this.getName().toUpperCase()}", invocation));
+        Assert.assertEquals("name", ExpressionUtils.render("${nameFromResourceId('/subscriptions/s/resourceGroups/rg/providers/a/b/name')}", invocation));
+        Assert.assertEquals("self-arg", ExpressionUtils.render("${this.name + '-' + sample.name}", invocation));
+        Assert.assertEquals("self", ExpressionUtils.render("$this.name", invocation));
+        Assert.assertEquals("${unknown}", ExpressionUtils.render("${unknown}", invocation));
+    }
+
+    @SuppressWarnings("unused")
+    private void sample(String subscriptionId, Sample sample, Map<String, String> tags) {
+    }
+
+    public static class Sample {
+        private final String name;
+
+        public Sample(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getNothing() {
+            return null;
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.validator;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SchemaValidatorTest {
+    @Test
+    public void testSchemasRegisteredFromIndex() {
+        final SchemaValidator validator = SchemaValidator.getInstance();
+        Assert.assertTrue(validator.validate("common/NonEmptyString", new TextNode("value"), "$").isEmpty());
+        Assert.assertFalse(validator.validate("common/NonEmptyString", new IntNode(1), "$").isEmpty());
+        Assert.assertFalse(validator.validate("appservice/AppServiceName", new IntNode(1), "$").isEmpty());
+    }
+}
@@ -71,7 +71,8 @@ public class ContainerApp extends AbstractAzResource<ContainerApp, AzureContaine
     protected void updateAdditionalProperties(@Nullable com.azure.resourcemanager.appcontainers.models.ContainerApp newRemote, @Nullable com.azure.resourcemanager.appcontainers.models.ContainerApp oldRemote) {
         super.updateAdditionalProperties(newRemote, oldRemote);
         this.latestRevision = Optional.ofNullable(newRemote)
-                .flatMap(c -> revisionModule.list().stream().filter(r -> Objects.equals(r.getName(), c.latestRevisionName())).findFirst())
+                .map(com.azure.resourcemanager.appcontainers.models.ContainerApp::latestRevisionName)
+                .flatMap(name -> revisionModule.listByName(name).stream().filter(r -> Objects.equals(r.getName(), name)).findFirst())
                 .orElse(null);
     }
 
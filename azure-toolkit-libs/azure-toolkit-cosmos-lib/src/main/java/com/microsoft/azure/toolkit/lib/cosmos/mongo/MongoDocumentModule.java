@@ -117,6 +117,11 @@ public class MongoDocumentModule extends AbstractAzResourceModule<MongoDocument,
             .orElseGet(() -> new ObjectId(name));
     }
 
+    @Override
+    protected boolean isManagementPlane() {
+        return false;
+    }
+
     @Nullable
     @Override
     protected com.mongodb.client.MongoCollection<Document> getClient() {
@@ -108,6 +108,11 @@ public class SqlDocumentModule extends AbstractAzResourceModule<SqlDocument, Sql
         return new SqlDocumentDraft(document);
     }
 
+    @Override
+    protected boolean isManagementPlane() {
+        return false;
+    }
+
     @Override
     @Nullable
     protected CosmosContainer getClient() {
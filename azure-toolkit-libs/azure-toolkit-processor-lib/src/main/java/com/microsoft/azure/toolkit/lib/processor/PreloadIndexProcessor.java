@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * writes {@link #INDEX} listing all methods annotated with {@code @Preload} of the module being compiled, so that
+ * {@code Preloader} finds them without scanning the classpath.
+ * <p>
+ * an incremental compilation only processes the changed sources, so the index left by the previous compilation is
+ * merged: its entries of the recompiled classes are replaced, and the others are kept only if the method is still
+ * annotated in the compiled class.
+ */
+@SupportedAnnotationTypes("*")
+public class PreloadIndexProcessor extends AbstractProcessor {
+    /**
+     * same as {@code com.microsoft.azure.toolkit.lib.common.utils.Indexes#PRELOAD}, which can't be referenced here.
+     */
+    static final String INDEX = "META-INF/azure-toolkit/preload.idx";
+    static final String PRELOAD = "com.microsoft.azure.toolkit.lib.common.cache.Preload";
+
+    private final Set<String> methods = new TreeSet<>();
+    /**
+     * binary names of the top level classes compiled in this compilation
+     */
+    private final Set<String> compiled = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment env) {
+        for (final Element root : env.getRootElements()) {
+            if (root instanceof TypeElement) {
+                this.compiled.add(processingEnv.getElementUtils().getBinaryName((TypeElement) root).toString());
+            }
+        }
+        for (final TypeElement annotation : annotations) {
+            if (!annotation.getQualifiedName().contentEquals(PRELOAD)) {
+                continue;
+            }
+            for (final Element method : env.getElementsAnnotatedWith(annotation)) {
+                if (method.getKind() == ElementKind.METHOD) {
+                    final TypeElement clazz = (TypeElement) method.getEnclosingElement();
+                    this.methods.add(processingEnv.getElementUtils().getBinaryName(clazz) + "#" + method.getSimpleName());
+                }
+            }
+        }
+        if (env.processingOver()) {
+            final Set<String> entries = new TreeSet<>(this.methods);
+            for (final String entry : this.readPreviousIndex()) {
+                if (!this.compiled.contains(getTopLevelClassName(entry)) && this.isPreloadMethod(entry)) {
+                    entries.add(entry);
+                }
+            }
+            if (!entries.isEmpty()) {
+                this.writeIndex(entries);
+            }
+        }
+        return false;
+    }
+
+    private Set<String> readPreviousIndex() {
+        final Set<String> entries = new TreeSet<>();
+        try {
+            final FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(entries::add);
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            // no index is left by previous compilation, e.g. a clean build
+        }
+        return entries;
+    }
+
+    private void writeIndex(final Set<String> entries) {
+        try {
+            final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (final String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("failed to write %s: %s", INDEX, e.getMessage()));
+        }
+    }
+
+    /**
+     * @return true if the method of the index {@code entry} exists and is still annotated with {@code @Preload}.
+     */
+    private boolean isPreloadMethod(final String entry) {
+        final int separator = entry.lastIndexOf('#');
+        if (separator < 0) {
+            return false;
+        }
+        final TypeElement clazz = processingEnv.getElementUtils().getTypeElement(entry.substring(0, separator).replace('$', '.'));
+        if (clazz == null) {
+            return false;
+        }
+        final String name = entry.substring(separator + 1);
+        return clazz.getEnclosedElements().stream()
+            .filter(e -> e.getKind() == ElementKind.METHOD && e.getSimpleName().contentEquals(name))
+            .flatMap(e -> e.getAnnotationMirrors().stream())
+            .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(PRELOAD));
+    }
+
+    private static String getTopLevelClassName(final String entry) {
+        final int separator = entry.lastIndexOf('#');
+        final String clazz = separator < 0 ? entry : entry.substring(0, separator);
+        final int nested = clazz.indexOf('$');
+        return nested < 0 ? clazz : clazz.substring(0, nested);
+    }
+}
@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"com.microsoft.azure.toolkit.lib.processor","c":"PreloadIndexProcessor","l":"getSupportedSourceVersion()"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"Indexes","l":"Indexes()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"PreloadIndexProcessor","l":"methods"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"Indexes","l":"PRELOAD"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"PreloadIndexProcessor","l":"PRELOAD"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"PreloadIndexProcessor","l":"PreloadIndexProcessor()","u":"%3Cinit%3E()"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"PreloadIndexProcessor","l":"process(Set<? extends TypeElement>, RoundEnvironment)","u":"process(java.util.Set,javax.annotation.processing.RoundEnvironment)"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"Indexes","l":"read(ClassLoader, String)","u":"read(java.lang.ClassLoader,java.lang.String)"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"Indexes","l":"SCHEMAS"},{"p":"com.microsoft.azure.toolkit.lib.processor","c":"Indexes","l":"write(Writer, Collection<String>)","u":"write(java.io.Writer,java.util.Collection)"}];updateSearchResults();
\ No newline at end of file
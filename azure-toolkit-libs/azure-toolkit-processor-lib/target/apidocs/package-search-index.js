@@ -0,0 +1 @@
+packageSearchIndex = [{"l":"All Packages","u":"allpackages-index.html"},{"l":"com.microsoft.azure.toolkit.lib.processor"}];updateSearchResults();
\ No newline at end of file
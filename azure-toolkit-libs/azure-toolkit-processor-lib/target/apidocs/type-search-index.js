@@ -0,0 +1 @@
+typeSearchIndex = [{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"com.microsoft.azure.toolkit.lib.processor","l":"Indexes"},{"p":"com.microsoft.azure.toolkit.lib.processor","l":"PreloadIndexProcessor"}];updateSearchResults();
\ No newline at end of file
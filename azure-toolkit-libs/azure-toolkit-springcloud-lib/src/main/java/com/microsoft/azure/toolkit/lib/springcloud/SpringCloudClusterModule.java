@@ -38,7 +38,7 @@ public class SpringCloudClusterModule extends AbstractAzResourceModule<SpringClo
     public SpringCloudCluster get(@Nonnull String name, @Nullable String resourceGroup) {
         resourceGroup = StringUtils.firstNonBlank(resourceGroup, this.getParent().getResourceGroupName());
         if (StringUtils.isBlank(resourceGroup) || StringUtils.equalsIgnoreCase(resourceGroup, RESOURCE_GROUP_PLACEHOLDER)) {
-            return this.list().stream().filter(c -> StringUtils.equalsIgnoreCase(name, c.getName())).findAny().orElse(null);
+            return this.listByName(name).stream().findAny().orElse(null);
         }
         return super.get(name, resourceGroup);
     }
@@ -5,16 +5,15 @@
 
 package com.microsoft.azure.toolkit.lib.springcloud;
 
+import com.microsoft.azure.toolkit.lib.common.utils.StatusWatcher;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import rx.Observable;
-import rx.schedulers.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.time.Duration;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 public class Utils {
@@ -51,22 +50,21 @@ public class Utils {
     }
 
     /**
-     * Get resource repeatedly until it match the predicate or timeout, will return null when meet exception
+     * Get resource repeatedly until it match the predicate or timeout, polling interval starts short and backs off
+     * exponentially up to {@code pollingInterval}
      *
      * @param callable         callable to get resource
      * @param predicate        function that evaluate the resource
      * @param timeOutInSeconds max time for the method
-     * @param pollingInterval  polling interval
+     * @param pollingInterval  max polling interval
      * @return the first resource which fit the predicate or the last result before timeout
      */
     public static <T> T pollUntil(Callable<T> callable, @Nonnull Predicate<T> predicate, int timeOutInSeconds, int pollingInterval) {
-        final long timeout = System.currentTimeMillis() + timeOutInSeconds * 1000L;
-        return Observable.interval(pollingInterval, TimeUnit.SECONDS)
-            .timeout(timeOutInSeconds, TimeUnit.SECONDS)
-            .flatMap(aLong -> Observable.fromCallable(callable))
-            .subscribeOn(Schedulers.io())
-            .takeUntil(resource -> predicate.test(resource) || System.currentTimeMillis() > timeout)
-            .toBlocking().last();
+        return new StatusWatcher<>(callable)
+            .setMaxInterval(Duration.ofSeconds(pollingInterval))
+            .setTimeout(Duration.ofSeconds(timeOutInSeconds))
+            .setStatusKey(null) // callable may return the same (refreshed) instance every time
+            .waitUntil(predicate);
     }
 
 
@@ -5,28 +5,65 @@
 
 package com.microsoft.azure.toolkit.lib.storage.blob;
 
-import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.Context;
 import com.azure.core.util.paging.ContinuablePage;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ListBlobsOptions;
 import com.azure.storage.blob.specialized.BlobClientBase;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.storage.model.DeletionProgress;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource.isNotFoundException;
 
 public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile, IBlobFile, BlobItem> {
 
     public static final String NAME = "file";
+    private static final String DELIMITER = "/";
+    /**
+     * how long a nonexistent blob/directory is remembered, so that repeated lookups don't hit storage.
+     */
+    private static final long MISSING_TTL = TimeUnit.SECONDS.toMillis(30);
+    /**
+     * max number of sub-requests of a blob batch
+     */
+    private static final int DELETE_BATCH_SIZE = 256;
+    private static final int DELETE_BATCH_CONCURRENCY = 4;
+
+    /**
+     * expiry time of nonexistent blobs/directories, keyed by name
+     */
+    final Map<String, Long> missing = new ConcurrentHashMap<>();
 
     public BlobFileModule(@Nonnull IBlobFile parent) {
         super(NAME, parent);
@@ -46,13 +83,79 @@ public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile,
             .orElse(Collections.emptyIterator());
     }
 
+    /**
+     * looks up a blob by its path directly and, if it doesn't exist, probes for a virtual directory by listing at most one
+     * blob under the directory prefix. so the cost doesn't grow with the number of blobs in the container.
+     */
     @Nullable
     @Override
     protected BlobItem loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
-        final Stream<BlobItem> resources = Optional.ofNullable(this.getClient()).map(c -> c.listBlobsByHierarchy(this.parent.getPath())).map(PagedIterable::stream).orElse(Stream.empty());
-        return resources
-            .filter(r -> Objects.equals(Paths.get(r.getName()).getFileName().toString(), name))
-            .findAny().orElse(null);
+        final BlobContainerClient client = this.getClient();
+        final Long missingUntil = this.missing.get(name);
+        if (Objects.isNull(client) || (Objects.nonNull(missingUntil) && missingUntil > System.currentTimeMillis())) {
+            return null;
+        }
+        final String path = this.getPrefix() + name;
+        try {
+            return toBlobItem(path, client.getBlobClient(path).getProperties());
+        } catch (final RuntimeException e) {
+            if (!isNotFoundException(e)) {
+                throw e;
+            }
+        }
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(path + DELIMITER).setMaxResultsPerPage(1);
+        if (client.listBlobs(options, null).stream().findFirst().isPresent()) {
+            return new BlobItem().setName(path + DELIMITER).setIsPrefix(true);
+        }
+        this.missing.put(name, System.currentTimeMillis() + MISSING_TTL);
+        return null;
+    }
+
+    /**
+     * get files of this module by names in bulk, their properties are fetched concurrently instead of listing the module.
+     * nonexistent files are excluded from the result.
+     */
+    @Nonnull
+    public List<BlobFile> getFiles(@Nonnull Collection<String> names) {
+        return this.getAll(names.stream().map(name -> this.toResourceId(name, null)).collect(Collectors.toList()));
+    }
+
+    @Override
+    protected int getBulkListingThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected void invalidateCache() {
+        this.missing.clear();
+        super.invalidateCache();
+    }
+
+    @Override
+    protected void addResourceToLocal(@Nonnull String id, @Nullable BlobFile resource, boolean... silent) {
+        if (Objects.nonNull(resource)) {
+            this.missing.remove(resource.getName());
+        }
+        super.addResourceToLocal(id, resource, silent);
+    }
+
+    @Nonnull
+    private String getPrefix() {
+        final String path = StringUtils.defaultString(this.parent.getPath());
+        return path.isEmpty() || path.endsWith(DELIMITER) ? path : path + DELIMITER;
+    }
+
+    @Nonnull
+    private static BlobItem toBlobItem(@Nonnull String path, @Nonnull BlobProperties properties) {
+        final BlobItemProperties itemProperties = new BlobItemProperties()
+            .setContentLength(properties.getBlobSize())
+            .setContentType(properties.getContentType())
+            .setContentMd5(properties.getContentMd5())
+            .setCreationTime(properties.getCreationTime())
+            .setLastModified(properties.getLastModified())
+            .setETag(properties.getETag())
+            .setBlobType(properties.getBlobType());
+        return new BlobItem().setName(path).setIsPrefix(false).setProperties(itemProperties).setMetadata(properties.getMetadata());
     }
 
     @Override
@@ -73,15 +176,49 @@ public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile,
         if (Objects.isNull(containerClient)) {
             return;
         }
-        final PagedIterable<BlobItem> files = containerClient.listBlobsByHierarchy(current.getName());
-        for (BlobItem file : files) {
-            if (BooleanUtils.isTrue(file.isPrefix())) {
-                deleteDirectory(file);
-            } else {
-                containerClient.getBlobClient(file.getName()).deleteIfExists();
+        final BlobBatchClient batchClient = new BlobBatchClientBuilder(containerClient).buildClient();
+        deleteDirectory(containerClient, batchClient, current.getName(), new DeletionProgress(current.getName()));
+    }
+
+    /**
+     * deletes all blobs under the directory {@code prefix}: a flat listing feeds blob batches of {@link #DELETE_BATCH_SIZE},
+     * and up to {@link #DELETE_BATCH_CONCURRENCY} batches are submitted concurrently. blobs failed to be deleted are
+     * reported together after all batches are submitted.
+     */
+    static void deleteDirectory(@Nonnull BlobContainerClient containerClient, @Nonnull BlobBatchClient batchClient,
+                                @Nonnull String prefix, @Nonnull DeletionProgress progress) {
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
+        final List<String> failed = Flux.fromIterable(containerClient.listBlobs(options, null))
+            .map(blob -> containerClient.getBlobClient(blob.getName()).getBlobUrl())
+            .buffer(DELETE_BATCH_SIZE)
+            .flatMap(urls -> Mono.fromCallable(() -> deleteBlobs(batchClient, urls, progress))
+                .subscribeOn(Schedulers.boundedElastic()), DELETE_BATCH_CONCURRENCY)
+            .flatMapIterable(urls -> urls)
+            .collectList().block();
+        if (Objects.nonNull(failed) && !failed.isEmpty()) {
+            throw new AzureToolkitRuntimeException(String.format("failed to delete %d blobs under (%s), e.g. %s",
+                failed.size(), prefix, failed.get(0)));
+        }
+    }
+
+    /**
+     * @return urls of the blobs failed to be deleted, nonexistent blobs are taken as deleted.
+     */
+    @Nonnull
+    private static List<String> deleteBlobs(@Nonnull BlobBatchClient client, @Nonnull List<String> urls, @Nonnull DeletionProgress progress) {
+        final BlobBatch batch = client.getBlobBatch();
+        final List<Response<Void>> responses = urls.stream()
+            .map(url -> batch.deleteBlob(url, DeleteSnapshotsOptionType.INCLUDE, null)).collect(Collectors.toList());
+        client.submitBatchWithResponse(batch, false, null, Context.NONE);
+        final List<String> failed = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            final int status = responses.get(i).getStatusCode();
+            if (status >= 300 && status != 404) {
+                failed.add(urls.get(i));
             }
         }
-        containerClient.getBlobClient(current.getName()).deleteIfExists();
+        progress.deleted(urls.size() - failed.size());
+        return failed;
     }
 
     @Nonnull
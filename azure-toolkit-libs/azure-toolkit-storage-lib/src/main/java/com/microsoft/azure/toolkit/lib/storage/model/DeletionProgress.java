@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.model;
+
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * counts items deleted by a recursive deletion (possibly from many threads) and reports the count at most every
+ * {@link #REPORT_INTERVAL} ms, so that deleting a large directory doesn't look stuck.
+ */
+@RequiredArgsConstructor
+public class DeletionProgress {
+    private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+
+    @Nonnull
+    private final String target;
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong lastReported = new AtomicLong(System.currentTimeMillis());
+
+    public void deleted(long count) {
+        final long total = this.deleted.addAndGet(count);
+        final long now = System.currentTimeMillis();
+        final long last = this.lastReported.get();
+        if (now - last >= REPORT_INTERVAL && this.lastReported.compareAndSet(last, now)) {
+            AzureMessager.getMessager().info(AzureString.format("{0} items deleted from ({1}).", total, this.target));
+        }
+    }
+
+    public long getDeleted() {
+        return this.deleted.get();
+    }
+}
@@ -12,6 +12,11 @@ import com.azure.storage.file.share.models.ShareFileItem;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.storage.model.DeletionProgress;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -24,6 +29,7 @@ import java.util.stream.Stream;
 public class ShareFileModule extends AbstractEmulatableAzResourceModule<ShareFile, IShareFile, ShareFileItem> {
 
     public static final String NAME = "file";
+    private static final int DELETE_CONCURRENCY = 16;
 
     public ShareFileModule(@Nonnull IShareFile parent) {
         super(NAME, parent);
@@ -67,15 +73,37 @@ public class ShareFileModule extends AbstractEmulatableAzResourceModule<ShareFil
     }
 
     private void deleteDirectory(ShareDirectoryClient client) {
-        final PagedIterable<ShareFileItem> files = client.listFilesAndDirectories();
-        for (ShareFileItem file : files) {
-            if (file.isDirectory()) {
-                deleteDirectory(client.getSubdirectoryClient(file.getName()));
-            } else {
-                client.getFileClient(file.getName()).delete();
-            }
+        deleteDirectory(client, new DeletionProgress(client.getDirectoryPath()));
+    }
+
+    /**
+     * deletes files and sub directories of a directory recursively and then the directory itself. all blocking calls of
+     * the whole tree run on a scheduler of {@link #DELETE_CONCURRENCY} threads, so the number of requests in flight
+     * doesn't grow with the depth of the tree.
+     */
+    static void deleteDirectory(@Nonnull ShareDirectoryClient client, @Nonnull DeletionProgress progress) {
+        final Scheduler scheduler = Schedulers.newBoundedElastic(DELETE_CONCURRENCY, Integer.MAX_VALUE, "delete-share-directory");
+        try {
+            deleteDirectory(client, progress, scheduler).block();
+        } finally {
+            scheduler.dispose();
         }
-        client.deleteIfExists();
+    }
+
+    @Nonnull
+    private static Mono<Void> deleteDirectory(@Nonnull ShareDirectoryClient client, @Nonnull DeletionProgress progress, @Nonnull Scheduler scheduler) {
+        return Flux.defer(() -> Flux.fromIterable(client.listFilesAndDirectories()))
+            .subscribeOn(scheduler)
+            .flatMap(file -> file.isDirectory() ?
+                deleteDirectory(client.getSubdirectoryClient(file.getName()), progress, scheduler) :
+                Mono.fromRunnable(() -> {
+                    client.getFileClient(file.getName()).deleteIfExists();
+                    progress.deleted(1);
+                }).subscribeOn(scheduler).then())
+            .then(Mono.fromRunnable(() -> {
+                client.deleteIfExists();
+                progress.deleted(1);
+            }).subscribeOn(scheduler).then());
     }
 
     @Nonnull
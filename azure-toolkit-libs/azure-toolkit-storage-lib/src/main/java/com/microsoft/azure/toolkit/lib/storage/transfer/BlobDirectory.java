@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobUploadFromFileOptions;
+import com.azure.storage.common.ParallelTransferOptions;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class BlobDirectory implements RemoteDirectory {
+    @Nonnull
+    private final BlobContainerClient client;
+    /**
+     * path of the directory in the container, empty or ends with '/'
+     */
+    @Nonnull
+    private final String prefix;
+
+    BlobDirectory(@Nonnull BlobContainerClient client, @Nullable String path) {
+        this.client = client;
+        final String normalized = StringUtils.defaultString(path).replace('\\', '/');
+        this.prefix = normalized.isEmpty() || normalized.endsWith("/") ? normalized : normalized + "/";
+    }
+
+    @Nonnull
+    @Override
+    public String getUrl() {
+        return this.client.getBlobContainerUrl() + "/" + this.prefix;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, RemoteFile> list() {
+        final Map<String, RemoteFile> files = new LinkedHashMap<>();
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(this.prefix);
+        for (final BlobItem blob : this.client.listBlobs(options, null)) {
+            if (BooleanUtils.isNotTrue(blob.isPrefix()) && !blob.getName().endsWith("/")) { // skip directory markers
+                final String path = blob.getName().substring(this.prefix.length());
+                files.put(path, new RemoteFile(path, blob.getProperties().getContentLength(), blob.getProperties().getContentMd5()));
+            }
+        }
+        return files;
+    }
+
+    @Nullable
+    @Override
+    public byte[] getMd5(@Nonnull RemoteFile file) {
+        return file.getMd5();
+    }
+
+    /**
+     * content md5 is only computed by service for blobs uploaded in a single request, so it's always set explicitly.
+     */
+    @Override
+    public void upload(@Nonnull String relativePath, @Nonnull Path source, @Nonnull byte[] md5, @Nonnull ParallelTransferOptions options) {
+        final BlobUploadFromFileOptions uploadOptions = new BlobUploadFromFileOptions(source.toString())
+            .setParallelTransferOptions(options)
+            .setHeaders(new BlobHttpHeaders().setContentMd5(md5));
+        this.client.getBlobClient(this.prefix + relativePath).uploadFromFileWithResponse(uploadOptions, null, Context.NONE);
+    }
+
+    @Override
+    public void download(@Nonnull RemoteFile file, @Nonnull Path dest, @Nonnull ParallelTransferOptions options) {
+        final BlobDownloadToFileOptions downloadOptions = new BlobDownloadToFileOptions(dest.toString())
+            .setParallelTransferOptions(options)
+            .setOpenOptions(new HashSet<>(Arrays.asList(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.READ)));
+        this.client.getBlobClient(this.prefix + file.getPath()).downloadToFileWithResponse(downloadOptions, null, Context.NONE);
+    }
+}
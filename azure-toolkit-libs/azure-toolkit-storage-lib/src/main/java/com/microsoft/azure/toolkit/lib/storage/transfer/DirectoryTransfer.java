@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.common.ParallelTransferOptions;
+import com.azure.storage.file.share.ShareDirectoryClient;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.storage.blob.IBlobFile;
+import com.microsoft.azure.toolkit.lib.storage.share.IShareFile;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * transfers directories between local file system and blob containers/file shares: files are transferred concurrently
+ * (up to {@link #concurrency}), each with its own {@link ParallelTransferOptions}, so that many small files don't make
+ * a transfer latency-bound and large files are split into blocks transferred in parallel.
+ * <ul>
+ *     <li>a file is skipped if the destination has the same size and content md5 ({@link #skipIfSameMd5})</li>
+ *     <li>transferred files are recorded in a journal under {@link #journalLocation}, a rerun of a failed transfer skips
+ *     them without comparing md5</li>
+ * </ul>
+ */
+@Slf4j
+@Getter
+@Setter
+@Accessors(chain = true)
+public class DirectoryTransfer {
+    public static final Path DEFAULT_JOURNAL_LOCATION = Paths.get(System.getProperty("user.home"), ".azure", "azure-toolkit-transfer");
+    private static final long MB = 1024 * 1024;
+
+    private int concurrency = 8;
+    private boolean skipIfSameMd5 = true;
+    /**
+     * where journals of unfinished transfers are kept, journals are disabled if null.
+     */
+    @Nullable
+    private Path journalLocation = DEFAULT_JOURNAL_LOCATION;
+    /**
+     * transfer options of a file by its size
+     */
+    @Nonnull
+    private Function<Long, ParallelTransferOptions> transferOptions = DirectoryTransfer::getDefaultTransferOptions;
+
+    @Nonnull
+    @AzureOperation(name = "azure/storage.upload_directory.directory", params = {"source.getFileName()"})
+    public TransferResult upload(@Nonnull Path source, @Nonnull IBlobFile target) {
+        return this.upload(source, toRemoteDirectory(target));
+    }
+
+    @Nonnull
+    @AzureOperation(name = "azure/storage.upload_directory.directory", params = {"source.getFileName()"})
+    public TransferResult upload(@Nonnull Path source, @Nonnull IShareFile target) {
+        return this.upload(source, toRemoteDirectory(target));
+    }
+
+    @Nonnull
+    @AzureOperation(name = "azure/storage.download_directory.directory", params = {"source.getName()"})
+    public TransferResult download(@Nonnull IBlobFile source, @Nonnull Path target) {
+        return this.download(toRemoteDirectory(source), target);
+    }
+
+    @Nonnull
+    @AzureOperation(name = "azure/storage.download_directory.directory", params = {"source.getName()"})
+    public TransferResult download(@Nonnull IShareFile source, @Nonnull Path target) {
+        return this.download(toRemoteDirectory(source), target);
+    }
+
+    @Nonnull
+    TransferResult upload(@Nonnull Path source, @Nonnull RemoteDirectory target) {
+        if (!Files.isDirectory(source)) {
+            throw new AzureToolkitRuntimeException(String.format("'%s' is not a directory.", source));
+        }
+        AzureMessager.getMessager().info(AzureString.format("Start uploading directory ({0}) to ({1}).", source, target.getUrl()));
+        final Map<String, RemoteFile> remoteFiles = target.list();
+        final List<Path> files;
+        try (final Stream<Path> walk = Files.walk(source)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to list files of '%s'.", source), e);
+        }
+        final String key = String.join("|", "upload", source.toAbsolutePath().normalize().toString(), target.getUrl());
+        return this.transfer(key, files.stream().map(f -> source.relativize(f).toString().replace('\\', '/')).collect(Collectors.toList()), (path, journal, result) -> {
+            final Path file = source.resolve(path);
+            if (journal.isDone(path, file)) {
+                result.skipped(Files.size(file));
+                return;
+            }
+            final long size = Files.size(file);
+            final byte[] md5 = md5(file);
+            final RemoteFile remote = remoteFiles.get(path);
+            if (this.skipIfSameMd5 && Objects.nonNull(remote) && remote.getSize() == size && Arrays.equals(md5, target.getMd5(remote))) {
+                result.skipped(size);
+            } else {
+                target.upload(path, file, md5, this.transferOptions.apply(size));
+                result.transferred(size);
+            }
+            journal.done(path, file);
+        });
+    }
+
+    @Nonnull
+    TransferResult download(@Nonnull RemoteDirectory source, @Nonnull Path target) {
+        AzureMessager.getMessager().info(AzureString.format("Start downloading ({0}) to directory ({1}).", source.getUrl(), target));
+        final Path root = target.toAbsolutePath().normalize();
+        final Map<String, RemoteFile> remoteFiles = source.list();
+        final String key = String.join("|", "download", source.getUrl(), root.toString());
+        return this.transfer(key, remoteFiles.keySet(), (path, journal, result) -> {
+            final RemoteFile remote = remoteFiles.get(path);
+            final Path file = root.resolve(path).normalize();
+            if (!file.startsWith(root)) {
+                throw new AzureToolkitRuntimeException(String.format("'%s' is outside of '%s'.", path, root));
+            }
+            if (Files.isRegularFile(file) && Files.size(file) == remote.getSize()) {
+                if (journal.isDone(path, file)) {
+                    result.skipped(remote.getSize());
+                    return;
+                }
+                final byte[] md5 = this.skipIfSameMd5 ? source.getMd5(remote) : null;
+                if (Objects.nonNull(md5) && Arrays.equals(md5, md5(file))) {
+                    result.skipped(remote.getSize());
+                    journal.done(path, file);
+                    return;
+                }
+            }
+            Files.createDirectories(file.getParent());
+            source.download(remote, file, this.transferOptions.apply(remote.getSize()));
+            result.transferred(remote.getSize());
+            journal.done(path, file);
+        });
+    }
+
+    @Nonnull
+    private TransferResult transfer(@Nonnull String key, @Nonnull Iterable<String> paths, @Nonnull FileTransfer transfer) {
+        final TransferJournal journal = TransferJournal.open(this.journalLocation, key);
+        final TransferResult result = new TransferResult();
+        try {
+            Flux.fromIterable(paths)
+                .flatMap(path -> Mono.fromRunnable(() -> {
+                    try {
+                        transfer.transfer(path, journal, result);
+                    } catch (final Exception e) {
+                        log.debug("failed to transfer {}", path, e);
+                        result.failed(path, e);
+                    }
+                }).subscribeOn(Schedulers.boundedElastic()), Math.max(1, this.concurrency))
+                .blockLast();
+        } finally {
+            result.finish();
+            journal.close(result.getFailures().isEmpty());
+        }
+        if (!result.getFailures().isEmpty()) {
+            final Map.Entry<String, Throwable> first = result.getFailures().entrySet().iterator().next();
+            throw new AzureToolkitRuntimeException(String.format("%s, e.g. '%s'. rerun to resume the transfer.", result, first.getKey()), first.getValue());
+        }
+        AzureMessager.getMessager().success(AzureString.format("Directory transfer is finished: {0}.", result.toString()));
+        return result;
+    }
+
+    @Nonnull
+    private static byte[] md5(@Nonnull Path file) throws IOException {
+        try (final InputStream input = Files.newInputStream(file)) {
+            return DigestUtils.md5(input);
+        }
+    }
+
+    /**
+     * files smaller than 8MB are transferred in a single request, larger ones in 8MB blocks with 4 blocks in parallel,
+     * files larger than 1GB in 32MB blocks with 8 blocks in parallel.
+     */
+    @Nonnull
+    public static ParallelTransferOptions getDefaultTransferOptions(long size) {
+        final boolean huge = size > 1024 * MB;
+        return new ParallelTransferOptions()
+            .setMaxSingleUploadSizeLong(8 * MB)
+            .setBlockSizeLong(huge ? 32 * MB : 8 * MB)
+            .setMaxConcurrency(huge ? 8 : 4);
+    }
+
+    @Nonnull
+    private static RemoteDirectory toRemoteDirectory(@Nonnull IBlobFile directory) {
+        final BlobContainerClient client = directory.getClient();
+        if (Objects.isNull(client) || !directory.exists()) {
+            throw new AzureToolkitRuntimeException(String.format("'%s' doesn't exist.", directory.getName()));
+        }
+        if (!directory.isDirectory()) {
+            throw new AzureToolkitRuntimeException(String.format("'%s' is not a directory.", directory.getName()));
+        }
+        return new BlobDirectory(client, directory.getPath());
+    }
+
+    @Nonnull
+    private static RemoteDirectory toRemoteDirectory(@Nonnull IShareFile directory) {
+        final Object client = directory.getClient();
+        if (Objects.isNull(client) || !directory.exists()) {
+            throw new AzureToolkitRuntimeException(String.format("'%s' doesn't exist.", directory.getName()));
+        }
+        if (!directory.isDirectory()) {
+            throw new AzureToolkitRuntimeException(String.format("'%s' is not a directory.", directory.getName()));
+        }
+        return new ShareDirectory((ShareDirectoryClient) client);
+    }
+
+    @FunctionalInterface
+    private interface FileTransfer {
+        void transfer(@Nonnull String relativePath, @Nonnull TransferJournal journal, @Nonnull TransferResult result) throws IOException;
+    }
+}
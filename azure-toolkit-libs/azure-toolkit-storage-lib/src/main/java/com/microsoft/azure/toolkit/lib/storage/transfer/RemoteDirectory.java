@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import com.azure.storage.common.ParallelTransferOptions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * a blob directory or a file share directory that {@link DirectoryTransfer} transfers files from/to. implementations
+ * must be thread safe, files are transferred concurrently.
+ */
+interface RemoteDirectory {
+    /**
+     * @return url of the directory, identifies the directory in transfer journals.
+     */
+    @Nonnull
+    String getUrl();
+
+    /**
+     * @return all files under the directory recursively, keyed by their relative paths.
+     */
+    @Nonnull
+    Map<String, RemoteFile> list();
+
+    @Nullable
+    byte[] getMd5(@Nonnull RemoteFile file);
+
+    /**
+     * uploads {@code source} to {@code relativePath}, overwrites the existing file and saves {@code md5} as content md5.
+     */
+    void upload(@Nonnull String relativePath, @Nonnull Path source, @Nonnull byte[] md5, @Nonnull ParallelTransferOptions options) throws IOException;
+
+    /**
+     * downloads {@code file} to {@code dest}, overwrites the existing local file.
+     */
+    void download(@Nonnull RemoteFile file, @Nonnull Path dest, @Nonnull ParallelTransferOptions options) throws IOException;
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * a file listed from a {@link RemoteDirectory}
+ */
+@Getter
+@RequiredArgsConstructor
+class RemoteFile {
+    /**
+     * path relative to the remote directory, separated by '/'
+     */
+    @Nonnull
+    private final String path;
+    private final long size;
+    /**
+     * content md5 if returned by listing, null if it's not listed or not set.
+     */
+    @Nullable
+    private final byte[] md5;
+}
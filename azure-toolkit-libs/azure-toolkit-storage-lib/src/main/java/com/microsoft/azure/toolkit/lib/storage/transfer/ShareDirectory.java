@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import com.azure.core.util.Context;
+import com.azure.storage.common.ParallelTransferOptions;
+import com.azure.storage.file.share.ShareDirectoryClient;
+import com.azure.storage.file.share.ShareFileClient;
+import com.azure.storage.file.share.models.ShareFileHttpHeaders;
+import com.azure.storage.file.share.models.ShareFileItem;
+import com.azure.storage.file.share.options.ShareFileUploadOptions;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ShareDirectory implements RemoteDirectory {
+    @Nonnull
+    private final ShareDirectoryClient client;
+    /**
+     * sub directories known to exist, so that each is created at most once by concurrent uploads.
+     */
+    private final Map<String, Boolean> directories = new ConcurrentHashMap<>();
+
+    ShareDirectory(@Nonnull ShareDirectoryClient client) {
+        this.client = client;
+    }
+
+    @Nonnull
+    @Override
+    public String getUrl() {
+        return this.client.getDirectoryUrl();
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, RemoteFile> list() {
+        final Map<String, RemoteFile> files = new LinkedHashMap<>();
+        list(this.client, "", files);
+        return files;
+    }
+
+    private void list(@Nonnull ShareDirectoryClient directory, @Nonnull String prefix, @Nonnull Map<String, RemoteFile> files) {
+        for (final ShareFileItem item : directory.listFilesAndDirectories()) {
+            final String path = prefix + item.getName();
+            if (item.isDirectory()) {
+                this.directories.put(path, true);
+                list(directory.getSubdirectoryClient(item.getName()), path + "/", files);
+            } else {
+                files.put(path, new RemoteFile(path, item.getFileSize(), null));
+            }
+        }
+    }
+
+    /**
+     * md5 is not returned by listing, so it's fetched per file and only when needed.
+     */
+    @Nullable
+    @Override
+    public byte[] getMd5(@Nonnull RemoteFile file) {
+        return this.client.getFileClient(file.getPath()).getProperties().getContentMd5();
+    }
+
+    /**
+     * service never computes content md5 of files in file shares, so it's always set explicitly.
+     */
+    @Override
+    public void upload(@Nonnull String relativePath, @Nonnull Path source, @Nonnull byte[] md5, @Nonnull ParallelTransferOptions options) throws IOException {
+        final int separator = relativePath.lastIndexOf('/');
+        if (separator > 0) {
+            this.createDirectories(relativePath.substring(0, separator));
+        }
+        final long size = Files.size(source);
+        final ShareFileClient file = this.client.getFileClient(relativePath);
+        file.create(size);
+        if (size > 0) {
+            try (final InputStream input = Files.newInputStream(source)) {
+                file.uploadWithResponse(new ShareFileUploadOptions(input).setParallelTransferOptions(options), null, Context.NONE);
+            }
+        }
+        file.setProperties(size, new ShareFileHttpHeaders().setContentMd5(md5), null, null);
+    }
+
+    /**
+     * ranges of a file are downloaded in parallel by the client itself, {@code options} don't apply to file shares.
+     */
+    @Override
+    public void download(@Nonnull RemoteFile file, @Nonnull Path dest, @Nonnull ParallelTransferOptions options) throws IOException {
+        Files.deleteIfExists(dest); // file share client never overwrites a local file
+        this.client.getFileClient(file.getPath()).downloadToFile(dest.toString());
+    }
+
+    private void createDirectories(@Nonnull String path) {
+        if (this.directories.containsKey(path)) {
+            return;
+        }
+        final int separator = path.lastIndexOf('/');
+        if (separator > 0) {
+            this.createDirectories(path.substring(0, separator));
+        }
+        this.directories.computeIfAbsent(path, p -> {
+            this.client.getSubdirectoryClient(p).createIfNotExists();
+            return true;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * records files transferred by an unfinished directory transfer, so that a rerun of the same transfer after a failure
+ * skips them. an entry is a stamp of the local file (size and last modified time) after the file is transferred, the
+ * entry is taken as done only if the local file is unchanged. the journal is deleted once the transfer succeeds, and
+ * only kept in memory if no location is given.
+ */
+@Slf4j
+class TransferJournal {
+    private static final String SEPARATOR = "\t";
+
+    @Nullable
+    private final Path file;
+    private final Map<String, String> stamps = new ConcurrentHashMap<>();
+    private BufferedWriter writer;
+
+    private TransferJournal(@Nullable Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param key identifies a transfer, e.g. direction, local directory and remote url.
+     */
+    @Nonnull
+    static TransferJournal open(@Nullable Path location, @Nonnull String key) {
+        final TransferJournal journal = new TransferJournal(Objects.isNull(location) ? null : location.resolve(DigestUtils.sha256Hex(key) + ".journal"));
+        if (Objects.nonNull(journal.file) && Files.isRegularFile(journal.file)) {
+            try {
+                final List<String> lines = Files.readAllLines(journal.file, StandardCharsets.UTF_8);
+                for (final String line : lines) {
+                    final String[] parts = line.split(SEPARATOR, 2);
+                    if (parts.length == 2) {
+                        journal.stamps.put(parts[1], parts[0]);
+                    }
+                }
+            } catch (final IOException e) {
+                log.debug("failed to read transfer journal {}", journal.file, e);
+            }
+        }
+        return journal;
+    }
+
+    boolean isDone(@Nonnull String relativePath, @Nonnull Path local) {
+        final String stamp = this.stamps.get(relativePath);
+        return Objects.nonNull(stamp) && stamp.equals(stamp(local));
+    }
+
+    synchronized void done(@Nonnull String relativePath, @Nonnull Path local) {
+        final String stamp = stamp(local);
+        this.stamps.put(relativePath, stamp);
+        if (Objects.isNull(this.file)) {
+            return;
+        }
+        try {
+            if (Objects.isNull(this.writer)) {
+                Files.createDirectories(this.file.getParent());
+                this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            this.writer.write(stamp + SEPARATOR + relativePath);
+            this.writer.newLine();
+            this.writer.flush();
+        } catch (final IOException e) {
+            log.debug("failed to write transfer journal {}", this.file, e);
+        }
+    }
+
+    /**
+     * closes the journal, and deletes it if the transfer is finished.
+     */
+    synchronized void close(boolean finished) {
+        try {
+            if (Objects.nonNull(this.writer)) {
+                this.writer.close();
+                this.writer = null;
+            }
+            if (finished && Objects.nonNull(this.file)) {
+                Files.deleteIfExists(this.file);
+            }
+        } catch (final IOException e) {
+            log.debug("failed to close transfer journal {}", this.file, e);
+        }
+    }
+
+    @Nonnull
+    private static String stamp(@Nonnull Path local) {
+        try {
+            return Files.size(local) + ":" + Files.getLastModifiedTime(local).toMillis();
+        } catch (final IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * aggregate metrics of a directory transfer, updated concurrently while files are transferred.
+ */
+public class TransferResult {
+    private final long start = System.currentTimeMillis();
+    private final AtomicLong end = new AtomicLong(-1);
+    private final AtomicLong transferredFiles = new AtomicLong();
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong skippedBytes = new AtomicLong();
+    private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+    void transferred(long bytes) {
+        this.transferredFiles.incrementAndGet();
+        this.transferredBytes.addAndGet(bytes);
+    }
+
+    void skipped(long bytes) {
+        this.skippedFiles.incrementAndGet();
+        this.skippedBytes.addAndGet(bytes);
+    }
+
+    void failed(@Nonnull String relativePath, @Nonnull Throwable error) {
+        this.failures.put(relativePath, error);
+    }
+
+    void finish() {
+        this.end.compareAndSet(-1, System.currentTimeMillis());
+    }
+
+    public long getTransferredFiles() {
+        return this.transferredFiles.get();
+    }
+
+    public long getTransferredBytes() {
+        return this.transferredBytes.get();
+    }
+
+    /**
+     * @return number of files skipped because they are identical (same md5) or transferred by a previous run.
+     */
+    public long getSkippedFiles() {
+        return this.skippedFiles.get();
+    }
+
+    public long getSkippedBytes() {
+        return this.skippedBytes.get();
+    }
+
+    /**
+     * @return errors of failed files, keyed by relative path.
+     */
+    @Nonnull
+    public Map<String, Throwable> getFailures() {
+        return Collections.unmodifiableMap(this.failures);
+    }
+
+    public long getElapsedMillis() {
+        final long end = this.end.get();
+        return (end < 0 ? System.currentTimeMillis() : end) - this.start;
+    }
+
+    /**
+     * @return bytes actually transferred per second, skipped files excluded.
+     */
+    public long getBytesPerSecond() {
+        final long elapsed = this.getElapsedMillis();
+        return elapsed <= 0 ? 0 : this.getTransferredBytes() * 1000 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d files (%.1f MB) transferred, %d files (%.1f MB) skipped, %d files failed in %.1fs, %.1f MB/s",
+            this.getTransferredFiles(), toMB(this.getTransferredBytes()), this.getSkippedFiles(), toMB(this.getSkippedBytes()),
+            this.failures.size(), this.getElapsedMillis() / 1000.0, toMB(this.getBytesPerSecond()));
+    }
+
+    private static double toMB(long bytes) {
+        return bytes / 1024.0 / 1024.0;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.blob;
+
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponseBase;
+import com.azure.core.http.rest.SimpleResponse;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.storage.model.DeletionProgress;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BlobFileModuleTest {
+    private static final String CONTAINER_URL = "https://account.blob.core.windows.net/container/";
+    private static final String FILES_ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/account" +
+        "/blobServices/default/containers/container/files/";
+
+    private BlobContainerClient container;
+    private BlobBatchClient batchClient;
+    /**
+     * number of sub-requests of every submitted batch
+     */
+    private List<AtomicInteger> batches;
+    /**
+     * status of the sub-request deleting a blob, keyed by blob name, 202 by default.
+     */
+    private Map<String, Integer> statuses;
+    /**
+     * properties of the existing blobs, keyed by path, the others are not found.
+     */
+    private Map<String, BlobProperties> blobs;
+    /**
+     * number of {@code getProperties} requests
+     */
+    private AtomicInteger lookups;
+    private BlobStorageException notFound;
+    private BlobFileModule module;
+
+    @Before
+    public void setUp() {
+        this.blobs = new ConcurrentHashMap<>();
+        this.lookups = new AtomicInteger();
+        final HttpResponse response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.getStatusCode()).thenReturn(404);
+        this.notFound = new BlobStorageException("The specified blob does not exist.", response, null);
+        this.container = Mockito.mock(BlobContainerClient.class);
+        Mockito.when(this.container.getBlobClient(ArgumentMatchers.anyString())).thenAnswer(i -> {
+            final String path = i.getArgument(0);
+            return Mockito.mock(BlobClient.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "getBlobUrl":
+                        return CONTAINER_URL + path;
+                    case "getProperties":
+                        return this.getProperties(path);
+                    default:
+                        return Mockito.RETURNS_DEFAULTS.answer(invocation);
+                }
+            });
+        });
+        final IBlobFile parent = Mockito.mock(IBlobFile.class);
+        Mockito.when(parent.getClient()).thenReturn(this.container);
+        Mockito.when(parent.getPath()).thenReturn("dir");
+        this.module = new BlobFileModule(parent);
+        this.batches = Collections.synchronizedList(new ArrayList<>());
+        this.statuses = new ConcurrentHashMap<>();
+        this.batchClient = Mockito.mock(BlobBatchClient.class);
+        Mockito.when(this.batchClient.getBlobBatch()).thenAnswer(i -> {
+            final AtomicInteger size = new AtomicInteger();
+            this.batches.add(size);
+            return Mockito.mock(BlobBatch.class, invocation -> {
+                if (!"deleteBlob".equals(invocation.getMethod().getName())) {
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+                }
+                final String url = invocation.getArgument(0);
+                size.incrementAndGet();
+                final int status = this.statuses.getOrDefault(url.substring(CONTAINER_URL.length()), 202);
+                return new SimpleResponse<Void>(null, status, null, null);
+            });
+        });
+    }
+
+    @Test
+    public void testDeleteDirectoryInBatches() {
+        this.listBlobs("dir/", 600);
+        final DeletionProgress progress = new DeletionProgress("dir/");
+        BlobFileModule.deleteDirectory(this.container, this.batchClient, "dir/", progress);
+
+        final List<Integer> sizes = this.batches.stream().map(AtomicInteger::get).sorted().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(88, 256, 256), sizes);
+        Mockito.verify(this.batchClient, Mockito.times(3))
+            .submitBatchWithResponse(ArgumentMatchers.any(), ArgumentMatchers.eq(false), ArgumentMatchers.any(), ArgumentMatchers.any());
+        Assert.assertEquals(600, progress.getDeleted());
+    }
+
+    @Test
+    public void testNotFoundTakenAsDeleted() {
+        this.listBlobs("dir/", 10);
+        this.statuses.put("dir/blob-3", 404);
+        this.statuses.put("dir/blob-7", 404);
+        final DeletionProgress progress = new DeletionProgress("dir/");
+        BlobFileModule.deleteDirectory(this.container, this.batchClient, "dir/", progress);
+        Assert.assertEquals(10, progress.getDeleted());
+    }
+
+    @Test
+    public void testFailuresAggregated() {
+        this.listBlobs("dir/", 300);
+        this.statuses.put("dir/blob-1", 409);
+        this.statuses.put("dir/blob-290", 403);
+        this.statuses.put("dir/blob-5", 404);
+        final DeletionProgress progress = new DeletionProgress("dir/");
+        try {
+            BlobFileModule.deleteDirectory(this.container, this.batchClient, "dir/", progress);
+            Assert.fail("failed blobs fail the deletion");
+        } catch (final AzureToolkitRuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("failed to delete 2 blobs under (dir/)"));
+        }
+        Assert.assertEquals("all batches are submitted despite of failures", 2, this.batches.size());
+        Assert.assertEquals(298, progress.getDeleted());
+    }
+
+    @Test
+    public void testLoadBlobByPath() {
+        this.blobs.put("dir/a.txt", Mockito.mock(BlobProperties.class));
+        final BlobItem item = this.module.loadResourceFromAzure("a.txt", null);
+        Assert.assertNotNull(item);
+        Assert.assertEquals("dir/a.txt", item.getName());
+        Assert.assertFalse(item.isPrefix());
+        Assert.assertEquals(1, this.lookups.get());
+        Mockito.verify(this.container, Mockito.never()).listBlobs(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testLoadVirtualDirectoryByPrefixProbe() {
+        this.listBlobs("dir/sub/", 1);
+        final BlobItem item = this.module.loadResourceFromAzure("sub", null);
+        Assert.assertNotNull(item);
+        Assert.assertEquals("dir/sub/", item.getName());
+        Assert.assertTrue(item.isPrefix());
+        Assert.assertEquals(1, this.lookups.get());
+        Mockito.verify(this.container).listBlobs(ArgumentMatchers.argThat((ListBlobsOptions o) ->
+            "dir/sub/".equals(o.getPrefix()) && Integer.valueOf(1).equals(o.getMaxResultsPerPage())), ArgumentMatchers.isNull());
+    }
+
+    @Test
+    public void testMissingRememberedFor30Seconds() {
+        this.listBlobs("dir/gone/", 0);
+        final long start = System.currentTimeMillis();
+        Assert.assertNull(this.module.loadResourceFromAzure("gone", null));
+        Assert.assertNull(this.module.loadResourceFromAzure("gone", null));
+        Assert.assertEquals("a nonexistent blob is looked up once", 1, this.lookups.get());
+        Mockito.verify(this.container, Mockito.times(1)).listBlobs(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        final long expiry = this.module.missing.get("gone");
+        Assert.assertTrue(expiry >= start + TimeUnit.SECONDS.toMillis(30));
+        Assert.assertTrue(expiry <= System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30));
+        this.module.missing.put("gone", System.currentTimeMillis() - 1);
+        this.blobs.put("dir/gone", Mockito.mock(BlobProperties.class));
+        Assert.assertNotNull("a nonexistent blob is looked up again once expired", this.module.loadResourceFromAzure("gone", null));
+        Assert.assertEquals(2, this.lookups.get());
+    }
+
+    @Test
+    public void testMissingForgottenOnInvalidateCache() {
+        this.listBlobs("dir/gone/", 0);
+        Assert.assertNull(this.module.loadResourceFromAzure("gone", null));
+        this.blobs.put("dir/gone", Mockito.mock(BlobProperties.class));
+        Assert.assertNull(this.module.loadResourceFromAzure("gone", null));
+
+        this.module.invalidateCache();
+        Assert.assertNotNull(this.module.loadResourceFromAzure("gone", null));
+        Assert.assertEquals(2, this.lookups.get());
+    }
+
+    @Test
+    public void testMissingForgottenOnAddResourceToLocal() {
+        this.listBlobs("dir/new/", 0);
+        Assert.assertNull(this.module.loadResourceFromAzure("new", null));
+        Assert.assertTrue(this.module.missing.containsKey("new"));
+
+        final BlobFile created = Mockito.mock(BlobFile.class);
+        Mockito.when(created.getName()).thenReturn("new");
+        this.module.addResourceToLocal(FILES_ID + "new", created, true);
+        Assert.assertFalse(this.module.missing.containsKey("new"));
+        this.blobs.put("dir/new", Mockito.mock(BlobProperties.class));
+        Assert.assertNotNull(this.module.loadResourceFromAzure("new", null));
+        Assert.assertEquals(2, this.lookups.get());
+    }
+
+    private BlobProperties getProperties(String path) {
+        this.lookups.incrementAndGet();
+        final BlobProperties properties = this.blobs.get(path);
+        if (properties == null) {
+            throw this.notFound;
+        }
+        return properties;
+    }
+
+    private void listBlobs(String prefix, int count) {
+        final List<BlobItem> blobs = IntStream.range(0, count)
+            .mapToObj(i -> new BlobItem().setName(prefix + "blob-" + i).setIsPrefix(false))
+            .collect(Collectors.toList());
+        Mockito.when(this.container.listBlobs(ArgumentMatchers.argThat((ListBlobsOptions o) -> prefix.equals(o.getPrefix())), ArgumentMatchers.isNull()))
+            .thenAnswer(i -> pagedOf(blobs));
+    }
+
+    private static <T> PagedIterable<T> pagedOf(List<T> items) {
+        return new PagedIterable<>(() -> new PagedResponseBase<Void, T>(null, 200, null, items, null, null));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.share;
+
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponseBase;
+import com.azure.storage.file.share.ShareDirectoryClient;
+import com.azure.storage.file.share.ShareFileClient;
+import com.azure.storage.file.share.models.ShareFileItem;
+import com.microsoft.azure.toolkit.lib.storage.model.DeletionProgress;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShareFileModuleTest {
+    /**
+     * paths of the deleted files and directories in order of deletion
+     */
+    private List<String> deleted;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+
+    @Before
+    public void setUp() {
+        this.deleted = Collections.synchronizedList(new ArrayList<>());
+        this.inFlight = new AtomicInteger();
+        this.maxInFlight = new AtomicInteger();
+    }
+
+    @Test
+    public void testChildrenDeletedBeforeDirectory() {
+        final ShareDirectoryClient root = this.directory("root", 3, 2, 3);
+        final DeletionProgress progress = new DeletionProgress("root");
+        ShareFileModule.deleteDirectory(root, progress);
+
+        // 1 + 3 + 9 directories and 2 files in each of them
+        Assert.assertEquals(13 * 3, this.deleted.size());
+        Assert.assertEquals(13 * 3, progress.getDeleted());
+        Assert.assertEquals("root", this.deleted.get(this.deleted.size() - 1));
+        for (int i = 0; i < this.deleted.size(); i++) {
+            final String prefix = this.deleted.get(i) + "/";
+            Assert.assertTrue(prefix + " is deleted after its children",
+                this.deleted.subList(i + 1, this.deleted.size()).stream().noneMatch(p -> p.startsWith(prefix)));
+        }
+    }
+
+    @Test
+    public void testConcurrencyBoundedAcrossLevels() {
+        final ShareDirectoryClient root = this.directory("root", 4, 8, 4);
+        ShareFileModule.deleteDirectory(root, new DeletionProgress("root"));
+        Assert.assertEquals(1 + 4 + 16 + 64 + (1 + 4 + 16 + 64) * 8, this.deleted.size());
+        Assert.assertTrue("requests in flight: " + this.maxInFlight.get(), this.maxInFlight.get() <= 16);
+    }
+
+    /**
+     * @return a directory with {@code files} files and {@code dirs} sub directories recursively down to {@code depth}
+     * levels, every file or directory is deleted in about 5 ms.
+     */
+    private ShareDirectoryClient directory(String path, int dirs, int files, int depth) {
+        final List<ShareFileItem> items = new ArrayList<>();
+        final Map<String, ShareDirectoryClient> subdirectories = new HashMap<>();
+        for (int i = 0; i < files; i++) {
+            items.add(new ShareFileItem("file-" + i, false, 1L));
+        }
+        for (int i = 0; depth > 1 && i < dirs; i++) {
+            items.add(new ShareFileItem("dir-" + i, true, null));
+            subdirectories.put("dir-" + i, this.directory(path + "/dir-" + i, dirs, files, depth - 1));
+        }
+        return Mockito.mock(ShareDirectoryClient.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "listFilesAndDirectories":
+                    return new PagedIterable<>(() -> new PagedResponseBase<Void, ShareFileItem>(null, 200, null, items, null, null));
+                case "getSubdirectoryClient":
+                    return subdirectories.get(invocation.<String>getArgument(0));
+                case "getFileClient":
+                    final String file = path + "/" + invocation.getArgument(0);
+                    return Mockito.mock(ShareFileClient.class, i -> "deleteIfExists".equals(i.getMethod().getName()) ?
+                        this.delete(file) : Mockito.RETURNS_DEFAULTS.answer(i));
+                case "deleteIfExists":
+                    return this.delete(path);
+                case "getDirectoryPath":
+                    return path;
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private boolean delete(String path) throws InterruptedException {
+        final int current = this.inFlight.incrementAndGet();
+        this.maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(5);
+            this.deleted.add(path);
+            return true;
+        } finally {
+            this.inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import com.azure.storage.common.ParallelTransferOptions;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class DirectoryTransferTest {
+    private static final long MB = 1024 * 1024;
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Path source;
+    private Path journals;
+
+    @Before
+    public void setUp() throws Exception {
+        this.source = folder.newFolder("source").toPath();
+        this.journals = folder.newFolder("journals").toPath();
+        write(this.source.resolve("a.txt"), "a");
+        write(this.source.resolve("dir/b.txt"), "b");
+        write(this.source.resolve("dir/c.txt"), "c");
+    }
+
+    @Test
+    public void testDefaultTransferOptions() {
+        final ParallelTransferOptions small = DirectoryTransfer.getDefaultTransferOptions(MB);
+        Assert.assertEquals(8 * MB, small.getMaxSingleUploadSizeLong().longValue());
+        Assert.assertEquals(8 * MB, small.getBlockSizeLong().longValue());
+        Assert.assertEquals(4, small.getMaxConcurrency().intValue());
+
+        final ParallelTransferOptions huge = DirectoryTransfer.getDefaultTransferOptions(2048 * MB);
+        Assert.assertEquals(8 * MB, huge.getMaxSingleUploadSizeLong().longValue());
+        Assert.assertEquals(32 * MB, huge.getBlockSizeLong().longValue());
+        Assert.assertEquals(8, huge.getMaxConcurrency().intValue());
+    }
+
+    @Test
+    public void testUploadSkipsSameMd5() {
+        final FakeDirectory target = new FakeDirectory();
+        target.files.put("a.txt", "a");
+        target.files.put("dir/b.txt", "x");
+
+        final TransferResult result = new DirectoryTransfer().setJournalLocation(this.journals).upload(this.source, target);
+        Assert.assertEquals(2, result.getTransferredFiles());
+        Assert.assertEquals(1, result.getSkippedFiles());
+        Assert.assertEquals(setOf("dir/b.txt", "dir/c.txt"), target.uploaded);
+        Assert.assertEquals("b", target.files.get("dir/b.txt"));
+    }
+
+    @Test
+    public void testUploadOverwritesIfNotSkippingSameMd5() {
+        final FakeDirectory target = new FakeDirectory();
+        target.files.put("a.txt", "a");
+
+        final TransferResult result = new DirectoryTransfer().setJournalLocation(null).setSkipIfSameMd5(false).upload(this.source, target);
+        Assert.assertEquals(3, result.getTransferredFiles());
+        Assert.assertEquals(0, result.getSkippedFiles());
+    }
+
+    @Test
+    public void testRerunSkipsFilesTransferredByFailedRun() {
+        final FakeDirectory target = new FakeDirectory();
+        target.failing.add("dir/c.txt");
+        final DirectoryTransfer transfer = new DirectoryTransfer().setJournalLocation(this.journals).setSkipIfSameMd5(false);
+        try {
+            transfer.upload(this.source, target);
+            Assert.fail("failed files fail the transfer");
+        } catch (final AzureToolkitRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+        Assert.assertEquals(setOf("a.txt", "dir/b.txt"), target.uploaded);
+
+        target.failing.clear();
+        target.uploaded.clear();
+        final TransferResult result = transfer.upload(this.source, target);
+        Assert.assertEquals(setOf("dir/c.txt"), target.uploaded);
+        Assert.assertEquals(2, result.getSkippedFiles());
+        Assert.assertEquals("journal is deleted once the transfer succeeds", 0, this.journals.toFile().list().length);
+    }
+
+    @Test
+    public void testDownloadSkipsSameMd5() throws Exception {
+        final FakeDirectory source = new FakeDirectory();
+        source.files.put("a.txt", "a");
+        source.files.put("dir/b.txt", "x");
+        source.files.put("dir/d.txt", "d");
+
+        final TransferResult result = new DirectoryTransfer().setJournalLocation(this.journals).download(source, this.source);
+        Assert.assertEquals(2, result.getTransferredFiles());
+        Assert.assertEquals(1, result.getSkippedFiles());
+        Assert.assertEquals(setOf("dir/b.txt", "dir/d.txt"), source.downloaded);
+        Assert.assertEquals("x", read(this.source.resolve("dir/b.txt")));
+        Assert.assertEquals("d", read(this.source.resolve("dir/d.txt")));
+    }
+
+    @Test
+    public void testDownloadRejectsPathOutsideTarget() {
+        final FakeDirectory source = new FakeDirectory();
+        source.files.put("../outside.txt", "o");
+        try {
+            new DirectoryTransfer().setJournalLocation(null).download(source, this.source);
+            Assert.fail("files outside of the target directory are rejected");
+        } catch (final AzureToolkitRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof AzureToolkitRuntimeException);
+        }
+        Assert.assertFalse(Files.exists(this.source.resolveSibling("outside.txt")));
+        Assert.assertTrue(source.downloaded.isEmpty());
+    }
+
+    private static Set<String> setOf(String... values) {
+        return Arrays.stream(values).collect(Collectors.toSet());
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * in memory remote directory, content of a file is a string.
+     */
+    private static class FakeDirectory implements RemoteDirectory {
+        private final Map<String, String> files = new ConcurrentHashMap<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private final Set<String> uploaded = ConcurrentHashMap.newKeySet();
+        private final Set<String> downloaded = ConcurrentHashMap.newKeySet();
+
+        @Nonnull
+        @Override
+        public String getUrl() {
+            return "https://account.blob.core.windows.net/container/dir";
+        }
+
+        @Nonnull
+        @Override
+        public Map<String, RemoteFile> list() {
+            return this.files.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                e -> new RemoteFile(e.getKey(), e.getValue().getBytes(StandardCharsets.UTF_8).length, null)));
+        }
+
+        @Nullable
+        @Override
+        public byte[] getMd5(@Nonnull RemoteFile file) {
+            final String content = this.files.get(file.getPath());
+            return content == null ? null : DigestUtils.md5(content);
+        }
+
+        @Override
+        public void upload(@Nonnull String relativePath, @Nonnull Path source, @Nonnull byte[] md5, @Nonnull ParallelTransferOptions options) throws IOException {
+            if (this.failing.contains(relativePath)) {
+                throw new IOException("failed to upload " + relativePath);
+            }
+            this.files.put(relativePath, read(source));
+            this.uploaded.add(relativePath);
+        }
+
+        @Override
+        public void download(@Nonnull RemoteFile file, @Nonnull Path dest, @Nonnull ParallelTransferOptions options) throws IOException {
+            Files.write(dest, this.files.get(file.getPath()).getBytes(StandardCharsets.UTF_8));
+            this.downloaded.add(file.getPath());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+public class TransferJournalTest {
+    private static final String KEY = "upload|/local/dir|https://account.blob.core.windows.net/container/dir";
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Path location;
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        this.location = folder.getRoot().toPath().resolve("journals");
+        this.file = folder.newFile("a.txt").toPath();
+        Files.write(this.file, "content".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReopenedAfterFailure() {
+        final TransferJournal journal = TransferJournal.open(this.location, KEY);
+        Assert.assertFalse(journal.isDone("dir/a.txt", this.file));
+        journal.done("dir/a.txt", this.file);
+        Assert.assertTrue(journal.isDone("dir/a.txt", this.file));
+        journal.close(false);
+
+        final TransferJournal reopened = TransferJournal.open(this.location, KEY);
+        Assert.assertTrue(reopened.isDone("dir/a.txt", this.file));
+        Assert.assertFalse(reopened.isDone("dir/b.txt", this.file));
+        Assert.assertFalse("journals are per transfer", TransferJournal.open(this.location, KEY + "/other").isDone("dir/a.txt", this.file));
+        reopened.close(false);
+    }
+
+    @Test
+    public void testStaleIfLocalFileChanged() throws Exception {
+        final TransferJournal journal = TransferJournal.open(this.location, KEY);
+        journal.done("a.txt", this.file);
+        journal.close(false);
+
+        Files.write(this.file, "changed".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(this.file, FileTime.fromMillis(Files.getLastModifiedTime(this.file).toMillis() + 2000));
+        Assert.assertFalse(TransferJournal.open(this.location, KEY).isDone("a.txt", this.file));
+    }
+
+    @Test
+    public void testDeletedIfFinished() throws Exception {
+        final TransferJournal journal = TransferJournal.open(this.location, KEY);
+        journal.done("a.txt", this.file);
+        journal.close(true);
+
+        try (final Stream<Path> files = Files.list(this.location)) {
+            Assert.assertEquals(0, files.count());
+        }
+        Assert.assertFalse(TransferJournal.open(this.location, KEY).isDone("a.txt", this.file));
+    }
+
+    @Test
+    public void testInMemoryWithoutLocation() {
+        final TransferJournal journal = TransferJournal.open(null, KEY);
+        journal.done("a.txt", this.file);
+        Assert.assertTrue(journal.isDone("a.txt", this.file));
+        journal.close(false);
+        Assert.assertFalse(Files.exists(this.location));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.transfer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class TransferResultTest {
+    @Test
+    public void testAggregate() {
+        final TransferResult result = new TransferResult();
+        result.transferred(100);
+        result.transferred(200);
+        result.skipped(50);
+        result.failed("a.txt", new IOException("failed"));
+        result.finish();
+
+        Assert.assertEquals(2, result.getTransferredFiles());
+        Assert.assertEquals(300, result.getTransferredBytes());
+        Assert.assertEquals(1, result.getSkippedFiles());
+        Assert.assertEquals(50, result.getSkippedBytes());
+        Assert.assertEquals(1, result.getFailures().size());
+        Assert.assertTrue(result.getFailures().get("a.txt") instanceof IOException);
+        Assert.assertTrue(result.toString().startsWith("2 files ("));
+        Assert.assertTrue(result.toString().contains("1 files failed"));
+    }
+
+    @Test
+    public void testElapsedFixedOnceFinished() throws Exception {
+        final TransferResult result = new TransferResult();
+        result.transferred(1000);
+        Thread.sleep(10);
+        result.finish();
+        final long elapsed = result.getElapsedMillis();
+        Assert.assertTrue(elapsed >= 10);
+        Thread.sleep(10);
+        result.finish();
+        Assert.assertEquals(elapsed, result.getElapsedMillis());
+        Assert.assertEquals(1000 * 1000 / elapsed, result.getBytesPerSecond());
+    }
+}
@@ -77,6 +77,15 @@ public class DeployMojo extends AbstractWebAppMojo {
     @Parameter(property = "webapp.deploymentStatusMaxRefreshTimes")
     protected Long deploymentStatusMaxRefreshTimes;
 
+    /**
+     *  Max number of artifacts deployed at the same time. If greater than 1, lib, static and script artifacts are deployed
+     *  concurrently first, then the others which restart the site.
+     *  @since 2.12.0
+     */
+    @Getter
+    @Parameter(property = "webapp.deploymentConcurrency")
+    protected Integer deploymentConcurrency;
+
     @Override
     @AzureOperation(name = "user/webapp.deploy_app")
     protected void doExecute() throws AzureExecutionException {
@@ -150,6 +159,7 @@ public class DeployMojo extends AbstractWebAppMojo {
         final DeployWebAppTask deployWebAppTask = new DeployWebAppTask(target, artifacts, this.getRestartSite(), this.getWaitDeploymentComplete(), true);
         Optional.ofNullable(this.getDeploymentStatusRefreshInterval()).ifPresent(deployWebAppTask::setDeploymentStatusRefreshInterval);
         Optional.ofNullable(this.getDeploymentStatusMaxRefreshTimes()).ifPresent(deployWebAppTask::setDeploymentStatusMaxRefreshTimes);
+        Optional.ofNullable(this.getDeploymentConcurrency()).ifPresent(deployWebAppTask::setDeploymentConcurrency);
         deployWebAppTask.setDeploymentStatusStream(System.out);
         deployWebAppTask.doExecute();
     }
@@ -6,20 +6,22 @@
 package com.microsoft.azure.maven.webapp.task;
 
 import com.microsoft.azure.maven.model.DeploymentResource;
-import com.microsoft.azure.maven.webapp.utils.FTPUtils;
 import com.microsoft.azure.maven.webapp.utils.Utils;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
 import com.microsoft.azure.toolkit.lib.appservice.model.PublishingProfile;
 import com.microsoft.azure.toolkit.lib.appservice.webapp.WebAppBase;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
-import org.apache.commons.net.ftp.FTPClient;
+import com.microsoft.azure.toolkit.lib.legacy.appservice.handlers.artifact.ParallelFTPUploader;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Deprecated
 public class DeployExternalResourcesTask extends AzureTask<WebAppBase<?, ?, ?>> {
@@ -49,21 +51,34 @@ public class DeployExternalResourcesTask extends AzureTask<WebAppBase<?, ?, ?>>
         AzureMessager.getMessager().info(AzureString.format("Uploading resources to %s", target.name()));
         final PublishingProfile publishingProfile = target.getPublishingProfile();
         final String serverUrl = publishingProfile.getFtpUrl().split("/", 2)[0];
+        final ParallelFTPUploader uploader = new ParallelFTPUploader(serverUrl, publishingProfile.getFtpUsername(), publishingProfile.getFtpPassword())
+            .setDeltaSync(true);
         try {
-            final FTPClient ftpClient = FTPUtils.getFTPClient(serverUrl, publishingProfile.getFtpUsername(), publishingProfile.getFtpPassword());
-            for (final DeploymentResource externalResource : resources) {
-                uploadResource(externalResource, ftpClient);
+            for (final Map<File, String> batch : getUploadBatches(resources)) {
+                uploader.uploadFiles(batch);
             }
-        } catch (IOException e) {
+        } catch (AzureExecutionException e) {
             throw new AzureToolkitRuntimeException(e);
         }
     }
 
-    private static void uploadResource(DeploymentResource resource, FTPClient ftpClient) throws IOException {
-        final List<File> files = Utils.getArtifacts(resource);
-        final String target = resource.getAbsoluteTargetPath();
-        for (final File file : files) {
-            FTPUtils.uploadFile(ftpClient, file.getPath(), target);
+    /**
+     * @return map from file to its target directory, a file is put into another batch if it's uploaded to more than one
+     * directory.
+     */
+    private static List<Map<File, String>> getUploadBatches(final List<DeploymentResource> resources) {
+        final List<Map<File, String>> batches = new ArrayList<>();
+        for (final DeploymentResource resource : resources) {
+            final String target = resource.getAbsoluteTargetPath();
+            for (final File file : Utils.getArtifacts(resource)) {
+                final Map<File, String> batch = batches.stream().filter(b -> !b.containsKey(file)).findFirst().orElseGet(() -> {
+                    final Map<File, String> newBatch = new LinkedHashMap<>();
+                    batches.add(newBatch);
+                    return newBatch;
+                });
+                batch.put(file, target);
+            }
         }
+        return batches;
     }
 }